@@ -4,64 +4,170 @@ import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 
-import main.GamePanel;
+import main.Camera;
+import main.GameWorld;
+import main.TextureAtlas;
 import main.UtilityTool;
 
 import javax.imageio.ImageIO;
 
+// A view over one slot of an EntityStore: position, speed, direction,
+// animation frame and collision box live in the store's columns
 public class Entity {
-    public GamePanel gp;
-    public int worldX, worldY;
-    public int speed;
+    public GameWorld world;
+    public final EntityStore<Entity> store;
+    public final long handle;
+    public final int slot;
     public BufferedImage up1, up2, down1, down2, left1, left2, right1, right2;
-    public String direction;
-    public int spriteCounter = 0;
-    public int spriteNum = 1;
-    public Rectangle solidArea = new Rectangle(0, 0, 48, 48);     //
-    public boolean collisionOn = false;
-    public int solidAreaDefaultY;
-    public int solidAreaDefaultX;
+    protected int[] frameSprites; // atlas ids of the frames above, in the same order
 
     // CHARACTER STATUS
     public int maxLife;
     public int life;
 
-    public Entity(GamePanel gp) {
-        this.gp = gp;
+    public Entity(GameWorld world, EntityStore<Entity> store) {
+        this.world = world;
+        this.store = store;
+        this.handle = store.add(this);
+        this.slot = store.slotOf(handle);
+        setSolidArea(0, 0, 48, 48);
     }
 
-    public void draw(Graphics2D g2) {
-        BufferedImage image = getCurrentImage();
+    // STORE ACCESS
+
+    public int getWorldX() {
+        return store.x[slot];
+    }
+
+    public int getWorldY() {
+        return store.y[slot];
+    }
+
+    public void setPosition(int worldX, int worldY) {
+        store.x[slot] = worldX;
+        store.y[slot] = worldY;
+    }
+
+    public int getSpeed() {
+        return store.speed[slot];
+    }
+
+    public void setSpeed(int speed) {
+        store.speed[slot] = speed;
+    }
+
+    public int getDirection() {
+        return store.direction[slot];
+    }
+
+    public void setDirection(int direction) {
+        store.direction[slot] = direction;
+    }
+
+    public boolean isCollisionOn() {
+        return store.collisionOn[slot];
+    }
+
+    public void setSolidArea(int x, int y, int width, int height) {
+        store.solidX[slot] = x;
+        store.solidY[slot] = y;
+        store.solidW[slot] = width;
+        store.solidH[slot] = height;
+    }
 
-        if (image == null) {
-            image = createPlaceholderImage();
+    public boolean isRemoved() {
+        return !store.isAlive(handle);
+    }
+
+    // Swaps between the two walking frames every `delay` updates
+    protected void animate(int delay) {
+        store.spriteCounter[slot]++;
+        if (store.spriteCounter[slot] > delay) {
+            store.spriteNum[slot] = (store.spriteNum[slot] == 1) ? 2 : 1;
+            store.spriteCounter[slot] = 0;
         }
+    }
 
-        int screenX = worldX - gp.player.worldX + gp.player.screenX;
-        int screenY = worldY - gp.player.worldY + gp.player.screenY;
+    public void draw(Graphics2D g2) {
+        int renderX = getRenderX(world.interpolation);
+        int renderY = getRenderY(world.interpolation);
+        Camera camera = world.camera;
 
         // Only draw if on screen
-        if (screenX + gp.tileSize > 0 && screenX < gp.screenWidth &&
-                screenY + gp.tileSize > 0 && screenY < gp.screenHeight) {
-            g2.drawImage(image, screenX, screenY, gp.tileSize, gp.tileSize, null);
+        if (camera.isVisible(renderX, renderY, world.tileSize, world.tileSize)) {
+            int screenX = camera.toScreenX(renderX);
+            int screenY = camera.toScreenY(renderY);
+            int size = camera.toScreenSize(world.tileSize);
+            int sprite = getCurrentSprite();
+            if (sprite != TextureAtlas.NO_SPRITE) {
+                world.atlas.draw(g2, sprite, screenX, screenY, size, size);
+            } else {
+                BufferedImage image = getCurrentImage();
+                if (image == null) {
+                    image = createPlaceholderImage();
+                }
+                g2.drawImage(image, screenX, screenY, size, size, null);
+            }
         }
     }
 
-    private BufferedImage getCurrentImage() {
-        switch (direction) {
-            case "up": return (spriteNum == 1) ? up1 : up2;
-            case "down": return (spriteNum == 1) ? down1 : down2;
-            case "left": return (spriteNum == 1) ? left1 : left2;
-            case "right": return (spriteNum == 1) ? right1 : right2;
+    // Packs the eight frames into the world's atlas as <group>/0..7
+    protected void packFrames(String group) {
+        BufferedImage[] images = {up1, up2, down1, down2, left1, left2, right1, right2};
+        frameSprites = new int[images.length];
+        for (int i = 0; i < images.length; i++) {
+            frameSprites[i] = world.atlas.add(group + "/" + i, images[i], world.tileSize, world.tileSize);
+        }
+    }
+
+    protected int getCurrentSprite() {
+        int direction = store.direction[slot];
+        if (frameSprites == null || direction < EntityStore.UP || direction > EntityStore.RIGHT) {
+            return TextureAtlas.NO_SPRITE;
+        }
+        return frameSprites[direction * 2 + (store.spriteNum[slot] == 1 ? 0 : 1)];
+    }
+
+    protected BufferedImage getCurrentImage() {
+        boolean first = store.spriteNum[slot] == 1;
+        switch (store.direction[slot]) {
+            case EntityStore.UP: return first ? up1 : up2;
+            case EntityStore.DOWN: return first ? down1 : down2;
+            case EntityStore.LEFT: return first ? left1 : left2;
+            case EntityStore.RIGHT: return first ? right1 : right2;
             default: return down1;
         }
     }
 
+    public void savePreviousPosition() {
+        store.prevX[slot] = store.x[slot];
+        store.prevY[slot] = store.y[slot];
+    }
+
+    // Position between the last two updates; alpha 0 = previous, 1 = current
+    public int getRenderX(float alpha) {
+        int prev = store.prevX[slot];
+        return prev + Math.round((store.x[slot] - prev) * alpha);
+    }
+
+    public int getRenderY(float alpha) {
+        int prev = store.prevY[slot];
+        return prev + Math.round((store.y[slot] - prev) * alpha);
+    }
+
     // Base update - to be overridden
     public void update() {
         // Empty - subclasses implement their own logic
     }
 
+    // True if update() reads nothing but this entity, its own store slot and the
+    // collision data CollisionChecker.freeze() holds still, and writes nothing but
+    // this entity and its slot - no other entity, no shared random or counters.
+    // NpcUpdater only spreads a crowd over threads when every NPC in it says so.
+    public boolean updatesAlone() {
+        return false;
+    }
+
     public BufferedImage setup(String imagePath) {
         UtilityTool uTool = new UtilityTool();
         BufferedImage image = null;
@@ -72,8 +178,8 @@ public class Entity {
                 image = ImageIO.read(getClass().getResourceAsStream(imagePath));
             }
 
-            if (image != null && gp != null) {
-                image = uTool.scaleImage(image, gp.tileSize, gp.tileSize);
+            if (image != null && world != null) {
+                image = uTool.prepare(imagePath, image, world.tileSize, world.tileSize, false);
             }
 
         } catch (Exception e) {
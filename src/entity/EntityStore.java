@@ -0,0 +1,198 @@
+package entity;
+
+import java.util.Arrays;
+
+// Entity data kept column by column (struct of arrays) instead of one object
+// per entity. Player, NPC_Lady and SuperObject are views that read and write
+// their own slot, so loops over thousands of entities walk plain int arrays.
+// Slots are reused through a free list and handed out as handles
+// (generation << 32 | slot) that go stale once the entity is removed.
+public class EntityStore<V> {
+
+    // DIRECTIONS
+    public static final int UP = 0;
+    public static final int DOWN = 1;
+    public static final int LEFT = 2;
+    public static final int RIGHT = 3;
+
+    public static final long NO_ENTITY = 0;
+
+    // COLUMNS (indexed by slot)
+    public int[] x, y;
+    public int[] prevX, prevY; // position at the previous update, for interpolation
+    public int[] speed;
+    public int[] direction;
+    public int[] spriteCounter, spriteNum;
+    public int[] solidX, solidY, solidW, solidH; // collision box, relative to x/y
+    public boolean[] solid;       // blocks movement
+    public boolean[] collisionOn; // set by CollisionChecker during an update
+
+    private Object[] views;
+    private int[] generation;
+    private int[] nextFree;
+    private int freeHead = -1;
+    private int used = 0; // slots ever handed out; everything above is untouched
+
+    // Live slots packed together so iteration never sees an empty one
+    private int[] live;
+    private int[] livePos;
+    private int liveCount = 0;
+
+    public EntityStore(int capacity) {
+        resize(Math.max(1, capacity));
+    }
+
+    // Takes a free slot for the view; the columns start out zeroed
+    public long add(V view) {
+        int slot;
+        if (freeHead != -1) {
+            slot = freeHead;
+            freeHead = nextFree[slot];
+        } else {
+            if (used == views.length) {
+                resize(views.length * 2);
+            }
+            slot = used++;
+        }
+
+        clearSlot(slot);
+        views[slot] = view;
+        livePos[slot] = liveCount;
+        live[liveCount++] = slot;
+
+        return ((long) generation[slot] << 32) | slot;
+    }
+
+    public boolean remove(long handle) {
+        int slot = slotOf(handle);
+        if (slot == -1) return false;
+        removeSlot(slot);
+        return true;
+    }
+
+    public void removeSlot(int slot) {
+        if (views[slot] == null) return;
+
+        // Move the last live slot into the gap
+        int pos = livePos[slot];
+        int last = live[--liveCount];
+        live[pos] = last;
+        livePos[last] = pos;
+
+        views[slot] = null;
+        generation[slot]++;
+        if (generation[slot] == 0) generation[slot] = 1; // keep handles non-zero
+        nextFree[slot] = freeHead;
+        freeHead = slot;
+    }
+
+    public void clear() {
+        while (liveCount > 0) {
+            removeSlot(live[liveCount - 1]);
+        }
+    }
+
+    // Slot for a handle, or -1 if that entity is gone
+    public int slotOf(long handle) {
+        int slot = (int) handle;
+        if (handle == NO_ENTITY || slot < 0 || slot >= used) return -1;
+        if (views[slot] == null || generation[slot] != (int) (handle >>> 32)) return -1;
+        return slot;
+    }
+
+    public boolean isAlive(long handle) {
+        return slotOf(handle) != -1;
+    }
+
+    // ITERATION: for (int i = 0; i < store.size(); i++) { int slot = store.slotAt(i); ... }
+    // Removing the current entity moves the last one into position i.
+
+    public int size() {
+        return liveCount;
+    }
+
+    public int slotAt(int i) {
+        return live[i];
+    }
+
+    @SuppressWarnings("unchecked")
+    public V viewAt(int i) {
+        return (V) views[live[i]];
+    }
+
+    @SuppressWarnings("unchecked")
+    public V view(int slot) {
+        return (V) views[slot];
+    }
+
+    // Highest slot in use + 1; column loops can run 0..capacityUsed() without lookups
+    public int capacityUsed() {
+        return used;
+    }
+
+    public void savePreviousPositions() {
+        System.arraycopy(x, 0, prevX, 0, used);
+        System.arraycopy(y, 0, prevY, 0, used);
+    }
+
+    private void clearSlot(int slot) {
+        x[slot] = y[slot] = 0;
+        prevX[slot] = prevY[slot] = 0;
+        speed[slot] = 0;
+        direction[slot] = DOWN;
+        spriteCounter[slot] = 0;
+        spriteNum[slot] = 1;
+        solidX[slot] = solidY[slot] = 0;
+        solidW[slot] = solidH[slot] = 0;
+        solid[slot] = false;
+        collisionOn[slot] = false;
+    }
+
+    private void resize(int capacity) {
+        int old = views == null ? 0 : views.length;
+        if (old == 0) {
+            x = new int[capacity];
+            y = new int[capacity];
+            prevX = new int[capacity];
+            prevY = new int[capacity];
+            speed = new int[capacity];
+            direction = new int[capacity];
+            spriteCounter = new int[capacity];
+            spriteNum = new int[capacity];
+            solidX = new int[capacity];
+            solidY = new int[capacity];
+            solidW = new int[capacity];
+            solidH = new int[capacity];
+            solid = new boolean[capacity];
+            collisionOn = new boolean[capacity];
+            views = new Object[capacity];
+            generation = new int[capacity];
+            nextFree = new int[capacity];
+            live = new int[capacity];
+            livePos = new int[capacity];
+        } else {
+            x = Arrays.copyOf(x, capacity);
+            y = Arrays.copyOf(y, capacity);
+            prevX = Arrays.copyOf(prevX, capacity);
+            prevY = Arrays.copyOf(prevY, capacity);
+            speed = Arrays.copyOf(speed, capacity);
+            direction = Arrays.copyOf(direction, capacity);
+            spriteCounter = Arrays.copyOf(spriteCounter, capacity);
+            spriteNum = Arrays.copyOf(spriteNum, capacity);
+            solidX = Arrays.copyOf(solidX, capacity);
+            solidY = Arrays.copyOf(solidY, capacity);
+            solidW = Arrays.copyOf(solidW, capacity);
+            solidH = Arrays.copyOf(solidH, capacity);
+            solid = Arrays.copyOf(solid, capacity);
+            collisionOn = Arrays.copyOf(collisionOn, capacity);
+            views = Arrays.copyOf(views, capacity);
+            generation = Arrays.copyOf(generation, capacity);
+            nextFree = Arrays.copyOf(nextFree, capacity);
+            live = Arrays.copyOf(live, capacity);
+            livePos = Arrays.copyOf(livePos, capacity);
+        }
+        for (int i = old; i < capacity; i++) {
+            generation[i] = 1;
+        }
+    }
+}
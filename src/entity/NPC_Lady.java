@@ -1,7 +1,8 @@
 package entity;
 
-import main.GamePanel;
-import java.awt.Rectangle;
+import main.GameWorld;
+import main.TextureAtlas;
+import java.awt.image.BufferedImage;
 import java.util.Random;
 
 public class NPC_Lady extends Entity {
@@ -12,44 +13,82 @@ public class NPC_Lady extends Entity {
     private int stuckCounter = 0;
     private int lastWorldX, lastWorldY;
 
-    public NPC_Lady(GamePanel gp) {
-        super(gp);
+    // Frames are shared by every NPC_Lady - loading them per NPC doesn't scale
+    private static BufferedImage[] frames;
+    private static TextureAtlas framesAtlas; // the atlas frameIds belong to
+    private static int[] frameIds;
 
-        direction = "down";
-        speed = 1;
-        random = new Random();
-        lastWorldX = worldX;
-        lastWorldY = worldY;
+    // Each NPC gets its own generator from the world's, so NPCs updated in parallel stay reproducible
+    public NPC_Lady(GameWorld world) {
+        this(world, new Random(world.random.nextLong()));
+    }
+
+    // Seeded NPCs wander the same way every run (benchmarks, replays)
+    public NPC_Lady(GameWorld world, long seed) {
+        this(world, new Random(seed));
+    }
+
+    private NPC_Lady(GameWorld world, Random random) {
+        super(world, world.npcs);
+
+        setDirection(EntityStore.DOWN);
+        setSpeed(1);
+        this.random = random;
+        lastWorldX = getWorldX();
+        lastWorldY = getWorldY();
 
         getImage();
 
-        solidArea = new Rectangle(8, 16, 32, 32);
-        solidAreaDefaultX = solidArea.x;
-        solidAreaDefaultY = solidArea.y;
+        setSolidArea(8, 16, 32, 32);
 
         System.out.println("NPC_Lady: Collision-aware AI initialized");
     }
 
     public void getImage() {
-        try {
-            up1 = setup("/npc/Manager_up_1");
-            up2 = setup("/npc/Manager_up_2");
-            down1 = setup("/npc/Manager_down_1");
-            down2 = setup("/npc/Manager_down_2");
-            left1 = setup("/npc/Manager_left_1");
-            left2 = setup("/npc/Manager_left_2");
-            right1 = setup("/npc/Manager_right_1");
-            right2 = setup("/npc/Manager_right_2");
-        } catch (Exception e) {
-            System.err.println("Error loading NPC images");
+        if (frames == null) {
+            try {
+                frames = new BufferedImage[] {
+                        setup("/npc/Manager_up_1"), setup("/npc/Manager_up_2"),
+                        setup("/npc/Manager_down_1"), setup("/npc/Manager_down_2"),
+                        setup("/npc/Manager_left_1"), setup("/npc/Manager_left_2"),
+                        setup("/npc/Manager_right_1"), setup("/npc/Manager_right_2")
+                };
+            } catch (Exception e) {
+                System.err.println("Error loading NPC images");
+                return;
+            }
+        }
+        up1 = frames[0];
+        up2 = frames[1];
+        down1 = frames[2];
+        down2 = frames[3];
+        left1 = frames[4];
+        left2 = frames[5];
+        right1 = frames[6];
+        right2 = frames[7];
+
+        if (framesAtlas != world.atlas) {
+            packFrames("npc/Manager");
+            framesAtlas = world.atlas;
+            frameIds = frameSprites;
         }
+        frameSprites = frameIds;
     }
 
+    // Only checks tiles and objects, never the player or other NPCs, and has its own Random
+    @Override
+    public boolean updatesAlone() {
+        return true;
+    }
+
+    // Only touches this NPC's own slot plus the collision data frozen by
+    // CollisionChecker.freeze(), so NpcUpdater can run many of these at once.
+    // (No logging in here - println would serialize the worker threads.)
     @Override
     public void update() {
         // Store position before moving
-        lastWorldX = worldX;
-        lastWorldY = worldY;
+        lastWorldX = getWorldX();
+        lastWorldY = getWorldY();
 
         // Update counters
         moveCounter++;
@@ -65,10 +104,9 @@ public class NPC_Lady extends Entity {
         attemptMovement();
 
         // Check if stuck (not moving)
-        if (worldX == lastWorldX && worldY == lastWorldY) {
+        if (getWorldX() == lastWorldX && getWorldY() == lastWorldY) {
             stuckCounter++;
             if (stuckCounter > 5) { // Stuck for 5 frames
-                System.out.println("NPC stuck! Forcing direction change.");
                 changeDirection();
                 directionChangeCounter = 0;
                 stuckCounter = 0;
@@ -77,18 +115,17 @@ public class NPC_Lady extends Entity {
             stuckCounter = 0; // Reset if moving
         }
 
-        // Update animation
-        updateAnimation();
+        // Update animation (moderate speed)
+        animate(12);
     }
 
     private void changeDirection() {
-        String[] directions = {"up", "down", "left", "right"};
-        String newDirection;
+        int newDirection;
 
         // Try to pick a valid direction
         int attempts = 0;
         do {
-            newDirection = directions[random.nextInt(4)];
+            newDirection = random.nextInt(4);
             attempts++;
 
             if (attempts > 10) {
@@ -96,50 +133,48 @@ public class NPC_Lady extends Entity {
                 break;
             }
 
-        } while (newDirection.equals(direction));
+        } while (newDirection == getDirection());
 
-        direction = newDirection;
+        setDirection(newDirection);
         // System.out.println("NPC changed direction to: " + direction);
     }
 
     private void attemptMovement() {
         // Reset collision flag
-        collisionOn = false;
+        store.collisionOn[slot] = false;
 
         // Check for collisions BEFORE moving
-        if (gp != null && gp.cChecker != null) {
+        if (world != null && world.cChecker != null) {
             // Check tile collision
-            gp.cChecker.checkTile(this);
+            world.cChecker.checkTile(this);
 
             // Check object collision (false = not player, so NPC won't pick up objects)
-            gp.cChecker.checkObject(this, false);
+            world.cChecker.checkObject(this, false);
         }
 
         // If no collision, move in current direction
-        if (!collisionOn) {
-            switch (direction) {
-                case "up":
-                    worldY -= speed;
+        if (!isCollisionOn()) {
+            switch (getDirection()) {
+                case EntityStore.UP:
+                    store.y[slot] -= getSpeed();
                     break;
-                case "down":
-                    worldY += speed;
+                case EntityStore.DOWN:
+                    store.y[slot] += getSpeed();
                     break;
-                case "left":
-                    worldX -= speed;
+                case EntityStore.LEFT:
+                    store.x[slot] -= getSpeed();
                     break;
-                case "right":
-                    worldX += speed;
+                case EntityStore.RIGHT:
+                    store.x[slot] += getSpeed();
                     break;
             }
         } else {
             // Collision detected! Don't move and change direction
-            System.out.println("NPC collision detected! Changing direction.");
             changeDirection();
             directionChangeCounter = 0;
 
             // Revert to previous position
-            worldX = lastWorldX;
-            worldY = lastWorldY;
+            setPosition(lastWorldX, lastWorldY);
         }
 
         // Keep within world boundaries
@@ -148,29 +183,23 @@ public class NPC_Lady extends Entity {
 
     private void enforceWorldBoundaries() {
         // Simple boundary checking
-        if (worldX < 0) {
-            worldX = 0;
-            direction = "right";
+        int maxX = world.worldWidth - world.tileSize;
+        int maxY = world.worldHeight - world.tileSize;
+        if (store.x[slot] < 0) {
+            store.x[slot] = 0;
+            setDirection(EntityStore.RIGHT);
         }
-        if (worldX > gp.worldWidth - gp.tileSize) {
-            worldX = gp.worldWidth - gp.tileSize;
-            direction = "left";
+        if (store.x[slot] > maxX) {
+            store.x[slot] = maxX;
+            setDirection(EntityStore.LEFT);
         }
-        if (worldY < 0) {
-            worldY = 0;
-            direction = "down";
+        if (store.y[slot] < 0) {
+            store.y[slot] = 0;
+            setDirection(EntityStore.DOWN);
         }
-        if (worldY > gp.worldHeight - gp.tileSize) {
-            worldY = gp.worldHeight - gp.tileSize;
-            direction = "up";
-        }
-    }
-
-    private void updateAnimation() {
-        spriteCounter++;
-        if (spriteCounter > 12) { // Moderate animation speed
-            spriteNum = (spriteNum == 1) ? 2 : 1;
-            spriteCounter = 0;
+        if (store.y[slot] > maxY) {
+            store.y[slot] = maxY;
+            setDirection(EntityStore.UP);
         }
     }
 }
\ No newline at end of file
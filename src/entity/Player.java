@@ -1,7 +1,9 @@
 package entity;
 
-import main.GamePanel;
-import main.KeyHandler;
+import main.Camera;
+import main.GameWorld;
+import main.InputState;
+import main.TextureAtlas;
 import main.UtilityTool;
 
 import javax.imageio.ImageIO;
@@ -11,8 +13,7 @@ import java.io.IOException;
 
 public class Player extends Entity {
 
-    GamePanel gp;
-    KeyHandler keyH;
+    InputState input;
     UtilityTool uTool = new UtilityTool();
 
     public final int screenX;
@@ -22,22 +23,15 @@ public class Player extends Entity {
     public int toolsCollected = 0;
     public boolean[] collectedTools = new boolean[5]; // Index 1-4 for tool types
 
-    public Player(GamePanel gp, KeyHandler keyH) {
-        super(gp);
+    public Player(GameWorld world, InputState input) {
+        super(world, new EntityStore<>(1)); // the player has a store of its own
 
-        this.gp = gp;
-        this.keyH = keyH;
+        this.input = input;
 
-        screenX = gp.screenWidth/2 - (gp.tileSize/2);
-        screenY = gp.screenHeight/2 - (gp.tileSize/2);
+        screenX = world.screenWidth/2 - (world.tileSize/2);
+        screenY = world.screenHeight/2 - (world.tileSize/2);
 
-        solidArea = new Rectangle();
-        solidArea.x = 8;
-        solidArea.y = 16;
-        solidAreaDefaultX = solidArea.x;
-        solidAreaDefaultY = solidArea.y;
-        solidArea.width = 32;
-        solidArea.height = 32;
+        setSolidArea(8, 16, 32, 32);
 
         resetTools();
 
@@ -46,15 +40,14 @@ public class Player extends Entity {
     }
 
     public void setDefaultValues() {
-        if (gp != null && gp.tileSize > 0) {
-            worldX = gp.tileSize * 6;
-            worldY = gp.tileSize * 43;
+        if (world != null && world.tileSize > 0) {
+            setPosition(world.tileSize * 6, world.tileSize * 43);
         } else {
-            worldX = 48 * 6;
-            worldY = 48 * 43;
+            setPosition(48 * 6, 48 * 43);
         }
-        speed = 4;
-        direction = "down";
+        setSpeed(4);
+        setDirection(EntityStore.DOWN);
+        savePreviousPosition(); // don't interpolate from the old level's position
 
         // PLAYER STATUS - 3 full hearts (6 life points)
         maxLife = 6; // 3 hearts * 2 points each
@@ -70,6 +63,7 @@ public class Player extends Entity {
         left2 = setup("player_left2");
         right1 = setup("player_right1");
         right2 = setup("player_right2");
+        packFrames("player");
     }
 
     public BufferedImage setup(String imageName) {
@@ -78,10 +72,10 @@ public class Player extends Entity {
 
         try {
             image = ImageIO.read(getClass().getResourceAsStream("/player/" + imageName + ".png"));
-            if (gp != null) {
-                image = uTool.scaleImage(image, gp.tileSize, gp.tileSize);
+            if (world != null) {
+                image = uTool.prepare("/player/" + imageName, image, world.tileSize, world.tileSize, false);
             } else {
-                image = uTool.scaleImage(image, 48, 48);
+                image = uTool.prepare("/player/" + imageName, image, 48, 48, false);
             }
 
         } catch(IOException e) {
@@ -100,82 +94,70 @@ public class Player extends Entity {
     }
 
     public void update() {
-        if (keyH.upPressed == true || keyH.downPressed == true ||
-                keyH.leftPressed == true || keyH.rightPressed) {
-
-            if (keyH.upPressed == true) {
-                direction = "up";
-            } else if (keyH.downPressed == true) {
-                direction = "down";
-            } else if (keyH.leftPressed == true) {
-                direction = "left";
-            } else if (keyH.rightPressed == true) {
-                direction = "right";
+        if (input.upPressed == true || input.downPressed == true ||
+                input.leftPressed == true || input.rightPressed) {
+
+            if (input.upPressed == true) {
+                setDirection(EntityStore.UP);
+            } else if (input.downPressed == true) {
+                setDirection(EntityStore.DOWN);
+            } else if (input.leftPressed == true) {
+                setDirection(EntityStore.LEFT);
+            } else if (input.rightPressed == true) {
+                setDirection(EntityStore.RIGHT);
             }
 
-            collisionOn = false;
-            if (gp != null && gp.cChecker != null) {
-                gp.cChecker.checkTile(this);
+            store.collisionOn[slot] = false;
+            if (world != null && world.cChecker != null) {
+                world.cChecker.checkTile(this);
             }
 
-            int objIndex = 999;
-            if (gp != null && gp.cChecker != null) {
-                objIndex = gp.cChecker.checkObject(this, true);
+            int objSlot = -1;
+            if (world != null && world.cChecker != null) {
+                objSlot = world.cChecker.checkObject(this, true);
             }
-            pickUpObject(objIndex);
+            pickUpObject(objSlot);
 
-            if (collisionOn == false) {
-                switch (direction) {
-                    case "up":
-                        worldY -= speed;
+            if (isCollisionOn() == false) {
+                switch (getDirection()) {
+                    case EntityStore.UP:
+                        store.y[slot] -= getSpeed();
                         break;
-                    case "down":
-                        worldY += speed;
+                    case EntityStore.DOWN:
+                        store.y[slot] += getSpeed();
                         break;
-                    case "left":
-                        worldX -= speed;
+                    case EntityStore.LEFT:
+                        store.x[slot] -= getSpeed();
                         break;
-                    case "right":
-                        worldX += speed;
+                    case EntityStore.RIGHT:
+                        store.x[slot] += getSpeed();
                         break;
                 }
             }
 
-            spriteCounter++;
-            if (spriteCounter > 10) {
-                if (spriteNum == 1) {
-                    spriteNum = 2;
-                } else if (spriteNum == 2) {
-                    spriteNum = 1;
-                }
-                spriteCounter = 0;
-            }
+            animate(10);
         }
     }
 
+    // i is an object slot in world.objects, -1 = nothing touched
     public void pickUpObject(int i) {
-        if(i != 999 && gp != null && gp.obj != null && i < gp.obj.length) {
+        if(i != -1 && world != null) {
 
-            String objectName = gp.obj[i].name;
+            String objectName = world.objects.view(i).name;
 
             switch(objectName) {
                 case "Post":
                     if (toolsCollected >= 4) {
-                        gp.gameState = gp.wirePuzzleState;
-                        if (gp.wirePuzzle != null) {
-                            gp.wirePuzzle.start();
-                        }
+                        world.startWirePuzzle();
                     } else {
                         int needed = 4 - toolsCollected;
-                        if (gp.ui != null) {
-                            gp.ui.showMessage("Need " + needed + " more tools to repair!");
-                        }
+                        world.listener.showMessage("Need " + needed + " more tools to repair!");
                         System.out.println("Need " + needed + " more tools to repair the post!");
                     }
                     break;
 
                 case "Tool":
-                    obj.SuperObject toolObj = gp.obj[i];
+                    obj.SuperObject toolObj = world.objects.view(i);
                     int toolType = toolObj.toolPostGroup;
 
                     System.out.println("Picking up Tool" + toolType);
@@ -184,28 +166,26 @@ public class Player extends Entity {
                         collectedTools[toolType] = true;
                         toolsCollected++;
 
-                        // ADD THIS LINE:
-                        gp.sound.play(1); // Play tool pickup sound
+                        world.listener.playSound(GameWorld.SOUND_TOOL_PICKUP); // Play tool pickup sound
 
-                        gp.obj[i] = null;
+                        world.objects.removeSlot(i);
 
                         if (toolsCollected >= 4) {
                             System.out.println("🎉 Ready to repair the post!");
                         }
                     } else {
                         System.out.println("Already have Tool" + toolType);
-                        gp.obj[i] = null;
+                        world.objects.removeSlot(i);
                     }
                     break;
 
                 case "Boots":
-                    if (gp != null) {
-                        gp.activateSpeedBoost(10);
+                    if (world != null) {
+                        world.activateSpeedBoost(10);
 
-                        // ADD THIS LINE:
-                        gp.sound.play(2); // Play speed boost sound
+                        world.listener.playSound(GameWorld.SOUND_SPEED_BOOST); // Play speed boost sound
                     }
-                    gp.obj[i] = null;
+                    world.objects.removeSlot(i);
                     System.out.println("Speed boost activated!");
                     break;
             }
@@ -213,70 +193,31 @@ public class Player extends Entity {
     }
 
     public void draw(Graphics2D g2) {
-        BufferedImage image = null;
-
-        switch (direction) {
-            case "up":
-                if(spriteNum == 1) {
-                    image = up1;
-                }
-                if(spriteNum == 2) {
-                    image = up2;
-                }
-                break;
-            case "down":
-                if(spriteNum == 1) {
-                    image = down1;
-                }
-                if(spriteNum == 2) {
-                    image = down2;
-                }
-                break;
-            case "left":
-                if(spriteNum == 1) {
-                    image = left1;
-                }
-                if(spriteNum == 2) {
-                    image = left2;
-                }
-                break;
-            case "right":
-                if(spriteNum == 1) {
-                    image = right1;
-                }
-                if(spriteNum == 2) {
-                    image = right2;
-                }
-                break;
-        }
+        BufferedImage image = getCurrentImage();
 
         if (image == null) return;
 
         int x = screenX;
         int y = screenY;
 
-        if (gp == null) {
+        if (world == null) {
             g2.drawImage(image, x, y, null);
             return;
         }
 
-        if(worldX < screenX) {
-            x = worldX;
-        }
-        if(worldY < screenY) {
-            y = worldY;
-        }
+        // Centre of the view, unless the camera has stopped at an edge
+        Camera camera = world.camera;
+        x = camera.toScreenX(getRenderX(world.interpolation));
+        y = camera.toScreenY(getRenderY(world.interpolation));
+        int width = camera.toScreenSize(image.getWidth());
+        int height = camera.toScreenSize(image.getHeight());
 
-        int rightOffset = gp.screenWidth - screenX;
-        if(rightOffset > gp.worldWidth - worldX) {
-            x = gp.screenWidth - (gp.worldWidth - worldX);
-        }
-        int bottomOffset = gp.screenHeight - screenY;
-        if(bottomOffset > gp.worldHeight - worldY) {
-            y = gp.screenHeight - (gp.worldHeight - worldY);
+        int sprite = getCurrentSprite();
+        if (sprite != TextureAtlas.NO_SPRITE) {
+            world.atlas.draw(g2, sprite, x, y, width, height);
+        } else {
+            g2.drawImage(image, x, y, width, height, null);
         }
-
-        g2.drawImage(image, x, y, null);
     }
 
     public boolean isToolCollected(int toolType) {
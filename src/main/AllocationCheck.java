@@ -0,0 +1,94 @@
+package main;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+
+// Checks that drawing a frame allocates nothing once caches are warm. Renders
+// the play state (all tools, post glow and speed boost showing), the pause and
+// settings overlays and the wire puzzle at full quality, and counts the bytes
+// the render thread allocates. Exits with status 1 if any state allocates.
+// The play state is measured with the blackout on, as the game starts, and off,
+// and with the world drawn at low resolution.
+// Usage: java -cp <classes>:<project root> main.AllocationCheck [frames]
+public class AllocationCheck {
+
+    static final int WARMUP_FRAMES = 3000;
+    static final int ROUNDS = 3;
+
+    public static void main(String[] args) {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            System.out.println("Allocation counting isn't supported by this JVM");
+            return;
+        }
+
+        PrintStream out = BenchmarkHarness.silence(); // game setup logging
+        GamePanel gp = BenchmarkHarness.createPanel();
+        BufferedImage screen = new BufferedImage(gp.screenWidth, gp.screenHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = screen.createGraphics();
+
+        out.println("=== Render allocation (" + frames + " frames after " + WARMUP_FRAMES + " warmup) ===");
+        boolean failed = false;
+
+        // Play state with everything the HUD can show
+        gp.world.gameState = GameWorld.playState;
+        gp.world.player.toolsCollected = 4;
+        gp.world.activateSpeedBoost(3600);
+        failed |= report(out, "playState", measure(threads, gp, g2, frames), frames);
+        gp.world.lighting.enabled = false;
+        failed |= report(out, "  no blackout", measure(threads, gp, g2, frames), frames);
+        gp.world.lighting.enabled = true;
+        gp.lowResolution = true;
+        failed |= report(out, "  low resolution", measure(threads, gp, g2, frames), frames);
+        gp.lowResolution = false;
+
+        // Still screens over the map: the snapshot and nothing repainted
+        gp.world.gameState = GameWorld.pauseState;
+        failed |= report(out, "pauseState", measure(threads, gp, g2, frames), frames);
+        gp.world.gameState = GameWorld.settingsState;
+        failed |= report(out, "settingsState", measure(threads, gp, g2, frames), frames);
+
+        // Wire puzzle over the map
+        gp.world.gameState = GameWorld.wirePuzzleState;
+        gp.wirePuzzle.start();
+        failed |= report(out, "wirePuzzleState", measure(threads, gp, g2, frames), frames);
+
+        g2.dispose();
+        BenchmarkHarness.restore();
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    // Bytes allocated by this thread over the measured frames; the best of a few
+    // rounds, so a one-off (the JIT, a class loading) isn't counted as per-frame
+    static long measure(com.sun.management.ThreadMXBean threads, GamePanel gp, Graphics2D g2, int frames) {
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            gp.render(g2);
+        }
+
+        long id = Thread.currentThread().getId();
+        long overhead = threads.getThreadAllocatedBytes(id);
+        overhead = threads.getThreadAllocatedBytes(id) - overhead; // what asking costs
+
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = threads.getThreadAllocatedBytes(id);
+            for (int i = 0; i < frames; i++) {
+                gp.render(g2);
+            }
+            best = Math.min(best, Math.max(0, threads.getThreadAllocatedBytes(id) - before - overhead));
+        }
+        return best;
+    }
+
+    static boolean report(PrintStream out, String state, long bytes, int frames) {
+        out.printf("%-16s %10d bytes  %8.1f bytes/frame  %s%n", state, bytes,
+                (double) bytes / frames, bytes == 0 ? "OK" : "ALLOCATES");
+        return bytes != 0;
+    }
+}
@@ -8,26 +8,25 @@ import java.util.Random;
 import java.util.ArrayList;
 
 public class AssetSetter {
-    GamePanel gp;
+    GameWorld world;
     Random random;
+    UtilityTool uTool = new UtilityTool();
 
     private int[] pathwayTileNumbers = {12, 13, 16, 17, 18, 19, 23, 24};
 
     // Tile number for tile_012.png (from TileManager setup)
     private final int POST_TILE_TYPE = 12; // tile_012.png
 
-    public AssetSetter(GamePanel gp) {
-        this.gp = gp;
-        this.random = new Random();
+    public AssetSetter(GameWorld world) {
+        this.world = world;
+        this.random = world.random;
     }
 
     public void setObject() {
         // Clear existing objects
-        for (int i = 0; i < gp.obj.length; i++) {
-            gp.obj[i] = null;
-        }
+        world.objects.clear();
 
-        System.out.println("=== Setting up Level " + gp.currentLevel + " ===");
+        System.out.println("=== Setting up Level " + world.currentLevel + " ===");
 
         setupSimpleLevel();
     }
@@ -39,17 +38,17 @@ public class AssetSetter {
         // Also collect pathway positions for tools and boots
         ArrayList<Position> pathwayPositions = new ArrayList<>();
 
-        for (int col = 0; col < gp.maxWorldCol; col++) {
-            for (int row = 0; row < gp.maxWorldRow; row++) {
-                int tileNum = gp.tileM.mapTileNum[col][row];
+        for (int col = 0; col < world.maxWorldCol; col++) {
+            for (int row = 0; row < world.maxWorldRow; row++) {
+                int tileNum = world.tileM.getTileNum(col, row);
 
                 // Check if this is tile_012.png (post tile)
-                if (tileNum == POST_TILE_TYPE && !gp.tileM.tile[tileNum].collision && isValidPosition(col, row)) {
+                if (tileNum == POST_TILE_TYPE && !world.tileM.tile[tileNum].collision && isValidPosition(col, row)) {
                     postTilePositions.add(new Position(col, row, tileNum));
                 }
 
                 // Also collect all pathway tiles for tools
-                if (isPathwayTile(tileNum) && !gp.tileM.tile[tileNum].collision && isValidPosition(col, row)) {
+                if (isPathwayTile(tileNum) && !world.tileM.tile[tileNum].collision && isValidPosition(col, row)) {
                     pathwayPositions.add(new Position(col, row, tileNum));
                 }
             }
@@ -59,8 +58,8 @@ public class AssetSetter {
         System.out.println("Available pathway tiles for tools: " + pathwayPositions.size());
 
         // Shuffle positions
-        java.util.Collections.shuffle(postTilePositions);
-        java.util.Collections.shuffle(pathwayPositions);
+        java.util.Collections.shuffle(postTilePositions, random);
+        java.util.Collections.shuffle(pathwayPositions, random);
 
         int objIndex = 0;
 
@@ -70,8 +69,6 @@ public class AssetSetter {
 
             SuperObject tool = new SuperObject();
             tool.name = "Tool";
-            tool.worldX = pos.col * gp.tileSize;
-            tool.worldY = pos.row * gp.tileSize;
             tool.toolPostGroup = toolType;
 
             // Load image
@@ -83,7 +80,8 @@ public class AssetSetter {
                 e.printStackTrace();
             }
 
-            gp.obj[objIndex] = tool;
+            pack(tool, "objects/tool" + toolType + ".png");
+            tool.place(world.objects, pos.col * world.tileSize, pos.row * world.tileSize);
             System.out.println("Placed Tool" + toolType + " at (" + pos.col + "," + pos.row + ") on tile_" +
                     String.format("%03d", pos.tileNum));
             objIndex++;
@@ -94,12 +92,11 @@ public class AssetSetter {
             Position postPos = postTilePositions.get(0);
 
             OBJ_Post post = new OBJ_Post();
-            post.worldX = postPos.col * gp.tileSize;
-            post.worldY = postPos.row * gp.tileSize;
             post.name = "Post";
             post.collision = true;
+            pack(post, "objects/post.png");
 
-            gp.obj[objIndex] = post;
+            post.place(world.objects, postPos.col * world.tileSize, postPos.row * world.tileSize);
             System.out.println("Placed Post at (" + postPos.col + "," + postPos.row + ") on tile_012.png");
             objIndex++;
         } else {
@@ -109,26 +106,24 @@ public class AssetSetter {
                 Position pos = pathwayPositions.get(i);
 
                 boolean tooCloseToTool = false;
-                for (int j = 0; j < objIndex; j++) {
-                    if (gp.obj[j] != null) {
-                        int toolX = gp.obj[j].worldX / gp.tileSize;
-                        int toolY = gp.obj[j].worldY / gp.tileSize;
-                        double distance = Math.sqrt(Math.pow(pos.col - toolX, 2) + Math.pow(pos.row - toolY, 2));
-                        if (distance < 5) {
-                            tooCloseToTool = true;
-                            break;
-                        }
+                for (int j = 0; j < world.objects.size(); j++) {
+                    SuperObject placed = world.objects.viewAt(j);
+                    int toolX = placed.getWorldX() / world.tileSize;
+                    int toolY = placed.getWorldY() / world.tileSize;
+                    double distance = Math.sqrt(Math.pow(pos.col - toolX, 2) + Math.pow(pos.row - toolY, 2));
+                    if (distance < 5) {
+                        tooCloseToTool = true;
+                        break;
                     }
                 }
 
                 if (!tooCloseToTool) {
                     OBJ_Post post = new OBJ_Post();
-                    post.worldX = pos.col * gp.tileSize;
-                    post.worldY = pos.row * gp.tileSize;
                     post.name = "Post";
                     post.collision = true;
+                    pack(post, "objects/post.png");
 
-                    gp.obj[objIndex] = post;
+                    post.place(world.objects, pos.col * world.tileSize, pos.row * world.tileSize);
                     System.out.println("Placed Post (fallback) at (" + pos.col + "," + pos.row + ")");
                     objIndex++;
                     break;
@@ -141,25 +136,33 @@ public class AssetSetter {
             Position pos = pathwayPositions.get(i);
             boolean positionUsed = false;
 
-            for (int j = 0; j < objIndex; j++) {
-                if (gp.obj[j] != null &&
-                        gp.obj[j].worldX == pos.col * gp.tileSize &&
-                        gp.obj[j].worldY == pos.row * gp.tileSize) {
+            for (int j = 0; j < world.objects.size(); j++) {
+                SuperObject placed = world.objects.viewAt(j);
+                if (placed.getWorldX() == pos.col * world.tileSize &&
+                        placed.getWorldY() == pos.row * world.tileSize) {
                     positionUsed = true;
                     break;
                 }
             }
 
             if (!positionUsed) {
-                gp.obj[objIndex] = new OBJ_Boots();
-                gp.obj[objIndex].worldX = pos.col * gp.tileSize;
-                gp.obj[objIndex].worldY = pos.row * gp.tileSize;
+                OBJ_Boots boots = new OBJ_Boots();
+                pack(boots, "objects/boots.png");
+                boots.place(world.objects, pos.col * world.tileSize, pos.row * world.tileSize);
                 System.out.println("Placed Boots at (" + pos.col + "," + pos.row + ")");
                 break;
             }
         }
 
-        System.out.println("=== Level " + gp.currentLevel + " Setup Complete ===");
+        System.out.println("=== Level " + world.currentLevel + " Setup Complete ===");
+    }
+
+    // Objects are loaded at 16x16; scale them once to tile size and draw them from the world's atlas
+    private void pack(SuperObject obj, String imageName) {
+        if (obj.image != null) {
+            obj.image = uTool.prepare(imageName, obj.image, world.tileSize, world.tileSize, false);
+        }
+        obj.sprite = world.atlas.add(imageName, obj.image, world.tileSize, world.tileSize);
     }
 
     private boolean isPathwayTile(int tileNum) {
@@ -171,8 +174,8 @@ public class AssetSetter {
 
     private boolean isValidPosition(int col, int row) {
         if (col == 2 && row == 43) return false;
-        return col >= 5 && col < gp.maxWorldCol - 5 &&
-                row >= 5 && row < gp.maxWorldRow - 5;
+        return col >= 5 && col < world.maxWorldCol - 5 &&
+                row >= 5 && row < world.maxWorldRow - 5;
     }
 
     private class Position {
@@ -186,7 +189,8 @@ public class AssetSetter {
 
     public void setNPC() {
         System.out.println("Setting up NPC...");
-        gp.npc[0] = new NPC_Lady(gp);
+        world.npcs.clear();
+        NPC_Lady lady = new NPC_Lady(world);
 
         int npcCol = 25;
         int npcRow = 25;
@@ -194,17 +198,17 @@ public class AssetSetter {
         int[] walkableTiles = {0, 3, 12, 13, 16, 17, 18, 19, 23, 24, 29, 34, 35, 36, 44, 45, 46, 47, 48, 49};
 
         for (int attempt = 0; attempt < 1000; attempt++) {
-            npcCol = 10 + random.nextInt(gp.maxWorldCol - 20);
-            npcRow = 10 + random.nextInt(gp.maxWorldRow - 20);
+            npcCol = 10 + random.nextInt(world.maxWorldCol - 20);
+            npcRow = 10 + random.nextInt(world.maxWorldRow - 20);
 
-            int tileNum = gp.tileM.mapTileNum[npcCol][npcRow];
+            int tileNum = world.tileM.getTileNum(npcCol, npcRow);
 
             for (int walkableTile : walkableTiles) {
                 if (tileNum == walkableTile) {
-                    if (gp.tileM.tile[tileNum] != null && !gp.tileM.tile[tileNum].collision) {
+                    if (world.tileM.tile[tileNum] != null && !world.tileM.tile[tileNum].collision) {
                         if (isValidPosition(npcCol, npcRow)) {
-                            gp.npc[0].worldX = npcCol * gp.tileSize;
-                            gp.npc[0].worldY = npcRow * gp.tileSize;
+                            lady.setPosition(npcCol * world.tileSize, npcRow * world.tileSize);
+                            lady.savePreviousPosition();
                             System.out.println("NPC placed at (" + npcCol + "," + npcRow + ")");
                             return;
                         }
@@ -213,8 +217,8 @@ public class AssetSetter {
             }
         }
 
-        gp.npc[0].worldX = npcCol * gp.tileSize;
-        gp.npc[0].worldY = npcRow * gp.tileSize;
+        lady.setPosition(npcCol * world.tileSize, npcRow * world.tileSize);
+        lady.savePreviousPosition();
         System.out.println("NPC at fallback position");
     }
 }
\ No newline at end of file
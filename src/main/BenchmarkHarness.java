@@ -0,0 +1,56 @@
+package main;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+// What the benchmark and check mains share: no window, the game's logging kept
+// out of the report, a game set up the same way every time, and a timing loop
+// whose first fifth is warmup.
+public class BenchmarkHarness {
+
+    public static final long SEED = 42; // worlds are seeded, so runs can be compared
+
+    private static PrintStream out = System.out;
+
+    public interface Frame {
+        void draw(int frame);
+    }
+
+    public static void headless() {
+        System.setProperty("java.awt.headless", "true");
+    }
+
+    // Headless, with System.out silenced until restore(). Returns the real System.out for the report.
+    public static PrintStream silence() {
+        headless();
+        out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        return out;
+    }
+
+    public static void restore() {
+        System.setOut(out);
+    }
+
+    public static GameWorld createWorld() {
+        return new GameWorld(new InputState(), SEED);
+    }
+
+    // A set up game at full quality, so the governor can't change what is measured
+    public static GamePanel createPanel() {
+        GamePanel gp = new GamePanel();
+        gp.setupGame();
+        gp.quality.lock(QualityGovernor.FULL);
+        return gp;
+    }
+
+    // ms per frame; the first fifth of the frames is warmup. Frames are numbered from 0, warmup included.
+    public static double time(int frames, Frame frame) {
+        long start = 0;
+        for (int i = -frames / 5; i < frames; i++) {
+            if (i == 0) start = System.nanoTime();
+            frame.draw(i + frames / 5);
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / frames;
+    }
+}
@@ -0,0 +1,152 @@
+package main;
+
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+
+// The view onto the world, worked out once per frame and used by every world
+// draw. It centres on the player (or a point that eases after the player),
+// stops at the map edges, and gives world-to-screen as "minus x / y" and the
+// visible world rectangle for culling. Zoom is one scale on the Graphics
+// around the whole world draw, so nothing has to work it out per object.
+// The low resolution world is drawn with a pixel scale instead: screen
+// positions and sizes come out divided by it, for the 16 px art drawn 1:1.
+public class Camera {
+
+    public static final float MIN_ZOOM = 0.5f;
+    public static final float MAX_ZOOM = 4f;
+
+    private final GameWorld world;
+
+    // THIS FRAME (world pixels)
+    public int x, y;                  // top-left of the view
+    public int viewWidth, viewHeight; // how much of the world is on screen at this zoom
+
+    // FOLLOW
+    private float zoom = 1;
+    private float smoothing = 0;      // share of the distance to the player covered per update; 0 = locked on
+    private float followX, followY;   // eased centre of the view, one value per update
+    private float prevFollowX, prevFollowY;
+    private boolean snapped = false;  // false = jump straight to the player at the next update
+
+    private AffineTransform savedTransform; // while the zoom is applied
+
+    // Screen pixels are this many world pixels across: world.scale while the
+    // low resolution world is drawn (16 px tiles), otherwise 1
+    private int pixelScale = 1;
+
+    public Camera(GameWorld world) {
+        this.world = world;
+    }
+
+    // One simulation step: move the eased centre towards the player
+    public void update() {
+        float targetX = world.player.getWorldX() + world.tileSize / 2;
+        float targetY = world.player.getWorldY() + world.tileSize / 2;
+        if (!snapped || smoothing == 0) {
+            followX = prevFollowX = targetX;
+            followY = prevFollowY = targetY;
+            snapped = true;
+            return;
+        }
+        followX += (targetX - followX) * smoothing;
+        followY += (targetY - followY) * smoothing;
+    }
+
+    public void savePreviousPosition() {
+        prevFollowX = followX;
+        prevFollowY = followY;
+    }
+
+    // Jump to the player without easing (new level, restart)
+    public void snap() {
+        snapped = false;
+        update();
+    }
+
+    // Where the view is for a frame drawn `alpha` of the way between the last two updates
+    public void beginFrame(float alpha) {
+        int centerX, centerY;
+        if (smoothing == 0 || !snapped) {
+            centerX = world.player.getRenderX(alpha) + world.tileSize / 2;
+            centerY = world.player.getRenderY(alpha) + world.tileSize / 2;
+        } else {
+            centerX = Math.round(prevFollowX + (followX - prevFollowX) * alpha);
+            centerY = Math.round(prevFollowY + (followY - prevFollowY) * alpha);
+        }
+
+        viewWidth = zoom == 1 ? world.screenWidth : Math.round(world.screenWidth / zoom);
+        viewHeight = zoom == 1 ? world.screenHeight : Math.round(world.screenHeight / zoom);
+
+        // Stop moving the camera at the edge
+        int mapWidth = world.tileM.mapCols * world.tileSize;
+        int mapHeight = world.tileM.mapRows * world.tileSize;
+        x = centerX - viewWidth / 2;
+        y = centerY - viewHeight / 2;
+        if (x < 0) x = 0;
+        if (y < 0) y = 0;
+        if (x > mapWidth - viewWidth) x = mapWidth - viewWidth;
+        if (y > mapHeight - viewHeight) y = mapHeight - viewHeight;
+    }
+
+    // Scales the Graphics for the world draw; popTransform puts it back
+    public void pushTransform(Graphics2D g2) {
+        if (zoom != 1) {
+            savedTransform = g2.getTransform();
+            g2.scale(zoom, zoom);
+        }
+    }
+
+    public void popTransform(Graphics2D g2) {
+        if (savedTransform != null) {
+            g2.setTransform(savedTransform);
+            savedTransform = null;
+        }
+    }
+
+    public int toScreenX(int worldX) {
+        if (pixelScale == 1) return worldX - x;
+        return Math.floorDiv(worldX, pixelScale) - Math.floorDiv(x, pixelScale);
+    }
+
+    public int toScreenY(int worldY) {
+        if (pixelScale == 1) return worldY - y;
+        return Math.floorDiv(worldY, pixelScale) - Math.floorDiv(y, pixelScale);
+    }
+
+    // A world size (a sprite's width or height) in screen pixels
+    public int toScreenSize(int worldSize) {
+        return worldSize / pixelScale;
+    }
+
+    // Whether any of the world rectangle is in view
+    public boolean isVisible(int worldX, int worldY, int width, int height) {
+        return worldX + width > x && worldX < x + viewWidth &&
+                worldY + height > y && worldY < y + viewHeight;
+    }
+
+    public float getZoom() {
+        return zoom;
+    }
+
+    public int getPixelScale() {
+        return pixelScale;
+    }
+
+    public void setPixelScale(int pixelScale) {
+        this.pixelScale = pixelScale;
+    }
+
+    public void setZoom(float zoom) {
+        this.zoom = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom));
+    }
+
+    public float getSmoothing() {
+        return smoothing;
+    }
+
+    // 0 = locked on the player; 0.1-0.2 = eases after them
+    public void setSmoothing(float smoothing) {
+        this.smoothing = Math.max(0, Math.min(1, smoothing));
+        snap();
+    }
+}
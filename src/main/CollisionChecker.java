@@ -1,67 +1,120 @@
 package main;
 
 import entity.Entity;
+import entity.EntityStore;
+import obj.SuperObject;
+import tile.TileManager;
+
+import java.util.Arrays;
 
 public class CollisionChecker {
 
-    GamePanel gp;
+    GameWorld world;
+
+    // FROZEN COLLISION DATA
+    // One "blocked" flag per tile, rebuilt when the map changes, and the boxes of the
+    // solid objects, copied by freeze(). Both stay read-only while NPCs update, so
+    // the NPC checks can run on several threads at once.
+    private TileManager frozenMap;
+    private boolean[] blocked; // row-major, like TileManager.mapTiles
+    private int blockedCols, blockedRows;
+    private int[] solidBoxes = new int[16]; // x, y, width, height per solid object
+    private int solidCount = 0;
+
+    public CollisionChecker(GameWorld world) {
+        this.world = world;
+    }
+
+    // Call on the game thread before a batch of NPC updates
+    public void freeze() {
+        if (frozenMap != world.tileM) {
+            freezeTiles();
+        }
+
+        EntityStore<SuperObject> objects = world.objects;
+        solidCount = 0;
+        for (int i = 0; i < objects.size(); i++) {
+            int o = objects.slotAt(i);
+            if (!objects.solid[o]) continue;
+            if (solidBoxes.length < (solidCount + 1) * 4) {
+                solidBoxes = Arrays.copyOf(solidBoxes, solidBoxes.length * 2);
+            }
+            int b = solidCount++ * 4;
+            solidBoxes[b] = objects.x[o] + objects.solidX[o];
+            solidBoxes[b + 1] = objects.y[o] + objects.solidY[o];
+            solidBoxes[b + 2] = objects.solidW[o];
+            solidBoxes[b + 3] = objects.solidH[o];
+        }
+    }
+
+    private void freezeTiles() {
+        TileManager tileM = world.tileM;
+        blockedCols = tileM.mapCols;
+        blockedRows = tileM.mapRows;
+        blocked = new boolean[blockedCols * blockedRows];
+        for (int i = 0; i < blocked.length; i++) {
+            blocked[i] = tileM.tile[tileM.mapTiles[i]].collision;
+        }
+        frozenMap = tileM;
+    }
 
-    public CollisionChecker(GamePanel gp) {
-        this.gp = gp;
+    // Outside the map counts as a wall
+    private boolean isBlocked(int col, int row) {
+        if (col < 0 || row < 0 || col >= blockedCols || row >= blockedRows) {
+            return true;
+        }
+        return blocked[row * blockedCols + col];
     }
 
     public void checkTile(Entity entity) {
+        if (frozenMap != world.tileM) {
+            freezeTiles(); // new map - only ever seen on the game thread
+        }
 
-        int entityLeftWorldX = entity.worldX + entity.solidArea.x;
-        int entityRightWorldX = entity.worldX + entity.solidArea.x + entity.solidArea.width;
-        int entityTopWorldY = entity.worldY + entity.solidArea.y;
-        int entityBottomWorldY = entity.worldY + entity.solidArea.y + entity.solidArea.height;
-
-        int entityLeftCol = entityLeftWorldX/gp.tileSize;
-        int entityRightCol = entityRightWorldX/gp.tileSize;
-        int entityTopRow = entityTopWorldY/gp.tileSize;
-        int entityBottomRow = entityBottomWorldY/gp.tileSize;
-
-        int tileNum1, tileNum2;
-
-        switch (entity.direction) {
-            case "up":
-                entityTopRow = (entityTopWorldY - entity.speed)/gp.tileSize;
-                tileNum1 = gp.tileM.mapTileNum[entityLeftCol][entityTopRow];
-                tileNum2 = gp.tileM.mapTileNum[entityRightCol][entityTopRow];
-                if(gp.tileM.tile[tileNum1].collision == true || gp.tileM.tile[tileNum2].collision == true) {
-                  entity.collisionOn = true;
+        EntityStore<Entity> es = entity.store;
+        int e = entity.slot;
+        int speed = es.speed[e];
+
+        int entityLeftWorldX = es.x[e] + es.solidX[e];
+        int entityRightWorldX = es.x[e] + es.solidX[e] + es.solidW[e];
+        int entityTopWorldY = es.y[e] + es.solidY[e];
+        int entityBottomWorldY = es.y[e] + es.solidY[e] + es.solidH[e];
+
+        int entityLeftCol = entityLeftWorldX/world.tileSize;
+        int entityRightCol = entityRightWorldX/world.tileSize;
+        int entityTopRow = entityTopWorldY/world.tileSize;
+        int entityBottomRow = entityBottomWorldY/world.tileSize;
+
+        switch (es.direction[e]) {
+            case EntityStore.UP:
+                entityTopRow = (entityTopWorldY - speed)/world.tileSize;
+                if(isBlocked(entityLeftCol, entityTopRow) || isBlocked(entityRightCol, entityTopRow)) {
+                  es.collisionOn[e] = true;
                 }
 
                 break;
 
-            case "down":
-                entityBottomRow = (entityBottomWorldY + entity.speed)/gp.tileSize;
-                tileNum1 = gp.tileM.mapTileNum[entityLeftCol][entityBottomRow];
-                tileNum2 = gp.tileM.mapTileNum[entityRightCol][entityBottomRow];
-                if(gp.tileM.tile[tileNum1].collision == true || gp.tileM.tile[tileNum2].collision == true) {
-                    entity.collisionOn = true;
+            case EntityStore.DOWN:
+                entityBottomRow = (entityBottomWorldY + speed)/world.tileSize;
+                if(isBlocked(entityLeftCol, entityBottomRow) || isBlocked(entityRightCol, entityBottomRow)) {
+                    es.collisionOn[e] = true;
                 }
 
                 break;
 
-            case "left":
-                entityLeftCol = (entityLeftWorldX - entity.speed)/gp.tileSize;
-                tileNum1 = gp.tileM.mapTileNum[entityLeftCol][entityTopRow];
-                tileNum2 = gp.tileM.mapTileNum[entityLeftCol][entityBottomRow];
-                if(gp.tileM.tile[tileNum1].collision == true || gp.tileM.tile[tileNum2].collision == true) {
-                    entity.collisionOn = true;
+            case EntityStore.LEFT:
+                entityLeftCol = (entityLeftWorldX - speed)/world.tileSize;
+                if(isBlocked(entityLeftCol, entityTopRow) || isBlocked(entityLeftCol, entityBottomRow)) {
+                    es.collisionOn[e] = true;
                 }
 
                 break;
 
-            case "right":
+            case EntityStore.RIGHT:
 
-                entityRightCol = (entityRightWorldX + entity.speed)/gp.tileSize;
-                tileNum1 = gp.tileM.mapTileNum[entityRightCol][entityTopRow];
-                tileNum2 = gp.tileM.mapTileNum[entityRightCol][entityBottomRow];
-                if(gp.tileM.tile[tileNum1].collision == true || gp.tileM.tile[tileNum2].collision == true) {
-                    entity.collisionOn = true;
+                entityRightCol = (entityRightWorldX + speed)/world.tileSize;
+                if(isBlocked(entityRightCol, entityTopRow) || isBlocked(entityRightCol, entityBottomRow)) {
+                    es.collisionOn[e] = true;
                 }
 
                 break;
@@ -70,74 +123,53 @@ public class CollisionChecker {
 
 
 
+    // Returns the slot (in world.objects) of the object the entity is about to touch, or -1.
+    // Non-players only care about solid objects and check against the frozen boxes.
     public int checkObject(Entity entity, boolean player) {
-        int index = 999;
-
-        for(int i = 0; i < gp.obj.length; i++) {
-            if(gp.obj[i] != null) {
-                // Get entity's solid area position
-                entity.solidArea.x = entity.worldX + entity.solidArea.x;
-                entity.solidArea.y = entity.worldY + entity.solidArea.y;
-
-                // Get the object's solid area position
-                gp.obj[i].solidArea.x = gp.obj[i].worldX + gp.obj[i].solidArea.x;
-                gp.obj[i].solidArea.y = gp.obj[i].worldY + gp.obj[i].solidArea.y;
-
-                switch (entity.direction) {
-                    case "up":
-                        entity.solidArea.y -= entity.speed;
-                        if(entity.solidArea.intersects(gp.obj[i].solidArea)) {
-                            if(gp.obj[i].collision == true) {
-                                entity.collisionOn = true;
-                            }
-                            if(player == true) {
-                                index = i;
-                            }
-                        }
-                        break;
-
-                    case "down":
-                        entity.solidArea.y += entity.speed;
-                        if(entity.solidArea.intersects(gp.obj[i].solidArea)) {
-                            if(gp.obj[i].collision == true) {
-                                entity.collisionOn = true;
-                            }
-                            if(player == true) {
-                                index = i;
-                            }
-                        }
-                        break;
-
-                    case "left":
-                        entity.solidArea.x -= entity.speed;
-                        if(entity.solidArea.intersects(gp.obj[i].solidArea)) {
-                            if(gp.obj[i].collision == true) {
-                                entity.collisionOn = true;
-                            }
-                            if(player == true) {
-                                index = i;
-                            }
-                        }
-                        break;
-
-                    case "right":
-                        entity.solidArea.x += entity.speed;
-                        if(entity.solidArea.intersects(gp.obj[i].solidArea)) {
-                            if(gp.obj[i].collision == true) {
-                                entity.collisionOn = true;
-                            }
-                            if(player == true) {
-                                index = i;
-                            }
-                        }
-                        break;
+        int index = -1;
+
+        EntityStore<Entity> es = entity.store;
+        int e = entity.slot;
+
+        // Entity's solid area after this step
+        int ex = es.x[e] + es.solidX[e];
+        int ey = es.y[e] + es.solidY[e];
+        switch (es.direction[e]) {
+            case EntityStore.UP: ey -= es.speed[e]; break;
+            case EntityStore.DOWN: ey += es.speed[e]; break;
+            case EntityStore.LEFT: ex -= es.speed[e]; break;
+            case EntityStore.RIGHT: ex += es.speed[e]; break;
+        }
+        int ew = es.solidW[e];
+        int eh = es.solidH[e];
+
+        if (!player) {
+            for (int b = 0; b < solidCount * 4; b += 4) {
+                if(ex < solidBoxes[b] + solidBoxes[b + 2] && solidBoxes[b] < ex + ew &&
+                        ey < solidBoxes[b + 1] + solidBoxes[b + 3] && solidBoxes[b + 1] < ey + eh) {
+                    es.collisionOn[e] = true;
+                    break;
                 }
+            }
+            return index;
+        }
+
+        EntityStore<SuperObject> objects = world.objects;
+        for(int i = 0; i < objects.size(); i++) {
+            int o = objects.slotAt(i);
+
+            // Get the object's solid area position
+            int ox = objects.x[o] + objects.solidX[o];
+            int oy = objects.y[o] + objects.solidY[o];
 
-                // Reset solid areas
-                entity.solidArea.x = entity.solidAreaDefaultX;
-                entity.solidArea.y = entity.solidAreaDefaultY;
-                gp.obj[i].solidArea.x = gp.obj[i].solidAreaDefaultX;
-                gp.obj[i].solidArea.y = gp.obj[i].solidAreaDefaultY;
+            if(ex < ox + objects.solidW[o] && ox < ex + ew &&
+                    ey < oy + objects.solidH[o] && oy < ey + eh) {
+                if(objects.solid[o] == true) {
+                    es.collisionOn[e] = true;
+                }
+                if(player == true) {
+                    index = o;
+                }
             }
         }
 
@@ -0,0 +1,29 @@
+package main;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+// Draws a cached image at a varying opacity (pulsing glows). Setting an alpha
+// composite on the frame's Graphics would make Java2D re-validate its text
+// state at the next drawString, which allocates; the fade is done in a small
+// scratch image instead and that is drawn with the frame's own composite.
+public class FadedImage {
+
+    private final BufferedImage image;
+    private final BufferedImage scratch;
+    private final Graphics2D scratchGraphics; // kept for the life of the image
+
+    public FadedImage(BufferedImage image) {
+        this.image = image;
+        this.scratch = UtilityTool.createCompatible(image.getWidth(), image.getHeight(), Transparency.TRANSLUCENT);
+        this.scratchGraphics = scratch.createGraphics();
+    }
+
+    public void draw(Graphics2D g2, int x, int y, int alpha) {
+        scratchGraphics.setComposite(AlphaComposite.Clear);
+        scratchGraphics.fillRect(0, 0, scratch.getWidth(), scratch.getHeight());
+        scratchGraphics.setComposite(RenderResources.alpha(alpha));
+        scratchGraphics.drawImage(image, 0, 0, null);
+        g2.drawImage(scratch, x, y, null);
+    }
+}
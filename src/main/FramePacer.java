@@ -0,0 +1,159 @@
+package main;
+
+import java.awt.DisplayMode;
+import java.awt.GraphicsDevice;
+import java.awt.GraphicsEnvironment;
+import java.util.concurrent.locks.LockSupport;
+
+public class FramePacer {
+
+    // Below this much time left we stop sleeping and start parking
+    private static final long PARK_THRESHOLD = 2_000_000;   // 2 ms
+    // Never spin for less than this; grows if parkNanos wakes up late on this box
+    private static final long MIN_SPIN_THRESHOLD = 200_000; // 0.2 ms
+    // If we fall further behind than this, drop the missed frames instead of rushing
+    private static final int MAX_FRAMES_BEHIND = 3;
+
+    private volatile int targetFPS;
+    private volatile long frameInterval;
+    private long nextFrameTime = 0;
+
+    // Running estimate of how long Thread.sleep(1) really takes on this box
+    private double sleepEstimate = 1_000_000;
+    private double sleepMean = 1_000_000;
+    private double sleepM2 = 0;
+    private long sleepCount = 1;
+
+    // Running estimate of how late parkNanos wakes us up
+    private double parkOvershoot = 0;
+    private long spinThreshold = MIN_SPIN_THRESHOLD;
+
+    // STATS
+    private long lastFrameTime = 0;
+    private final FrameStats frameTimes = new FrameStats();
+
+    public FramePacer(int targetFPS) {
+        setTargetFPS(targetFPS);
+    }
+
+    public void setTargetFPS(int fps) {
+        if (fps < 1) fps = 1;
+        targetFPS = fps;
+        frameInterval = 1_000_000_000L / fps;
+        nextFrameTime = 0; // re-anchor on the next sync
+    }
+
+    public int getTargetFPS() {
+        return targetFPS;
+    }
+
+    public long getFrameInterval() {
+        return frameInterval;
+    }
+
+    // Blocks until the next frame is due, then records the frame for the stats
+    public void sync() {
+        long now = System.nanoTime();
+        if (nextFrameTime == 0) {
+            nextFrameTime = now;
+        }
+        nextFrameTime += frameInterval;
+
+        if (now - nextFrameTime > frameInterval * MAX_FRAMES_BEHIND) {
+            // Way behind (debugger, window drag, GC) - start over from now
+            nextFrameTime = now;
+        }
+
+        waitUntil(nextFrameTime);
+        recordFrame(System.nanoTime());
+    }
+
+    private void waitUntil(long deadline) {
+        // 1. Coarse: sleep in 1 ms steps while we are sure to wake up in time
+        while (deadline - System.nanoTime() > sleepEstimate + PARK_THRESHOLD) {
+            long start = System.nanoTime();
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            updateSleepEstimate(System.nanoTime() - start);
+        }
+
+        // 2. Fine: park for shorter slices
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > spinThreshold) {
+            long request = remaining - spinThreshold;
+            long start = System.nanoTime();
+            LockSupport.parkNanos(request);
+            updateParkEstimate(System.nanoTime() - start - request);
+        }
+
+        // 3. Last fraction of a millisecond: spin
+        while (deadline - System.nanoTime() > 0) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private void updateSleepEstimate(long observed) {
+        // Welford: mean + 1 standard deviation of observed sleep length
+        sleepCount++;
+        double delta = observed - sleepMean;
+        sleepMean += delta / sleepCount;
+        sleepM2 += delta * (observed - sleepMean);
+        sleepEstimate = sleepMean + Math.sqrt(sleepM2 / (sleepCount - 1));
+
+        // Forget old samples so the estimate follows the OS timer resolution
+        if (sleepCount > 1000) {
+            sleepCount = 1;
+            sleepM2 = 0;
+            sleepMean = sleepEstimate;
+        }
+    }
+
+    private void updateParkEstimate(long overshoot) {
+        // Moving average; spin for twice the usual wake-up delay
+        parkOvershoot += (Math.max(0, overshoot) - parkOvershoot) * 0.05;
+        spinThreshold = Math.min(PARK_THRESHOLD, Math.max(MIN_SPIN_THRESHOLD, (long) (parkOvershoot * 2)));
+    }
+
+    private void recordFrame(long now) {
+        if (lastFrameTime != 0) {
+            frameTimes.add(now, (now - lastFrameTime) / 1_000_000.0);
+        }
+        lastFrameTime = now;
+    }
+
+    public double getAchievedFPS() {
+        return frameTimes.getRate();
+    }
+
+    public double getFrameTimeMean() {
+        return frameTimes.getMean();
+    }
+
+    public double getFrameTimeVariance() {
+        return frameTimes.getVariance();
+    }
+
+    public double getFrameTimeJitter() {
+        return frameTimes.getStdDev();
+    }
+
+    // Refresh rate of the given screen, or the fallback when the driver does not report one
+    public static int getDisplayRefreshRate(GraphicsDevice device, int fallback) {
+        if (device == null) return fallback;
+        DisplayMode mode = device.getDisplayMode();
+        if (mode == null || mode.getRefreshRate() == DisplayMode.REFRESH_RATE_UNKNOWN) {
+            return fallback;
+        }
+        return mode.getRefreshRate();
+    }
+
+    public static int getDisplayRefreshRate(int fallback) {
+        if (GraphicsEnvironment.isHeadless()) return fallback;
+        return getDisplayRefreshRate(
+                GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice(), fallback);
+    }
+}
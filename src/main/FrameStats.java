@@ -0,0 +1,65 @@
+package main;
+
+// Mean and variance of a per-frame measurement (in ms) over a rolling one-second window
+public class FrameStats {
+
+    private static final long WINDOW = 1_000_000_000L;
+
+    // current window
+    private long windowStart = 0;
+    private int count = 0;
+    private double mean = 0;
+    private double m2 = 0;
+
+    // last completed window
+    private volatile int lastCount = 0;
+    private volatile double lastRate = 0;
+    private volatile double lastMean = 0;
+    private volatile double lastVariance = 0;
+
+    public void add(long now, double sampleMs) {
+        if (windowStart == 0) {
+            windowStart = now;
+        }
+
+        // Welford's running mean / variance
+        count++;
+        double delta = sampleMs - mean;
+        mean += delta / count;
+        m2 += delta * (sampleMs - mean);
+
+        long elapsed = now - windowStart;
+        if (elapsed >= WINDOW) {
+            lastCount = count;
+            lastRate = count * 1_000_000_000.0 / elapsed;
+            lastMean = mean;
+            lastVariance = count > 1 ? m2 / (count - 1) : 0;
+
+            windowStart = now;
+            count = 0;
+            mean = 0;
+            m2 = 0;
+        }
+    }
+
+    public int getCount() {
+        return lastCount;
+    }
+
+    // samples per second
+    public double getRate() {
+        return lastRate;
+    }
+
+    public double getMean() {
+        return lastMean;
+    }
+
+    public double getVariance() {
+        return lastVariance;
+    }
+
+    public double getStdDev() {
+        return Math.sqrt(lastVariance);
+    }
+}
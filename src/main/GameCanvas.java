@@ -0,0 +1,69 @@
+package main;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+
+// Heavyweight surface the game thread draws to directly (active rendering)
+public class GameCanvas extends Canvas {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int BUFFERS = 3; // triple buffering
+
+    GamePanel gp;
+    private boolean failed = false;
+
+    public GameCanvas(GamePanel gp) {
+        this.gp = gp;
+        this.setPreferredSize(new Dimension(gp.screenWidth, gp.screenHeight));
+        this.setBackground(Color.black);
+        this.setIgnoreRepaint(true); // the game thread paints, not the EDT
+        this.setFocusable(true);
+    }
+
+    // Renders and shows one frame. Returns false if the canvas can't be used (yet).
+    public boolean renderFrame() {
+        if (failed || !isDisplayable()) {
+            return false;
+        }
+
+        BufferStrategy bs = getBufferStrategy();
+        if (bs == null) {
+            try {
+                createBufferStrategy(BUFFERS);
+            } catch (Exception e) {
+                System.out.println("Active rendering unavailable: " + e.getMessage());
+                failed = true;
+            }
+            return false;
+        }
+
+        // Standard BufferStrategy loop - redraw if the buffer contents were lost
+        try {
+            do {
+                do {
+                    Graphics2D g2 = (Graphics2D) bs.getDrawGraphics();
+                    try {
+                        g2.setColor(getBackground());
+                        g2.fillRect(0, 0, getWidth(), getHeight());
+                        gp.renderFitted(g2, getWidth(), getHeight());
+                    } finally {
+                        g2.dispose();
+                    }
+                } while (bs.contentsRestored());
+
+                bs.show();
+            } while (bs.contentsLost());
+        } catch (IllegalStateException e) {
+            return false; // the window is being rebuilt (fullscreen switch); try again next frame
+        }
+
+        // Push the frame out now instead of letting the window system batch it
+        Toolkit.getDefaultToolkit().sync();
+        return true;
+    }
+
+    public boolean hasFailed() {
+        return failed;
+    }
+}
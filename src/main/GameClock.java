@@ -0,0 +1,76 @@
+package main;
+
+// Game time counted in simulation ticks instead of read from the wall clock.
+// GameWorld advances it once per update while gameplay is running, so pausing
+// the game stops every timer and a headless run can go faster than real time.
+public class GameClock {
+
+    private final int ticksPerSecond;
+    private long ticks = 0;
+    private boolean advancedLastUpdate = false;
+    private volatile boolean paused = false;
+    private volatile double timeScale = 1.0;
+
+    public GameClock(int ticksPerSecond) {
+        this.ticksPerSecond = ticksPerSecond;
+    }
+
+    // Called by the world once per update; returns false if time is standing still
+    public boolean tick(boolean running) {
+        advancedLastUpdate = running && !paused;
+        if (advancedLastUpdate) {
+            ticks++;
+        }
+        return advancedLastUpdate;
+    }
+
+    // Deterministic jump forward, e.g. to skip to the end of a timer in a benchmark
+    public void advance(long tickCount) {
+        ticks += tickCount;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public int getTicksPerSecond() {
+        return ticksPerSecond;
+    }
+
+    public long millis() {
+        return ticks * 1000 / ticksPerSecond;
+    }
+
+    // Time for drawing: in between ticks, using the render interpolation factor
+    public long millis(float alpha) {
+        if (!advancedLastUpdate) {
+            return millis(); // frozen - don't wobble between two ticks
+        }
+        return (long) ((ticks - 1 + alpha) * 1000 / ticksPerSecond);
+    }
+
+    public long ticksFor(long millis) {
+        return millis * ticksPerSecond / 1000;
+    }
+
+    public void pause() {
+        paused = true;
+    }
+
+    public void resume() {
+        paused = false;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    // How fast game time runs compared to real time (read by the game loop)
+    public double getTimeScale() {
+        return timeScale;
+    }
+
+    public void setTimeScale(double scale) {
+        timeScale = Math.max(0.1, Math.min(8.0, scale));
+    }
+}
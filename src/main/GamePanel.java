@@ -1,210 +1,203 @@
 package main;
 
-import entity.Entity;
-import entity.Player;
-import obj.SuperObject;
-import tile.TileManager;
-
+import tile.TileChunkCache;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.concurrent.atomic.AtomicLong;
+import main.OverlayRenderer.Region;
 import javax.swing.*;
 
-public class GamePanel extends JPanel implements Runnable {
-
-    //Screen Settings
-    final int originalTileSize = 16;
-    final int scale = 3;
+public class GamePanel extends JPanel implements Runnable, GameWorld.Listener, InputQueue.Handler {
 
-    public final int tileSize = originalTileSize * scale;
-    public final int maxScreenCol = 16;
-    public final int maxScreenRow = 12;
-    public final int screenWidth = tileSize * maxScreenCol;
-    public final int screenHeight = tileSize * maxScreenRow;
+    private static final long serialVersionUID = 1L;
 
-    // World Settings
-    public final int maxWorldCol = 50;
-    public final int maxWorldRow = 50;
-    public final int worldWidth = tileSize * maxWorldCol;
-    public final int worldHeight = tileSize * maxWorldRow;
+    // SIMULATION (all game state lives here)
+    public GameWorld world;
 
-    // SOUND INDICES
-    public static final int SOUND_BACKGROUND = 0;
-    public static final int SOUND_TOOL_PICKUP = 1;
-    public static final int SOUND_SPEED_BOOST = 2;
-    public static final int SOUND_PUZZLE_SUCCESS = 3;
-    public static final int SOUND_LEVEL_COMPLETE = 4;
+    //Screen Settings (from the world)
+    public final int tileSize;
+    public final int maxScreenCol;
+    public final int maxScreenRow;
+    public final int screenWidth;
+    public final int screenHeight;
 
     // FPS
-    int FPS = 60;
+    public static final int DEFAULT_FPS = 60;
+    public FramePacer framePacer = new FramePacer(DEFAULT_FPS);
+    public int displayRefreshRate = DEFAULT_FPS;
+    public final int[] fpsOptions = {30, 60, 120, 144};
+
+    // UPDATE RATE (fixed, independent of FPS)
+    public static final int UPS = GameWorld.UPS;
+    private static final long UPDATE_INTERVAL = 1_000_000_000L / UPS;
+    private static final int MAX_UPDATES_PER_FRAME = 5; // catch-up cap
+    private volatile float renderAlpha = 1;
+
+    // RENDER PATH
+    public GameCanvas canvas;
+    public volatile boolean activeRendering = true; // false = Swing repaint()/paintComponent
+    private final AtomicLong repaintRequestTime = new AtomicLong(0);
+    private long lastPassivePresent = 0;
+    private long lastActivePresent = 0;
+    public long lastDrawTime = 0;
+
+    // Presentation latency (request -> on screen) and frame intervals, per path
+    public final FrameStats passiveLatency = new FrameStats();
+    public final FrameStats passiveFrames = new FrameStats();
+    public final FrameStats activeLatency = new FrameStats();
+    public final FrameStats activeFrames = new FrameStats();
+
+    // Drops effects when rendering can't keep up with the frame rate
+    public QualityGovernor quality = new QualityGovernor();
+
+    // CACHED HUD (redrawn only when what they show changes)
+    HudWidget timerWidget, levelWidget;
+    HudWidget boostWidget; // changes once a second
+
+    // HUD LAYOUT (the painters and their widgets' areas both come from these)
+    static final int TIMER_RIGHT = 220;   // timer box's left edge, in from the right of the screen
+    static final int TIMER_Y = 25;        // between the post icon (y=20) and the tools (y=60)
+    static final int TIMER_WIDTH = 100;
+    static final int TIMER_HEIGHT = 40;
+    static final int LEVEL_FONT = 24;
+    static final int LEVEL_BASELINE = 30;
+    static final int BOOST_FONT = 14;
+    static final int BOOST_INDENT = 54;   // boost text starts this far left of the screen's centre
+    static final int BOOST_RISE = 76;     // boost text's baseline, up from the bottom of the screen
+    static final int BOOST_WIDTH = 200;   // room for "Speed Boost: NNs"
+    static final int WIDGET_PAD = 10;     // around a box, for its border and rounding
+    static final int TEXT_PAD = 4;        // around a line of text, for its descent and antialiasing
+
+    // OVERLAY SCREENS (composed once, then only their changing regions are repainted)
+    OverlayRenderer overlay;
+    private boolean composingOverlay = false;
+    private final HudWidget.Painter overlayComposer = this::composeOverlay; // one instance, not one per frame
+    private static final Region[] NO_REGIONS = {};
+    private final Region[] boostRegions;
+
+    // LOW RESOLUTION (world drawn at 16 px per tile, blown up to the frame in one blit)
+    public volatile boolean lowResolution = false;
+    private BufferedImage lowResBuffer;
+    private int[] lowResPixels;
+    private Graphics2D lowResGraphics; // kept; the 16 px art is drawn into it 1:1
+
+    // WORLD BUFFER (the 48 px world drawn into an int[] while the blackout darkens it)
+    private BufferedImage worldBuffer;
+    private int[] worldPixels;
+    private Graphics2D worldGraphics;
+
+    // WINDOW FIT (where the 768x576 frame sits in a resized or fullscreen window)
+    private volatile double viewScale = 1;
+    private volatile int viewX = 0, viewY = 0;
+
+    // Per-frame labels, built without allocating
+    private final HudText timeText = new HudText();
+    private final HudText boostText = new HudText();
 
     // SYSTEM
-    public TileManager tileM;
-    public KeyHandler keyH = new KeyHandler(this);
-    public CollisionChecker cChecker;
-    public AssetSetter aSetter;
+    public KeyHandler keyH;
+    public InputQueue input = new InputQueue(256); // EDT -> game thread
     public UI ui;
-    public Sound sound = new Sound();
+    public Sound sound;
     Thread gameThread;
 
-    // ENTITY AND OBJECT
-    public Player player;
-    public SuperObject obj[] = new SuperObject[10];
-    public Entity npc[] = new Entity[10];
-
-    // Speed boost timer
-    private long speedBoostEndTime = 0;
-    private int originalSpeed = 4;
-
-    // Level progression
-    public int currentLevel = 1;
-    public final int MAX_LEVEL = 10; // Maximum level limit
-    public String[] availableMaps = {"worldmap001", "worldmap002", "worldmap02"};
-    public String currentMap = "";
-
-    // Level timer
-    private long levelStartTime;
-    private int levelTimeLimit; // in milliseconds
-    private boolean levelTimerActive = true;
-
-    // GAME STATE
-    public final int titleState = 0;
-    public final int playState = 1;
-    public final int pauseState = 2;
-    public final int wirePuzzleState = 3;
-    public final int levelCompleteState = 4;
-    public final int gameOverState = 5; // New state for time out
-    public final int settingsState = 6; // Settings state
-
-    public int gameState = playState;
-
     // Minigame instance
     public WirePuzzleMinigame wirePuzzle;
 
     public GamePanel() {
+        keyH = new KeyHandler(this);
+        world = new GameWorld(keyH);
+        world.listener = this;
+
+        tileSize = world.tileSize;
+        maxScreenCol = world.maxScreenCol;
+        maxScreenRow = world.maxScreenRow;
+        screenWidth = world.screenWidth;
+        screenHeight = world.screenHeight;
+        overlay = new OverlayRenderer(screenWidth, screenHeight);
+
+        // Timer box with room for its border; level text across the middle half of the top
+        timerWidget = new HudWidget(screenWidth - TIMER_RIGHT - WIDGET_PAD, TIMER_Y - WIDGET_PAD,
+                TIMER_WIDTH + 2 * WIDGET_PAD, TIMER_HEIGHT + 2 * WIDGET_PAD, this::drawTimerFrame);
+        levelWidget = new HudWidget(screenWidth / 4, 0, screenWidth / 2,
+                LEVEL_BASELINE + LEVEL_FONT / 4, this::drawLevelText);
+        boostWidget = new HudWidget(screenWidth / 2 - BOOST_INDENT - TEXT_PAD,
+                screenHeight - BOOST_RISE - BOOST_FONT - TEXT_PAD, BOOST_WIDTH,
+                BOOST_FONT + 2 * TEXT_PAD, this::drawBoostText);
+        boostRegions = new Region[] {
+                new Region(boostWidget.x, boostWidget.y, boostWidget.width, boostWidget.height,
+                        () -> world.isSpeedBoostActive() ? world.getRemainingBoostTime() + 1 : 0, this::drawBoostRegion)
+        };
+
         this.setPreferredSize(new Dimension(screenWidth, screenHeight));
         this.setBackground(Color.black);
         this.setDoubleBuffered(true);
+        this.setLayout(new BorderLayout());
 
-        keyH = new KeyHandler(this);
         this.addKeyListener(keyH);
         this.setFocusable(true);
 
-        cChecker = new CollisionChecker(this);
-        aSetter = new AssetSetter(this);
+        displayRefreshRate = FramePacer.getDisplayRefreshRate(DEFAULT_FPS);
+        framePacer.setTargetFPS(displayRefreshRate);
+        System.out.println("Display refresh rate: " + displayRefreshRate + " Hz");
+
         ui = new UI(this);
         sound = new Sound(); // Initialize sound
 
-        loadRandomMap();
-
-        player = new Player(this, keyH);
         wirePuzzle = new WirePuzzleMinigame(this);
 
-        this.addMouseListener(new MouseAdapter() {
+        // Mouse input is queued like keys and handled in handleInput()
+        MouseAdapter mouseH = new MouseAdapter() {
             @Override
             public void mousePressed(MouseEvent e) {
-                if (gameState == wirePuzzleState) {
-                    wirePuzzle.handleMousePress(e.getX(), e.getY());
-                }
+                input.pushMouse(InputQueue.MOUSE_PRESSED, toFrameX(e.getX()), toFrameY(e.getY()));
             }
 
             @Override
             public void mouseReleased(MouseEvent e) {
-                if (gameState == wirePuzzleState) {
-                    wirePuzzle.handleMouseRelease(e.getX(), e.getY());
-                }
+                input.pushMouse(InputQueue.MOUSE_RELEASED, toFrameX(e.getX()), toFrameY(e.getY()));
             }
-        });
 
-        this.addMouseMotionListener(new MouseAdapter() {
             @Override
             public void mouseDragged(MouseEvent e) {
-                if (gameState == wirePuzzleState) {
-                    wirePuzzle.handleMouseDrag(e.getX(), e.getY());
-                }
+                input.pushMouse(InputQueue.MOUSE_DRAGGED, toFrameX(e.getX()), toFrameY(e.getY()));
             }
-        });
-
-        originalSpeed = player.speed;
-
-        // Initialize level timer
-        initializeLevelTimer();
+        };
+        this.addMouseListener(mouseH);
+        this.addMouseMotionListener(mouseH);
+
+        // Active rendering surface - gets the same input as the panel
+        canvas = new GameCanvas(this);
+        canvas.addKeyListener(keyH);
+        canvas.addMouseListener(mouseH);
+        canvas.addMouseMotionListener(mouseH);
+        if (activeRendering) {
+            this.add(canvas, BorderLayout.CENTER);
+        }
 
         // ADD THIS LINE AT THE END OF CONSTRUCTOR:
         sound.loop(0); // Start background music
     }
 
-    void initializeLevelTimer() {
-        // Calculate time for current level
-        // Level 1: 7 minutes = 420 seconds
-        // Each level decreases by 30 seconds
-        // Level 10: 420 - (9 * 30) = 420 - 270 = 150 seconds = 2.5 minutes
-        int seconds = 420 - ((currentLevel - 1) * 30);
-        levelTimeLimit = seconds * 1000; // Convert to milliseconds
-        levelStartTime = System.currentTimeMillis();
-        levelTimerActive = true;
-
-        System.out.println("Level " + currentLevel + " Timer: " + seconds + " seconds");
-    }
-
-    public long getRemainingLevelTime() {
-        if (!levelTimerActive || gameState != playState) {
-            return 0;
-        }
-
-        long elapsed = System.currentTimeMillis() - levelStartTime;
-        long remaining = levelTimeLimit - elapsed;
-
-        return Math.max(0, remaining);
-    }
-
-    public String getFormattedTime() {
-        long remainingMillis = getRemainingLevelTime();
-        if (remainingMillis <= 0) {
-            return "00:00";
-        }
-
-        int totalSeconds = (int)(remainingMillis / 1000);
-        int minutes = totalSeconds / 60;
-        int seconds = totalSeconds % 60;
-
-        return String.format("%02d:%02d", minutes, seconds);
-    }
-
-    private void checkLevelTimer() {
-        if (levelTimerActive && gameState == playState) {
-            if (getRemainingLevelTime() <= 0) {
-                // Time's up! Go to game over state
-                levelTimerActive = false;
-                gameState = gameOverState;
-                System.out.println("TIME'S UP! Level " + currentLevel + " failed!");
-            }
-        }
-    }
-
     private void drawLevelTimer(Graphics2D g2) {
         // Only draw in play state
-        if (gameState == playState) {
+        if (world.gameState == GameWorld.playState) {
             // Position timer vertically centered between tools and post icon
-            int timerX = screenWidth - 220; // Adjusted from 220 to 120
-            int timerY = 25; // Between post icon (y=20) and tools (y=60)
-
-            // Timer background
-            g2.setColor(new Color(30, 30, 40, 200));
-            g2.fillRoundRect(timerX, timerY, 100, 40, 10, 10);
+            int timerX = screenWidth - TIMER_RIGHT;
+            int timerY = TIMER_Y;
 
-            // Timer border
-            g2.setColor(new Color(255, 215, 0, 150));
-            g2.setStroke(new BasicStroke(2));
-            g2.drawRoundRect(timerX, timerY, 100, 40, 10, 10);
+            // Box and label are cached; only the digits are drawn every frame
+            timerWidget.draw(g2, quality.antialias() ? 1 : 0);
 
             // Timer text
-            String timeText = getFormattedTime();
-            g2.setFont(new Font("Arial", Font.BOLD, 16));
+            world.formatTime(timeText);
+            g2.setFont(RenderResources.font(Font.BOLD, 16));
 
             // Color based on remaining time
-            long remainingMillis = getRemainingLevelTime();
+            long remainingMillis = world.getRemainingLevelTime();
             int totalSeconds = (int)(remainingMillis / 1000);
 
             if (totalSeconds > 60) {
@@ -213,173 +206,304 @@ public class GamePanel extends JPanel implements Runnable {
                 g2.setColor(Color.YELLOW);
             } else {
                 // Blinking red effect when time is low
-                boolean blinkOn = (System.currentTimeMillis() / 500) % 2 == 0;
-                g2.setColor(blinkOn ? Color.RED : new Color(255, 100, 100));
+                boolean blinkOn = (world.clock.millis() / 500) % 2 == 0;
+                g2.setColor(blinkOn ? Color.RED : RenderResources.color(255, 100, 100));
             }
 
             FontMetrics fm = g2.getFontMetrics();
-            int textWidth = fm.stringWidth(timeText);
-            g2.drawString(timeText, timerX + (100 - textWidth) / 2, timerY + 25);
-
-            // Draw "TIME" label above timer
-            g2.setColor(Color.WHITE);
-            g2.setFont(new Font("Arial", Font.BOLD, 10));
-            String label = "LEVEL TIME";
-            int labelWidth = g2.getFontMetrics().stringWidth(label);
-            g2.drawString(label, timerX + (100 - labelWidth) / 2, timerY + 12);
+            int textWidth = timeText.width(fm);
+            timeText.draw(g2, timerX + (TIMER_WIDTH - textWidth) / 2, timerY + 25);
         }
     }
 
-    void loadRandomMap() {
-        int mapIndex = (int)(Math.random() * availableMaps.length);
-        currentMap = availableMaps[mapIndex];
-        tileM = new TileManager(this, currentMap);
-
-        System.out.println("Loading Level " + currentLevel + " with map: " + currentMap);
-    }
-
-    public void advanceToNextLevel() {
-        if (currentLevel >= MAX_LEVEL) {
-            // Game completed!
-            System.out.println("CONGRATULATIONS! You completed all " + MAX_LEVEL + " levels!");
-            gameState = gameOverState;
-            return;
-        }
-
-        currentLevel++;
-        loadRandomMap();
-        aSetter.setObject();
-        aSetter.setNPC();
-        gameState = playState;
-
-        // Reset player
-        player.setDefaultValues();
-        player.resetTools();
+    private void drawTimerFrame(Graphics2D g2) {
+        int timerX = screenWidth - TIMER_RIGHT;
+        int timerY = TIMER_Y;
 
-        // Reset the wire puzzle for new level
-        wirePuzzle.resetPuzzle();
+        // Timer background
+        g2.setColor(RenderResources.color(30, 30, 40, 200));
+        g2.fillRoundRect(timerX, timerY, TIMER_WIDTH, TIMER_HEIGHT, 10, 10);
 
-        // Reset level timer for new level
-        initializeLevelTimer();
+        // Timer border
+        g2.setColor(RenderResources.color(255, 215, 0, 150));
+        g2.setStroke(RenderResources.STROKE_2);
+        g2.drawRoundRect(timerX, timerY, TIMER_WIDTH, TIMER_HEIGHT, 10, 10);
 
-        System.out.println("Advanced to Level " + currentLevel);
+        // Draw "TIME" label above timer
+        g2.setColor(Color.WHITE);
+        g2.setFont(RenderResources.font(Font.BOLD, 10));
+        String label = "LEVEL TIME";
+        int labelWidth = g2.getFontMetrics().stringWidth(label);
+        g2.drawString(label, timerX + (TIMER_WIDTH - labelWidth) / 2, timerY + 12);
     }
 
-    public void postRepaired() {
-        sound.play(4); // Play level complete sound
+    public void setupGame() {
+        world.setupGame();
 
-        gameState = levelCompleteState;
+        world.gameState = GameWorld.titleState;
+    }
 
-        System.out.println("Level " + currentLevel + " complete! Advancing to next level...");
-        gameState = levelCompleteState;
+    // GameWorld.Listener
+    @Override
+    public void playSound(int index) {
+        sound.play(index);
+    }
 
-        new java.util.Timer().schedule(
-                new java.util.TimerTask() {
-                    @Override
-                    public void run() {
-                        advanceToNextLevel();
-                    }
-                },
-                3000
-        );
+    @Override
+    public void showMessage(String message) {
+        ui.showMessage(message);
     }
 
-    public void setupGame() {
-        aSetter.setObject();
-        aSetter.setNPC();
+    @Override
+    public void wirePuzzleStarted() {
+        wirePuzzle.start();
+    }
 
-        gameState = titleState;
+    @Override
+    public void levelLoaded() {
+        wirePuzzle.resetPuzzle();
     }
 
     public void startGameThread() {
+        if (activeRendering) {
+            canvas.requestFocusInWindow();
+        }
         gameThread = new Thread(this);
         gameThread.start();
     }
 
+    public int getFPS() {
+        return framePacer.getTargetFPS();
+    }
+
+    public void setFPS(int fps) {
+        framePacer.setTargetFPS(fps);
+        System.out.println("Target FPS: " + framePacer.getTargetFPS());
+    }
+
+    public void cycleFPS() {
+        int next = fpsOptions[0];
+        for (int i = 0; i < fpsOptions.length; i++) {
+            if (fpsOptions[i] > getFPS()) {
+                next = fpsOptions[i];
+                break;
+            }
+        }
+        setFPS(next);
+    }
+
     @Override
     public void run() {
-        double drawInterval = 1000000000/FPS;
-        double delta = 0;
         long lastTime = System.nanoTime();
-        long currentTime;
-        long timer = 0;
-        int drawCount = 0;
+        long accumulator = 0;
 
         while(gameThread != null) {
-            currentTime = System.nanoTime();
-
-            delta += (currentTime - lastTime) / drawInterval;
-            timer += (currentTime - lastTime);
+            long currentTime = System.nanoTime();
+            accumulator += (long) ((currentTime - lastTime) * world.clock.getTimeScale());
             lastTime = currentTime;
 
-            if(delta >= 1) {
+            // Run as many fixed steps as the elapsed time asks for, up to the cap
+            int updates = 0;
+            while (accumulator >= UPDATE_INTERVAL && updates < MAX_UPDATES_PER_FRAME) {
                 update();
-                repaint();
-                delta--;
-                drawCount++;
+                accumulator -= UPDATE_INTERVAL;
+                updates++;
+            }
+            if (accumulator >= UPDATE_INTERVAL) {
+                // Too far behind to catch up - drop the backlog instead of spiralling
+                accumulator %= UPDATE_INTERVAL;
+            }
+
+            renderAlpha = (float) accumulator / UPDATE_INTERVAL;
+            presentFrame();
+
+            // Sleep until the next frame is due instead of spinning
+            framePacer.sync();
+        }
+    }
+
+    private void presentFrame() {
+        if (activeRendering) {
+            long requested = System.nanoTime();
+            if (canvas.renderFrame()) {
+                long now = System.nanoTime();
+                activeLatency.add(now, (now - requested) / 1_000_000.0);
+                if (lastActivePresent != 0) {
+                    activeFrames.add(now, (now - lastActivePresent) / 1_000_000.0);
+                }
+                lastActivePresent = now;
+                return;
+            }
+            if (canvas.hasFailed()) {
+                setActiveRendering(false); // fall back to the Swing path
             }
         }
+
+        // Passive: keep the oldest pending request so coalesced repaints show up as latency
+        repaintRequestTime.compareAndSet(0, System.nanoTime());
+        repaint();
+    }
+
+    public void setLowResolution(boolean low) {
+        lowResolution = low;
+        System.out.println("World resolution: " + (low ? (tileSize / world.scale) + " px (low)" : tileSize + " px"));
+    }
+
+    // Fills the screen with the window, or puts it back
+    public void toggleFullscreen() {
+        SwingUtilities.invokeLater(() -> {
+            Window window = SwingUtilities.getWindowAncestor(this);
+            if (!(window instanceof JFrame)) {
+                return;
+            }
+            JFrame frame = (JFrame) window;
+            GraphicsDevice device = frame.getGraphicsConfiguration().getDevice();
+            boolean full = device.getFullScreenWindow() != frame;
+            frame.dispose(); // decorations can only change while the window isn't shown
+            frame.setUndecorated(full);
+            device.setFullScreenWindow(full ? frame : null);
+            if (!full) {
+                frame.pack();
+                frame.setLocationRelativeTo(null);
+            }
+            frame.setVisible(true);
+            (activeRendering ? canvas : this).requestFocusInWindow();
+            System.out.println("Fullscreen: " + (full ? "on" : "off"));
+        });
+    }
+
+    public void setActiveRendering(boolean active) {
+        activeRendering = active;
+        SwingUtilities.invokeLater(() -> {
+            if (active) {
+                if (canvas.getParent() == null) {
+                    add(canvas, BorderLayout.CENTER);
+                }
+                revalidate();
+                canvas.requestFocusInWindow();
+            } else {
+                remove(canvas);
+                revalidate();
+                repaint();
+                requestFocusInWindow();
+            }
+        });
+        System.out.println("Render path: " + (active ? "active (BufferStrategy)" : "passive (repaint)"));
     }
 
     public void update() {
-        checkSpeedBoost();
-        checkLevelTimer(); // Check if time's up
+        input.drain(this); // apply input before simulating the tick
+        world.update();
 
-        switch(gameState) {
-            case playState:
-                player.update();
+        if (world.gameState == GameWorld.wirePuzzleState) {
+            wirePuzzle.update();
+        }
+    }
 
-                for (int i = 0; i < npc.length; i++) {
-                    if (npc[i] != null) {
-                        npc[i].update();
-                    }
+    // InputQueue.Handler - runs on the game thread
+    @Override
+    public void handleInput(int type, int a, int b) {
+        switch (type) {
+            case InputQueue.KEY_PRESSED:
+                keyH.handleKeyPressed(a);
+                break;
+            case InputQueue.KEY_RELEASED:
+                keyH.handleKeyReleased(a);
+                break;
+            case InputQueue.MOUSE_PRESSED:
+                if (world.gameState == GameWorld.wirePuzzleState) {
+                    wirePuzzle.handleMousePress(a, b);
                 }
                 break;
-
-            case wirePuzzleState:
-                wirePuzzle.update();
+            case InputQueue.MOUSE_RELEASED:
+                if (world.gameState == GameWorld.wirePuzzleState) {
+                    wirePuzzle.handleMouseRelease(a, b);
+                }
                 break;
-
-            case levelCompleteState:
-                // Nothing to update
+            case InputQueue.MOUSE_DRAGGED:
+                if (world.gameState == GameWorld.wirePuzzleState) {
+                    wirePuzzle.handleMouseDrag(a, b);
+                }
                 break;
+        }
+    }
 
-            case gameOverState:
-                // Game over screen
-                break;
+    public void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        if (activeRendering && canvas.getParent() != null) {
+            return; // the canvas covers us
+        }
 
-            case settingsState:
-                // Settings screen
-                break;
+        renderFitted((Graphics2D)g, getWidth(), getHeight());
+
+        // Make sure the frame reaches the screen before we stop the clock
+        Toolkit.getDefaultToolkit().sync();
+        long now = System.nanoTime();
+        long requested = repaintRequestTime.getAndSet(0);
+        if (requested != 0) {
+            passiveLatency.add(now, (now - requested) / 1_000_000.0);
+        }
+        if (lastPassivePresent != 0) {
+            passiveFrames.add(now, (now - lastPassivePresent) / 1_000_000.0);
         }
+        lastPassivePresent = now;
+    }
+
+    // Draws one complete frame; used by both render paths
+    public void render(Graphics2D g2) {
+        long renderStart = System.nanoTime();
+        quality.applyHints(g2);
+
+        drawScene(g2);
+        world.atlas.endFrame();
+
+        quality.frameRendered(System.nanoTime(), System.nanoTime() - renderStart, framePacer.getFrameInterval());
     }
 
-    private void checkSpeedBoost() {
-        if (speedBoostEndTime > 0 && System.currentTimeMillis() > speedBoostEndTime) {
-            player.speed = originalSpeed;
-            speedBoostEndTime = 0;
-            System.out.println("Speed boost expired!");
+    // Renders the frame scaled to fit a width x height surface, centred, with
+    // black bars. In low resolution mode the scale is a whole number of native
+    // pixels so the 16 px world stays sharp; otherwise the frame just fits.
+    public void renderFitted(Graphics2D g2, int width, int height) {
+        double scale;
+        if (lowResolution) {
+            int pixelScale = Math.max(1, Math.min(width / (screenWidth / world.scale), height / (screenHeight / world.scale)));
+            scale = (double) pixelScale / world.scale;
+        } else {
+            scale = Math.min((double) width / screenWidth, (double) height / screenHeight);
+        }
+        int x = (int) ((width - screenWidth * scale) / 2);
+        int y = (int) ((height - screenHeight * scale) / 2);
+        viewScale = scale;
+        viewX = x;
+        viewY = y;
+
+        if (scale == 1 && x == 0 && y == 0) {
+            render(g2); // the usual 768x576 window
+            return;
         }
+        Graphics2D fitted = (Graphics2D) g2.create();
+        fitted.translate(x, y);
+        fitted.scale(scale, scale);
+        fitted.clipRect(0, 0, screenWidth, screenHeight);
+        render(fitted);
+        fitted.dispose();
     }
 
-    public void activateSpeedBoost(int durationSeconds) {
-        player.speed += 2;
-        speedBoostEndTime = System.currentTimeMillis() + (durationSeconds * 1000);
-        System.out.println("Speed boost activated for " + durationSeconds + " seconds!");
+    // Window position -> frame position (mouse input)
+    public int toFrameX(int x) {
+        return (int) ((x - viewX) / viewScale);
     }
 
-    public int getRemainingBoostTime() {
-        if (speedBoostEndTime == 0) return 0;
-        long remaining = speedBoostEndTime - System.currentTimeMillis();
-        return (int) Math.max(0, remaining / 1000);
+    public int toFrameY(int y) {
+        return (int) ((y - viewY) / viewScale);
     }
 
-    public void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        Graphics2D g2 = (Graphics2D)g;
+    private void drawScene(Graphics2D g2) {
+        world.interpolation = renderAlpha;
 
         // TITLE SCREEN
-        if(gameState == titleState) {
+        if(world.gameState == GameWorld.titleState) {
+            overlay.reset();
             ui.draw(g2);
             return;
         }
@@ -389,66 +513,158 @@ public class GamePanel extends JPanel implements Runnable {
             drawStart = System.nanoTime();
         }
 
-        switch(gameState) {
-            case playState:
-            case pauseState:
-                tileM.draw(g2);
+        Region[] regions = getOverlayRegions(world.gameState);
+        if (regions != null) {
+            // Still screen: the snapshot plus whatever changed since the last frame
+            overlay.draw(g2, world.gameState, getOverlayVersion(), overlayComposer, regions);
+        } else {
+            overlay.reset();
+            drawFrame(g2);
+        }
+
+        if(keyH.checkDrawTime == true) {
+            long drawEnd = System.nanoTime();
+            lastDrawTime = drawEnd - drawStart;
+            drawRenderStats(g2);
+        }
 
-                for (int i = 0; i < obj.length; i++) {
-                    if (obj[i] != null) {
-                        obj[i].draw(g2, this);
-                    }
-                }
+        if(keyH.showSprites == true) {
+            drawSpriteDiagnostics(g2);
+        }
+    }
 
-                for (int i = 0; i < npc.length; i++) {
-                    if (npc[i] != null) {
-                        npc[i].draw(g2);
-                    }
-                }
+    // The regions of an overlay screen that can change while it's up, or null if the state isn't an overlay
+    private Region[] getOverlayRegions(int state) {
+        switch (state) {
+            case GameWorld.pauseState:
+            case GameWorld.levelCompleteState:
+                return boostRegions;
+            case GameWorld.gameOverState:
+            case GameWorld.settingsState:
+                return NO_REGIONS;
+            default:
+                return null;
+        }
+    }
+
+    // Everything an overlay snapshot shows that can change without the state changing
+    private long getOverlayVersion() {
+        return quality.getLevel() | (quality.isLocked() ? 16 : 0) | world.currentLevel << 5 | (long) getFPS() << 16
+                | (lowResolution ? 1L << 32 : 0) | (world.lighting.enabled ? 1L << 33 : 0);
+    }
+
+    // The full frame of an overlay screen, without its regions, for the snapshot
+    private void composeOverlay(Graphics2D g2) {
+        composingOverlay = true;
+        float interpolation = world.interpolation;
+        world.interpolation = 1; // where things come to rest once the frozen world has ticked
+        drawFrame(g2);
+        world.interpolation = interpolation;
+        composingOverlay = false;
+    }
+
+    private void drawBoostRegion(Graphics2D g2) {
+        int remaining = world.getRemainingBoostTime();
+        if (world.isSpeedBoostActive() && remaining > 0) {
+            boostWidget.draw(g2, (quality.antialias() ? 1 : 0) | remaining << 1);
+        }
+    }
+
+    // Tiles, objects, NPCs and the player, all placed by the camera, then the blackout.
+    // The blackout works on pixels, so with it on the world is drawn into an int[] first.
+    private void drawWorld(Graphics2D g2) {
+        if (lowResolution) {
+            // World pixels at 1/scale: the atlas's 16 px copies of the art, drawn 1:1
+            // at camera positions divided down by the scale
+            if (lowResBuffer == null) {
+                lowResBuffer = new BufferedImage(screenWidth / world.scale, screenHeight / world.scale, BufferedImage.TYPE_INT_RGB);
+                lowResPixels = ((DataBufferInt) lowResBuffer.getRaster().getDataBuffer()).getData();
+                lowResGraphics = lowResBuffer.createGraphics();
+                lowResGraphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+            }
+            int lowWidth = lowResBuffer.getWidth();
+            int lowHeight = lowResBuffer.getHeight();
+            lowResGraphics.setColor(Color.black);
+            lowResGraphics.fillRect(0, 0, lowWidth, lowHeight);
+            world.camera.setPixelScale(world.scale);
+            drawWorldLayer(lowResGraphics, lowResPixels, lowWidth, lowHeight);
+            world.camera.setPixelScale(1);
+            world.lighting.draw(lowResPixels, lowWidth, lowHeight);
+
+            Object interpolation = g2.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
+            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+            g2.drawImage(lowResBuffer, 0, 0, screenWidth, screenHeight, null);
+            if (interpolation != null) {
+                g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+            }
+            return;
+        }
+        if (!world.lighting.enabled) {
+            drawWorldLayer(g2, null, 0, 0);
+            return;
+        }
+
+        if (worldBuffer == null) {
+            worldBuffer = new BufferedImage(screenWidth, screenHeight, BufferedImage.TYPE_INT_RGB);
+            worldPixels = ((DataBufferInt) worldBuffer.getRaster().getDataBuffer()).getData();
+            worldGraphics = worldBuffer.createGraphics();
+        }
+        quality.applyHints(worldGraphics);
+        worldGraphics.setColor(Color.black);
+        worldGraphics.fillRect(0, 0, screenWidth, screenHeight);
+        drawWorldLayer(worldGraphics, worldPixels, screenWidth, screenHeight);
+        world.lighting.draw(worldPixels, screenWidth, screenHeight);
+        g2.drawImage(worldBuffer, 0, 0, null);
+    }
+
+    // pixels is g2's int[] backbuffer (width x height), or null when it has none
+    private void drawWorldLayer(Graphics2D g2, int[] pixels, int width, int height) {
+        Camera camera = world.camera;
+        camera.beginFrame(world.interpolation);
+        camera.pushTransform(g2);
+
+        world.tileM.draw(g2, pixels, width, height);
+
+        for (int i = 0; i < world.objects.size(); i++) {
+            world.objects.viewAt(i).draw(g2, world);
+        }
+
+        for (int i = 0; i < world.npcs.size(); i++) {
+            world.npcs.viewAt(i).draw(g2);
+        }
+
+        world.player.draw(g2);
+        camera.popTransform(g2);
+    }
 
-                player.draw(g2);
+    // Draws one frame of every state except the title screen
+    private void drawFrame(Graphics2D g2) {
+        switch(world.gameState) {
+            case GameWorld.playState:
+            case GameWorld.pauseState:
+                drawWorld(g2);
                 break;
 
-            case wirePuzzleState:
+            case GameWorld.wirePuzzleState:
                 wirePuzzle.draw(g2);
                 break;
 
-            case levelCompleteState:
+            case GameWorld.levelCompleteState:
+                // Draw game behind level complete - the repaired post's light shows here
+                drawWorld(g2);
                 drawLevelCompleteScreen(g2);
                 break;
 
-            case gameOverState:
+            case GameWorld.gameOverState:
                 // Draw game behind game over
-                tileM.draw(g2);
-                for (int i = 0; i < obj.length; i++) {
-                    if (obj[i] != null) {
-                        obj[i].draw(g2, this);
-                    }
-                }
-                for (int i = 0; i < npc.length; i++) {
-                    if (npc[i] != null) {
-                        npc[i].draw(g2);
-                    }
-                }
-                player.draw(g2);
+                drawWorld(g2);
                 ui.draw(g2);
                 drawGameOverScreen(g2); // Draw game over overlay
                 break;
 
-            case settingsState:
+            case GameWorld.settingsState:
                 // Draw game behind settings
-                tileM.draw(g2);
-                for (int i = 0; i < obj.length; i++) {
-                    if (obj[i] != null) {
-                        obj[i].draw(g2, this);
-                    }
-                }
-                for (int i = 0; i < npc.length; i++) {
-                    if (npc[i] != null) {
-                        npc[i].draw(g2);
-                    }
-                }
-                player.draw(g2);
+                drawWorld(g2);
                 ui.draw(g2);
                 drawSettingsScreen(g2); // Draw settings overlay
                 break;
@@ -456,66 +672,156 @@ public class GamePanel extends JPanel implements Runnable {
 
         ui.draw(g2);
 
-        if(gameState == pauseState) {
+        if(world.gameState == GameWorld.pauseState) {
             ui.drawPauseScreen(g2);
         }
 
         // Draw level timer only if not in wire puzzle state
-        if (gameState != wirePuzzleState && gameState != settingsState && gameState != gameOverState) {
+        if (world.gameState != GameWorld.wirePuzzleState && world.gameState != GameWorld.settingsState && world.gameState != GameWorld.gameOverState) {
             drawLevelTimer(g2);
         }
 
         drawLevelInfo(g2);
 
-        if (speedBoostEndTime > 0 && gameState != wirePuzzleState && gameState != settingsState && gameState != gameOverState) {
-            int remaining = getRemainingBoostTime();
+        // Over a still screen the countdown is one of the overlay's regions
+        if (!composingOverlay && world.isSpeedBoostActive() && world.gameState != GameWorld.wirePuzzleState && world.gameState != GameWorld.settingsState && world.gameState != GameWorld.gameOverState) {
+            int remaining = world.getRemainingBoostTime();
             if (remaining > 0) {
-                g2.setColor(Color.YELLOW);
-                g2.setFont(new Font("Arial", Font.BOLD, 14));
-                g2.drawString("Speed Boost: " + remaining + "s", 330, 500);
+                // Its own font would be a second font switch every frame
+                boostWidget.draw(g2, (quality.antialias() ? 1 : 0) | remaining << 1);
             }
         }
+    }
+
+    // Every prepared image as a thumbnail: green border = accelerated, red = not (yet)
+    private void drawSpriteDiagnostics(Graphics2D g2) {
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        int count = UtilityTool.getPreparedCount();
+        int perRow = 18;
+        int rows = (count + perRow - 1) / perRow;
+
+        g2.setColor(RenderResources.color(0, 0, 0, 200));
+        g2.fillRect(0, 0, screenWidth, 40 + rows * 40);
+
+        int accelerated = 0;
+        int[] byTransparency = new int[4];
+        for (int i = 0; i < count; i++) {
+            BufferedImage image = UtilityTool.getPreparedImage(i);
+            int x = 24 + (i % perRow) * 40;
+            int y = 32 + (i / perRow) * 40;
+            g2.drawImage(image, x, y, 32, 32, null);
+
+            boolean fast = UtilityTool.isAccelerated(image, gc);
+            if (fast) accelerated++;
+            byTransparency[image.getTransparency()]++;
+            g2.setColor(fast ? Color.green : Color.red);
+            g2.drawRect(x - 2, y - 2, 35, 35);
+        }
 
-        if(keyH.checkDrawTime == true) {
-            long drawEnd = System.nanoTime();
-            long passed = drawEnd - drawStart;
-            g2.setColor(Color.white);
-            g2.drawString("Draw Time: " + passed, 10, 400);
+        g2.setFont(RenderResources.font(Font.PLAIN, 12));
+        g2.setColor(Color.white);
+        g2.drawString(String.format("Sprites: %d prepared, %d accelerated  (%d opaque, %d bitmask, %d translucent)",
+                count, accelerated, byTransparency[Transparency.OPAQUE], byTransparency[Transparency.BITMASK],
+                byTransparency[Transparency.TRANSLUCENT]), 24, 20);
+    }
+
+    public void printSpriteReport() {
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        System.out.println("=== Prepared images ===");
+        for (int i = 0; i < UtilityTool.getPreparedCount(); i++) {
+            BufferedImage image = UtilityTool.getPreparedImage(i);
+            System.out.println(String.format("%-36s %4dx%-4d %-11s type %2d  %s", UtilityTool.getPreparedName(i),
+                    image.getWidth(), image.getHeight(), UtilityTool.transparencyName(image.getTransparency()),
+                    image.getType(), UtilityTool.isAccelerated(image, gc) ? "accelerated" : "not accelerated"));
         }
     }
 
+    private void drawRenderStats(Graphics2D g2) {
+        g2.setFont(RenderResources.font(Font.PLAIN, 12));
+        g2.setColor(Color.white);
+        g2.drawString(String.format("Atlas: %d sprites / %d page(s), %d draws: %d sprite switches -> %d page switches",
+                world.atlas.getSpriteCount(), world.atlas.getPageCount(), world.atlas.getFrameDraws(),
+                world.atlas.getFrameSpriteSwitches(), world.atlas.getFramePageSwitches()), 10, 380);
+        g2.drawString("HUD: " + HudWidget.getRedraws() + " widget redraws", 10, 362);
+        if (world.lighting.enabled) {
+            g2.drawString(String.format("Light: %d cells, last update %.3f ms, %d updates, %d post light rebuilds",
+                    world.lighting.getCellCount(), world.lighting.getLastUpdateMs(),
+                    world.lighting.getUpdates(), world.lighting.getPostRebuilds()), 10, 326);
+        }
+        if (getOverlayRegions(world.gameState) != null) {
+            g2.drawString(String.format("Overlay: %d px repainted  (avg %.0f px/frame = %.2f%% of screen, %d snapshots)",
+                    overlay.getLastArea(), overlay.getMeanArea(),
+                    100.0 * overlay.getMeanArea() / overlay.getScreenArea(), overlay.getSnapshots()), 10, 344);
+        }
+        g2.drawString("Draw Time: " + lastDrawTime, 10, 400);
+        g2.drawString(String.format("FPS: %.1f / %d  UPS: %d", framePacer.getAchievedFPS(), getFPS(), UPS), 10, 420);
+        g2.drawString(String.format("Frame: %.2f ms  Jitter: %.2f ms",
+                framePacer.getFrameTimeMean(), framePacer.getFrameTimeJitter()), 10, 440);
+
+        // Both paths side by side; the inactive one keeps its last numbers (B switches)
+        g2.drawString("Path       Latency   Interval   Jitter", 10, 470);
+        g2.setColor(activeRendering ? Color.white : Color.gray);
+        g2.drawString(String.format("Active     %.2f ms   %.2f ms   %.2f ms",
+                activeLatency.getMean(), activeFrames.getMean(), activeFrames.getStdDev()), 10, 488);
+        g2.setColor(activeRendering ? Color.gray : Color.white);
+        g2.drawString(String.format("Passive    %.2f ms   %.2f ms   %.2f ms",
+                passiveLatency.getMean(), passiveFrames.getMean(), passiveFrames.getStdDev()), 10, 506);
+
+        g2.setColor(Color.white);
+        g2.drawString(String.format("Input: %.2f ms  (%.0f/s, %d drags merged, %d dropped)",
+                input.latency.getMean(), input.latency.getRate(), input.getCoalesced(), input.getDropped()), 10, 530);
+        g2.drawString(String.format("Quality: %s%s  (render %.2f ms / budget %.2f ms)",
+                quality.getLevelName(), quality.isLocked() ? " [locked]" : "",
+                quality.getRenderTime(), quality.getBudget()), 10, 548);
+        TileChunkCache chunks = world.tileM.chunkCache;
+        g2.drawString(String.format("Tiles: %d chunks, %.1f / %d MB  (%d hits, %d misses, %d prefetched, %d evicted)",
+                chunks.getChunkCount(), chunks.getBytes() / 1048576.0, chunks.getMaxBytes() / 1048576,
+                chunks.getHits(), chunks.getMisses(), chunks.getPrefetched(), chunks.getEvictions()), 10, 566);
+    }
+
     private void drawLevelInfo(Graphics2D g2) {
         // Only draw level info if not in title state
-        if (gameState != titleState) {
-            // Level display at top center
-            g2.setColor(Color.YELLOW);
-            g2.setFont(new Font("Arial", Font.BOLD, 24));
-            String levelText = "LEVEL " + currentLevel + "/" + MAX_LEVEL;
-            int levelWidth = g2.getFontMetrics().stringWidth(levelText);
-            g2.drawString(levelText, (screenWidth - levelWidth) / 2, 30);
+        if (world.gameState != GameWorld.titleState) {
+            levelWidget.draw(g2, (quality.antialias() ? 1 : 0) | world.currentLevel << 1);
         }
     }
 
+    private void drawLevelText(Graphics2D g2) {
+        // Level display at top center
+        g2.setColor(Color.YELLOW);
+        g2.setFont(RenderResources.font(Font.BOLD, LEVEL_FONT));
+        String levelText = "LEVEL " + world.currentLevel + "/" + world.MAX_LEVEL;
+        int levelWidth = g2.getFontMetrics().stringWidth(levelText);
+        g2.drawString(levelText, (screenWidth - levelWidth) / 2, LEVEL_BASELINE);
+    }
+
+    private void drawBoostText(Graphics2D g2) {
+        g2.setColor(Color.YELLOW);
+        g2.setFont(RenderResources.font(Font.BOLD, BOOST_FONT));
+        boostText.clear().append("Speed Boost: ").append(world.getRemainingBoostTime()).append('s');
+        boostText.draw(g2, screenWidth / 2 - BOOST_INDENT, screenHeight - BOOST_RISE);
+    }
+
     private void drawLevelCompleteScreen(Graphics2D g2) {
-        g2.setColor(new Color(0, 0, 0, 150));
+        g2.setColor(RenderResources.color(0, 0, 0, 150));
         g2.fillRect(0, 0, screenWidth, screenHeight);
 
         g2.setColor(Color.YELLOW);
-        g2.setFont(new Font("Arial", Font.BOLD, 60));
-        String text = "LEVEL " + currentLevel + " COMPLETE!";
+        g2.setFont(RenderResources.font(Font.BOLD, 60));
+        String text = "LEVEL " + world.currentLevel + " COMPLETE!";
         int textWidth = g2.getFontMetrics().stringWidth(text);
         g2.drawString(text, (screenWidth - textWidth) / 2, screenHeight / 2 - 30);
 
         g2.setColor(Color.WHITE);
-        g2.setFont(new Font("Arial", Font.PLAIN, 24));
+        g2.setFont(RenderResources.font(Font.PLAIN, 24));
 
-        if (currentLevel < MAX_LEVEL) {
-            String nextLevelText = "Advancing to Level " + (currentLevel + 1) + "...";
+        if (world.currentLevel < world.MAX_LEVEL) {
+            String nextLevelText = "Advancing to Level " + (world.currentLevel + 1) + "...";
             int nextWidth = g2.getFontMetrics().stringWidth(nextLevelText);
             g2.drawString(nextLevelText, (screenWidth - nextWidth) / 2, screenHeight / 2 + 30);
 
             // Show next level time
-            int nextLevelSeconds = 420 - (currentLevel * 30); // Next level time
+            int nextLevelSeconds = 420 - (world.currentLevel * 30); // Next level time
             String timeText = "Next level time: " + (nextLevelSeconds / 60) + ":" +
                     String.format("%02d", nextLevelSeconds % 60);
             int timeWidth = g2.getFontMetrics().stringWidth(timeText);
@@ -528,28 +834,28 @@ public class GamePanel extends JPanel implements Runnable {
     }
 
     private void drawGameOverScreen(Graphics2D g2) {
-        g2.setColor(new Color(0, 0, 0, 200));
+        g2.setColor(RenderResources.color(0, 0, 0, 200));
         g2.fillRect(0, 0, screenWidth, screenHeight);
 
         // Check if it's time out or game completed
-        boolean isTimeOut = getRemainingLevelTime() <= 0 && levelTimerActive;
+        boolean isTimeOut = world.getRemainingLevelTime() <= 0 && world.isLevelTimerActive();
 
         if (isTimeOut) {
             // Time out screen
             g2.setColor(Color.RED);
-            g2.setFont(new Font("Arial", Font.BOLD, 60));
+            g2.setFont(RenderResources.font(Font.BOLD, 60));
             String text = "TIME'S UP!";
             int textWidth = g2.getFontMetrics().stringWidth(text);
             g2.drawString(text, (screenWidth - textWidth) / 2, screenHeight / 2 - 30);
 
             g2.setColor(Color.WHITE);
-            g2.setFont(new Font("Arial", Font.PLAIN, 24));
-            String levelText = "Level " + currentLevel + " Failed";
+            g2.setFont(RenderResources.font(Font.PLAIN, 24));
+            String levelText = "Level " + world.currentLevel + " Failed";
             int levelWidth = g2.getFontMetrics().stringWidth(levelText);
             g2.drawString(levelText, (screenWidth - levelWidth) / 2, screenHeight / 2 + 30);
 
             // Show retry and quit options
-            g2.setFont(new Font("Arial", Font.PLAIN, 20));
+            g2.setFont(RenderResources.font(Font.PLAIN, 20));
             String retryText = "Press R to Retry Level";
             int retryWidth = g2.getFontMetrics().stringWidth(retryText);
             g2.drawString(retryText, (screenWidth - retryWidth) / 2, screenHeight / 2 + 70);
@@ -557,17 +863,17 @@ public class GamePanel extends JPanel implements Runnable {
             String quitText = "Press Q to Quit";
             int quitWidth = g2.getFontMetrics().stringWidth(quitText);
             g2.drawString(quitText, (screenWidth - quitWidth) / 2, screenHeight / 2 + 100);
-        } else if (currentLevel > MAX_LEVEL) {
+        } else if (world.currentLevel > world.MAX_LEVEL) {
             // Game completed screen
             g2.setColor(Color.YELLOW);
-            g2.setFont(new Font("Arial", Font.BOLD, 60));
+            g2.setFont(RenderResources.font(Font.BOLD, 60));
             String text = "VICTORY!";
             int textWidth = g2.getFontMetrics().stringWidth(text);
             g2.drawString(text, (screenWidth - textWidth) / 2, screenHeight / 2 - 30);
 
             g2.setColor(Color.WHITE);
-            g2.setFont(new Font("Arial", Font.PLAIN, 24));
-            String completeText = "You completed all " + MAX_LEVEL + " levels!";
+            g2.setFont(RenderResources.font(Font.PLAIN, 24));
+            String completeText = "You completed all " + world.MAX_LEVEL + " levels!";
             int completeWidth = g2.getFontMetrics().stringWidth(completeText);
             g2.drawString(completeText, (screenWidth - completeWidth) / 2, screenHeight / 2 + 30);
 
@@ -578,22 +884,23 @@ public class GamePanel extends JPanel implements Runnable {
     }
 
     private void drawSettingsScreen(Graphics2D g2) {
-        g2.setColor(new Color(0, 0, 0, 200));
+        g2.setColor(RenderResources.color(0, 0, 0, 200));
         g2.fillRect(0, 0, screenWidth, screenHeight);
 
-        g2.setFont(new Font("Arial", Font.BOLD, 60));
+        g2.setFont(RenderResources.font(Font.BOLD, 60));
         g2.setColor(Color.YELLOW);
         String text = "SETTINGS";
         int textWidth = g2.getFontMetrics().stringWidth(text);
         g2.drawString(text, (screenWidth - textWidth) / 2, screenHeight / 2 - 100);
 
-        g2.setFont(new Font("Arial", Font.PLAIN, 30));
+        g2.setFont(RenderResources.font(Font.PLAIN, 30));
         g2.setColor(Color.WHITE);
 
         // Menu options
         String[] options = {
                 "R - Restart Level",
                 "L - Back to Lobby",
+                "F - Frame Rate: " + getFPS(),
                 "Q - Quit Game",
                 "ESC - Back to Game"
         };
@@ -607,34 +914,34 @@ public class GamePanel extends JPanel implements Runnable {
 
     public void handleKeyPress(int keyCode) {
         // First handle wire puzzle state
-        if (gameState == wirePuzzleState) {
+        if (world.gameState == GameWorld.wirePuzzleState) {
             wirePuzzle.handleKeyPress(keyCode);
             return;
         }
 
         // Handle ESC key for settings
         if (keyCode == java.awt.event.KeyEvent.VK_ESCAPE) {
-            if (gameState == playState || gameState == pauseState) {
+            if (world.gameState == GameWorld.playState || world.gameState == GameWorld.pauseState) {
                 // Go to settings from play or pause state
-                gameState = settingsState;
-            } else if (gameState == settingsState) {
+                world.gameState = GameWorld.settingsState;
+            } else if (world.gameState == GameWorld.settingsState) {
                 // Return to previous state
-                gameState = playState;
+                world.gameState = GameWorld.playState;
             }
         }
 
         // Handle game over state
-        if (gameState == gameOverState) {
+        if (world.gameState == GameWorld.gameOverState) {
             // Handle game over state keys
             if (keyCode == java.awt.event.KeyEvent.VK_R) {
-                restartGame();
+                world.restartGame();
             } else if (keyCode == java.awt.event.KeyEvent.VK_Q) {
                 System.exit(0);
             }
         }
 
         // Handle settings state
-        if (gameState == settingsState) {
+        if (world.gameState == GameWorld.settingsState) {
             handleSettingsKey(keyCode);
         }
     }
@@ -643,11 +950,11 @@ public class GamePanel extends JPanel implements Runnable {
         switch(keyCode) {
             case java.awt.event.KeyEvent.VK_R:
                 // Restart level
-                restartGame();
+                world.restartGame();
                 break;
             case java.awt.event.KeyEvent.VK_L:
                 // Go back to lobby/title
-                gameState = titleState;
+                world.gameState = GameWorld.titleState;
                 break;
             case java.awt.event.KeyEvent.VK_Q:
                 // Quit game
@@ -655,48 +962,11 @@ public class GamePanel extends JPanel implements Runnable {
                 break;
             case java.awt.event.KeyEvent.VK_ESCAPE:
                 // Go back to game
-                gameState = playState;
+                world.gameState = GameWorld.playState;
                 break;
         }
     }
 
-    void restartGame() {
-        // Reset to level 1
-        currentLevel = 1;
-        loadRandomMap();
-        aSetter.setObject();
-        aSetter.setNPC();
-        gameState = playState;
-
-        // Reset player
-        player.setDefaultValues();
-        player.resetTools();
-
-        // Reset wire puzzle
-        wirePuzzle.resetPuzzle();
-
-        // Reset timer
-        initializeLevelTimer();
-
-        System.out.println("Game restarted to Level 1");
-    }
-
-    public void loadLevel(int level) {
-        currentLevel = level;
-        loadRandomMap();
-        aSetter.setObject();
-        aSetter.setNPC();
-        player.setDefaultValues();
-        player.resetTools();
-        wirePuzzle.resetPuzzle();
-        initializeLevelTimer();
-        gameState = playState;
-        System.out.println("Loaded Level " + currentLevel);
-    }
-
-    public void playSound(int soundToolPickup) {
-    }
-
     public void playBackgroundMusic() {
     }
 }
\ No newline at end of file
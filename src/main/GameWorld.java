@@ -0,0 +1,387 @@
+package main;
+
+import entity.Entity;
+import entity.EntityStore;
+import entity.Player;
+import obj.SuperObject;
+import tile.TileManager;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// Everything the simulation needs, without Swing. GamePanel draws it;
+// HeadlessRunner ticks it with no display at all.
+public class GameWorld {
+
+    //Screen Settings
+    final int originalTileSize = 16;
+    final int scale = 3;
+
+    public final int tileSize = originalTileSize * scale;
+    public final int maxScreenCol = 16;
+    public final int maxScreenRow = 12;
+    public final int screenWidth = tileSize * maxScreenCol;
+    public final int screenHeight = tileSize * maxScreenRow;
+
+    // World Settings
+    public final int maxWorldCol = 50;
+    public final int maxWorldRow = 50;
+    public final int worldWidth = tileSize * maxWorldCol;
+    public final int worldHeight = tileSize * maxWorldRow;
+
+    // Simulation ticks per second
+    public static final int UPS = 60;
+
+    // SOUND INDICES
+    public static final int SOUND_BACKGROUND = 0;
+    public static final int SOUND_TOOL_PICKUP = 1;
+    public static final int SOUND_SPEED_BOOST = 2;
+    public static final int SOUND_PUZZLE_SUCCESS = 3;
+    public static final int SOUND_LEVEL_COMPLETE = 4;
+
+    // RANDOMNESS - map choice, object and NPC placement and NPC wandering all
+    // draw from this, so a seed replays the same game
+    public final Random random;
+    public final long seed;
+
+    // SYSTEM
+    public TextureAtlas atlas = new TextureAtlas(scale); // before tileM: tiles are packed as they load
+    public TileManager tileM;
+    public CollisionChecker cChecker;
+    public AssetSetter aSetter;
+    public Listener listener = new Listener() {};
+    public GameClock clock = new GameClock(UPS);
+    public TaskScheduler scheduler = new TaskScheduler(0);
+    public NpcUpdater npcUpdater = new NpcUpdater();
+    public Camera camera = new Camera(this);
+    public LightMap lighting = new LightMap(this);
+
+    // ENTITY AND OBJECT
+    public Player player;
+    public EntityStore<SuperObject> objects = new EntityStore<>(16); // pickups and posts
+    public EntityStore<Entity> npcs = new EntityStore<>(16);
+
+    // Set by the renderer: how far between the last two updates we are drawing
+    public float interpolation = 1;
+
+    // Speed boost timer
+    private long speedBoostEndTime = 0;
+    private int originalSpeed = 4;
+
+    // Level progression
+    public int currentLevel = 1;
+    public final int MAX_LEVEL = 10; // Maximum level limit
+    public String[] availableMaps = {"worldmap001", "worldmap002", "worldmap02"};
+    public String currentMap = "";
+
+    // Level timer
+    private long levelStartTime;
+    private int levelTimeLimit; // in milliseconds
+    private boolean levelTimerActive = true;
+
+    // Posts repaired this level, lit by the LightMap (world x, y pairs)
+    public int[] repairedPosts = new int[8];
+    public int repairedPostCount = 0;
+    public int postVersion = 0; // moves whenever the list changes
+
+    // Pending "next level" after a repaired post
+    private final Runnable advanceTask = this::advanceToNextLevel;
+    private long advanceHandle = TaskScheduler.NO_TASK;
+
+    // GAME STATE (static so they can be used as case labels outside this class)
+    public static final int titleState = 0;
+    public static final int playState = 1;
+    public static final int pauseState = 2;
+    public static final int wirePuzzleState = 3;
+    public static final int levelCompleteState = 4;
+    public static final int gameOverState = 5; // New state for time out
+    public static final int settingsState = 6; // Settings state
+
+    public int gameState = playState;
+
+    // Hooks for whatever presents the world (sound, messages, the minigame).
+    // All optional - a headless run can ignore them.
+    public interface Listener {
+        default void playSound(int index) {}
+        default void showMessage(String message) {}
+        default void wirePuzzleStarted() {}
+        default void levelLoaded() {}
+    }
+
+    public GameWorld(InputState input) {
+        this(input, System.nanoTime());
+    }
+
+    public GameWorld(InputState input, long seed) {
+        this.seed = seed;
+        random = new Random(seed);
+        cChecker = new CollisionChecker(this);
+        aSetter = new AssetSetter(this);
+
+        loadRandomMap();
+
+        player = new Player(this, input);
+        originalSpeed = player.getSpeed();
+        camera.snap();
+
+        // Initialize level timer
+        initializeLevelTimer();
+    }
+
+    public void setupGame() {
+        aSetter.setObject();
+        aSetter.setNPC();
+        System.out.println(atlas.report());
+    }
+
+    void initializeLevelTimer() {
+        // Calculate time for current level
+        // Level 1: 7 minutes = 420 seconds
+        // Each level decreases by 30 seconds
+        // Level 10: 420 - (9 * 30) = 420 - 270 = 150 seconds = 2.5 minutes
+        int seconds = 420 - ((currentLevel - 1) * 30);
+        levelTimeLimit = seconds * 1000; // Convert to milliseconds
+        levelStartTime = clock.millis();
+        levelTimerActive = true;
+
+        System.out.println("Level " + currentLevel + " Timer: " + seconds + " seconds");
+    }
+
+    public long getRemainingLevelTime() {
+        if (!levelTimerActive || gameState != playState) {
+            return 0;
+        }
+
+        long elapsed = clock.millis() - levelStartTime;
+        long remaining = levelTimeLimit - elapsed;
+
+        return Math.max(0, remaining);
+    }
+
+    public boolean isLevelTimerActive() {
+        return levelTimerActive;
+    }
+
+    public String getFormattedTime() {
+        return formatTime(new HudText()).toString();
+    }
+
+    // MM:SS of the level time left, written into a reused buffer (drawn every frame)
+    public HudText formatTime(HudText text) {
+        text.clear();
+        long remainingMillis = getRemainingLevelTime();
+        if (remainingMillis <= 0) {
+            return text.append("00:00");
+        }
+
+        int totalSeconds = (int)(remainingMillis / 1000);
+        int minutes = totalSeconds / 60;
+        int seconds = totalSeconds % 60;
+
+        if (minutes < 10) text.append('0');
+        return text.append(minutes).append(':').append2(seconds);
+    }
+
+    private void checkLevelTimer() {
+        if (levelTimerActive && gameState == playState) {
+            if (getRemainingLevelTime() <= 0) {
+                // Time's up! Go to game over state
+                levelTimerActive = false;
+                gameState = gameOverState;
+                System.out.println("TIME'S UP! Level " + currentLevel + " failed!");
+            }
+        }
+    }
+
+    void loadRandomMap() {
+        int mapIndex = random.nextInt(availableMaps.length);
+        currentMap = availableMaps[mapIndex];
+        tileM = new TileManager(this, currentMap);
+        repairedPostCount = 0;
+        postVersion++;
+
+        System.out.println("Loading Level " + currentLevel + " with map: " + currentMap);
+    }
+
+    public void advanceToNextLevel() {
+        scheduler.cancel(advanceHandle);
+        advanceHandle = TaskScheduler.NO_TASK;
+
+        if (currentLevel >= MAX_LEVEL) {
+            // Game completed!
+            System.out.println("CONGRATULATIONS! You completed all " + MAX_LEVEL + " levels!");
+            gameState = gameOverState;
+            return;
+        }
+
+        currentLevel++;
+        loadRandomMap();
+        aSetter.setObject();
+        aSetter.setNPC();
+        gameState = playState;
+
+        // Reset player
+        player.setDefaultValues();
+        player.resetTools();
+        camera.snap();
+
+        // Reset the wire puzzle for new level
+        listener.levelLoaded();
+
+        // Reset level timer for new level
+        initializeLevelTimer();
+
+        System.out.println("Advanced to Level " + currentLevel);
+    }
+
+    public void postRepaired() {
+        listener.playSound(SOUND_LEVEL_COMPLETE); // Play level complete sound
+
+        // The post comes back on: keep its light after the object is gone
+        for (int i = 0; i < objects.size(); i++) {
+            SuperObject object = objects.viewAt(i);
+            if ("Post".equals(object.name)) {
+                if (repairedPostCount * 2 == repairedPosts.length) {
+                    repairedPosts = Arrays.copyOf(repairedPosts, repairedPosts.length * 2);
+                }
+                repairedPosts[repairedPostCount * 2] = object.getWorldX();
+                repairedPosts[repairedPostCount * 2 + 1] = object.getWorldY();
+                repairedPostCount++;
+                postVersion++;
+                break;
+            }
+        }
+
+        gameState = levelCompleteState;
+
+        System.out.println("Level " + currentLevel + " complete! Advancing to next level...");
+        gameState = levelCompleteState;
+
+        scheduler.cancel(advanceHandle);
+        advanceHandle = schedule(advanceTask, 3000);
+    }
+
+    // Runs the action on the game thread after the given amount of game time
+    public long schedule(Runnable action, long millis) {
+        return scheduler.schedule(action, clock.ticksFor(millis));
+    }
+
+    public void startWirePuzzle() {
+        gameState = wirePuzzleState;
+        listener.wirePuzzleStarted();
+    }
+
+    // Game time only runs while the player is actually playing
+    public boolean isTimeRunning() {
+        return gameState == playState || gameState == wirePuzzleState || gameState == levelCompleteState;
+    }
+
+    // One fixed simulation step
+    public void update() {
+        if (clock.tick(isTimeRunning())) {
+            scheduler.advanceTo(clock.getTicks()); // run whatever is due this tick
+        }
+
+        // Remember where everything was so drawing can interpolate to the new position
+        player.savePreviousPosition();
+        npcs.savePreviousPositions();
+        camera.savePreviousPosition();
+
+        checkSpeedBoost();
+        checkLevelTimer(); // Check if time's up
+
+        switch(gameState) {
+            case playState:
+                player.update();
+                camera.update();
+
+                npcUpdater.update(this); // in parallel for big crowds
+                break;
+
+            case levelCompleteState:
+                // Nothing to update
+                break;
+
+            case gameOverState:
+                // Game over screen
+                break;
+
+            case settingsState:
+                // Settings screen
+                break;
+        }
+    }
+
+    // Runs the simulation for the given amount of game time without drawing
+    public void fastForward(long millis) {
+        long steps = clock.ticksFor(millis);
+        for (long i = 0; i < steps; i++) {
+            update();
+        }
+    }
+
+    private void checkSpeedBoost() {
+        if (speedBoostEndTime > 0 && clock.millis() > speedBoostEndTime) {
+            player.setSpeed(originalSpeed);
+            speedBoostEndTime = 0;
+            System.out.println("Speed boost expired!");
+        }
+    }
+
+    public void activateSpeedBoost(int durationSeconds) {
+        player.setSpeed(player.getSpeed() + 2);
+        speedBoostEndTime = clock.millis() + (durationSeconds * 1000);
+        System.out.println("Speed boost activated for " + durationSeconds + " seconds!");
+    }
+
+    public boolean isSpeedBoostActive() {
+        return speedBoostEndTime > 0;
+    }
+
+    public int getRemainingBoostTime() {
+        if (speedBoostEndTime == 0) return 0;
+        long remaining = speedBoostEndTime - clock.millis();
+        return (int) Math.max(0, remaining / 1000);
+    }
+
+    void restartGame() {
+        scheduler.cancel(advanceHandle);
+        advanceHandle = TaskScheduler.NO_TASK;
+
+        // Reset to level 1
+        currentLevel = 1;
+        loadRandomMap();
+        aSetter.setObject();
+        aSetter.setNPC();
+        gameState = playState;
+
+        // Reset player
+        player.setDefaultValues();
+        player.resetTools();
+        camera.snap();
+
+        // Reset wire puzzle
+        listener.levelLoaded();
+
+        // Reset timer
+        initializeLevelTimer();
+
+        System.out.println("Game restarted to Level 1");
+    }
+
+    public void loadLevel(int level) {
+        scheduler.cancel(advanceHandle);
+        advanceHandle = TaskScheduler.NO_TASK;
+        currentLevel = level;
+        loadRandomMap();
+        aSetter.setObject();
+        aSetter.setNPC();
+        player.setDefaultValues();
+        player.resetTools();
+        camera.snap();
+        listener.levelLoaded();
+        initializeLevelTimer();
+        gameState = playState;
+        System.out.println("Loaded Level " + currentLevel);
+    }
+}
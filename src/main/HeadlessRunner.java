@@ -0,0 +1,229 @@
+package main;
+
+import obj.SuperObject;
+
+import java.io.PrintStream;
+import java.util.Random;
+
+// Runs the simulation with no window, as fast as the CPU allows.
+// Usage: java -cp <classes>:<project root> main.HeadlessRunner [ticks] [seed] [-verbose]
+// The bot plays for [ticks], then the world is fast-forwarded with nobody at the
+// keys. The whole run is repeated from the same seed and must end in the same state.
+public class HeadlessRunner implements GameWorld.Listener {
+
+    static final long FAST_FORWARD_MILLIS = 60_000;
+
+    GameWorld world;
+    BotInput bot;
+
+    // STATS
+    long ticks = 0;
+    int levelsCompleted = 0;
+    int restarts = 0;
+    boolean postReached = false;
+
+    public HeadlessRunner(long seed) {
+        bot = new BotInput(seed);
+        world = new GameWorld(bot, seed);
+        world.listener = this;
+        bot.world = world;
+
+        world.setupGame();
+        world.gameState = GameWorld.playState;
+    }
+
+    public void tick() {
+        bot.think();
+        world.update();
+        ticks++;
+
+        if (postReached) {
+            postReached = false;
+            levelsCompleted++;
+            if (world.currentLevel >= world.MAX_LEVEL) {
+                world.restartGame();
+            } else {
+                world.advanceToNextLevel();
+            }
+        }
+
+        // Nobody is there to press R - start over straight away
+        if (world.gameState == GameWorld.gameOverState) {
+            restarts++;
+            world.restartGame();
+        }
+    }
+
+    public void run(long tickCount) {
+        for (long i = 0; i < tickCount; i++) {
+            tick();
+        }
+        fastForward();
+    }
+
+    // Lets the world run on its own: the bot lets go of the keys and stops thinking
+    public void fastForward() {
+        bot.upPressed = bot.downPressed = bot.leftPressed = bot.rightPressed = false;
+        world.fastForward(FAST_FORWARD_MILLIS);
+    }
+
+    // Sums up where everything is; two runs from the same seed must agree on it
+    public long fingerprint() {
+        long hash = world.currentMap.hashCode();
+        hash = hash * 31 + world.currentLevel;
+        hash = hash * 31 + world.clock.getTicks();
+        hash = hash * 31 + world.player.getWorldX();
+        hash = hash * 31 + world.player.getWorldY();
+        hash = hash * 31 + world.player.toolsCollected;
+        for (int i = 0; i < world.objects.size(); i++) {
+            int slot = world.objects.slotAt(i);
+            hash = hash * 31 + world.objects.x[slot];
+            hash = hash * 31 + world.objects.y[slot];
+        }
+        for (int i = 0; i < world.npcs.size(); i++) {
+            int slot = world.npcs.slotAt(i);
+            hash = hash * 31 + world.npcs.x[slot];
+            hash = hash * 31 + world.npcs.y[slot];
+        }
+        return hash;
+    }
+
+    // GameWorld.Listener - there is no minigame UI, so a reached post counts as repaired
+    @Override
+    public void wirePuzzleStarted() {
+        postReached = true; // handled after the tick, not in the middle of Player.update
+    }
+
+    public static void main(String[] args) {
+        BenchmarkHarness.headless();
+
+        long tickCount = 1_000_000;
+        long seed = 42;
+        boolean verbose = false;
+        int n = 0;
+        for (String arg : args) {
+            if (arg.equals("-verbose")) {
+                verbose = true;
+            } else if (n == 0) {
+                tickCount = Long.parseLong(arg);
+                n++;
+            } else {
+                seed = Long.parseLong(arg);
+            }
+        }
+
+        // The game logs a lot; keep the report readable
+        PrintStream out = verbose ? System.out : BenchmarkHarness.silence();
+
+        long setupStart = System.nanoTime();
+        HeadlessRunner runner = new HeadlessRunner(seed);
+        long setupTime = System.nanoTime() - setupStart;
+
+        long start = System.nanoTime();
+        for (long i = 0; i < tickCount; i++) {
+            runner.tick();
+        }
+        long elapsed = System.nanoTime() - start;
+        long ffStart = System.nanoTime();
+        runner.fastForward();
+        long ffTime = System.nanoTime() - ffStart;
+
+        // Replay from the same seed
+        HeadlessRunner replay = new HeadlessRunner(seed);
+        replay.run(tickCount);
+        boolean deterministic = replay.fingerprint() == runner.fingerprint();
+
+        BenchmarkHarness.restore();
+        out.println("=== Headless run ===");
+        out.printf("Setup:            %.1f ms%n", setupTime / 1_000_000.0);
+        out.printf("Ticks:            %d in %.1f ms%n", runner.ticks, elapsed / 1_000_000.0);
+        out.printf("Throughput:       %.0f ticks/s (%.1fx real time at %d UPS)%n",
+                runner.ticks * 1e9 / elapsed, runner.ticks * 1e9 / elapsed / GameWorld.UPS, GameWorld.UPS);
+        out.printf("Game time:        %.1f min%n", runner.world.clock.millis() / 60000.0);
+        out.printf("Levels completed: %d%n", runner.levelsCompleted);
+        out.printf("Restarts:         %d%n", runner.restarts);
+        out.printf("Final level:      %d (%s)%n", runner.world.currentLevel, runner.world.currentMap);
+        out.printf("Fast-forward:     %.0f s of game time in %.1f ms%n", FAST_FORWARD_MILLIS / 1000.0, ffTime / 1_000_000.0);
+        out.printf("Fingerprint:      %016x (seed %d)%n", runner.fingerprint(), seed);
+        out.println("Replay:           " + (deterministic ? "same state" : "DIFFERENT state: " + String.format("%016x", replay.fingerprint())));
+        if (!deterministic) System.exit(1);
+    }
+
+    // Walks toward the nearest object; wanders off for a bit when stuck
+    static class BotInput extends InputState {
+        GameWorld world;
+        Random random;
+        int lastX, lastY;
+        int stuckTicks = 0;
+        int wanderTicks = 0;
+        int wanderDirection = 0;
+
+        BotInput(long seed) {
+            random = new Random(seed);
+        }
+
+        void think() {
+            upPressed = downPressed = leftPressed = rightPressed = false;
+            if (world.gameState != GameWorld.playState) return;
+
+            int x = world.player.getWorldX();
+            int y = world.player.getWorldY();
+            if (x == lastX && y == lastY) {
+                stuckTicks++;
+            } else {
+                stuckTicks = 0;
+            }
+            lastX = x;
+            lastY = y;
+
+            if (stuckTicks > 10) {
+                wanderTicks = 30 + random.nextInt(60);
+                wanderDirection = random.nextInt(4);
+                stuckTicks = 0;
+            }
+            if (wanderTicks > 0) {
+                wanderTicks--;
+                press(wanderDirection);
+                return;
+            }
+
+            // Head for the closest object (tools first: the post only counts with 4 tools)
+            int targetX = -1, targetY = -1;
+            long best = Long.MAX_VALUE;
+            boolean wantPost = world.player.toolsCollected >= 4;
+            for (int i = 0; i < world.objects.size(); i++) {
+                SuperObject obj = world.objects.viewAt(i);
+                if (obj.name.equals("Post") != wantPost) continue;
+                long dx = obj.getWorldX() - x;
+                long dy = obj.getWorldY() - y;
+                long dist = dx * dx + dy * dy;
+                if (dist < best) {
+                    best = dist;
+                    targetX = obj.getWorldX();
+                    targetY = obj.getWorldY();
+                }
+            }
+            if (targetX < 0) {
+                press(random.nextInt(4));
+                return;
+            }
+
+            int dx = targetX - x;
+            int dy = targetY - y;
+            if (Math.abs(dx) > Math.abs(dy)) {
+                press(dx < 0 ? 2 : 3);
+            } else {
+                press(dy < 0 ? 0 : 1);
+            }
+        }
+
+        void press(int direction) {
+            switch (direction) {
+                case 0: upPressed = true; break;
+                case 1: downPressed = true; break;
+                case 2: leftPressed = true; break;
+                default: rightPressed = true; break;
+            }
+        }
+    }
+}
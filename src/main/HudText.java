@@ -0,0 +1,72 @@
+package main;
+
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+
+// A short label built in a reused char array, for text that changes every frame
+// (timers, countdowns). Replaces String.format / string concatenation, which
+// made a new String (and a formatter) per frame.
+public class HudText {
+
+    private final char[] chars = new char[64];
+    private int length = 0;
+
+    public HudText clear() {
+        length = 0;
+        return this;
+    }
+
+    public HudText append(String s) {
+        s.getChars(0, s.length(), chars, length);
+        length += s.length();
+        return this;
+    }
+
+    public HudText append(char c) {
+        chars[length++] = c;
+        return this;
+    }
+
+    public HudText append(int n) {
+        if (n < 0) {
+            chars[length++] = '-';
+            n = -n;
+        }
+        int start = length;
+        do {
+            chars[length++] = (char) ('0' + n % 10);
+            n /= 10;
+        } while (n > 0);
+        // Digits went in backwards
+        for (int i = start, j = length - 1; i < j; i++, j--) {
+            char c = chars[i];
+            chars[i] = chars[j];
+            chars[j] = c;
+        }
+        return this;
+    }
+
+    // Always two digits: 7 -> "07"
+    public HudText append2(int n) {
+        chars[length++] = (char) ('0' + n / 10 % 10);
+        chars[length++] = (char) ('0' + n % 10);
+        return this;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public int width(FontMetrics fm) {
+        return fm.charsWidth(chars, 0, length);
+    }
+
+    public void draw(Graphics2D g2, int x, int y) {
+        g2.drawChars(chars, 0, length, x, y);
+    }
+
+    @Override
+    public String toString() {
+        return new String(chars, 0, length);
+    }
+}
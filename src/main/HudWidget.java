@@ -0,0 +1,56 @@
+package main;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+// A piece of the HUD kept in its own image and redrawn only when its inputs
+// change. The caller packs whatever the widget shows (life, tool flags, level,
+// quality settings...) into a version number; a new number means a redraw.
+// The painter draws in screen coordinates, exactly as it would straight to the frame.
+public class HudWidget {
+
+    public interface Painter {
+        void paint(Graphics2D g2);
+    }
+
+    public final int x, y, width, height; // screen area the painter stays inside
+    private final Painter painter;
+
+    private BufferedImage image;
+    private long version;
+
+    // STATS
+    private static int redraws = 0;
+
+    public HudWidget(int x, int y, int width, int height, Painter painter) {
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+        this.painter = painter;
+    }
+
+    public void draw(Graphics2D g2, long version) {
+        if (image == null || version != this.version) {
+            if (image == null) {
+                image = UtilityTool.createCompatible(width, height, Transparency.TRANSLUCENT);
+            }
+            Graphics2D ig = image.createGraphics();
+            ig.setComposite(AlphaComposite.Clear);
+            ig.fillRect(0, 0, width, height);
+            ig.setComposite(AlphaComposite.SrcOver);
+            ig.setRenderingHints(g2.getRenderingHints());
+            ig.translate(-x, -y);
+            painter.paint(ig);
+            ig.dispose();
+
+            this.version = version;
+            redraws++;
+        }
+        g2.drawImage(image, x, y, null);
+    }
+
+    public static int getRedraws() {
+        return redraws;
+    }
+}
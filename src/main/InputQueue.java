@@ -0,0 +1,167 @@
+package main;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Hands input from the AWT event thread to the game thread.
+// A bounded single-producer / single-consumer ring: only the EDT pushes
+// (every AWT listener runs there) and only the game thread drains, at the
+// start of each tick. Events are stored in parallel arrays, so nothing is
+// allocated per event.
+public class InputQueue {
+
+    // EVENT TYPES
+    public static final int KEY_PRESSED = 0;
+    public static final int KEY_RELEASED = 1;
+    public static final int MOUSE_PRESSED = 2;
+    public static final int MOUSE_RELEASED = 3;
+    public static final int MOUSE_DRAGGED = 4;
+
+    public interface Handler {
+        void handleInput(int type, int a, int b);
+    }
+
+    private static final long NO_DRAG = Long.MIN_VALUE;
+
+    private final int capacity;
+    private final int mask;
+    private final int[] types;
+    private final int[] argA;
+    private final int[] argB;
+    private final long[] times; // System.nanoTime() when the event was queued
+
+    private final AtomicLong head = new AtomicLong(0); // next slot to read (game thread)
+    private final AtomicLong tail = new AtomicLong(0); // next slot to write (EDT)
+    private long cachedHead = 0; // producer's last look at head
+
+    // Drags arrive far faster than ticks and only the latest position matters,
+    // so they share one slot instead of filling the ring. The slot also keeps
+    // the ring's tail from when the drag arrived (see packDrag), so the game
+    // thread never handles a drag ahead of an event queued before it.
+    private final AtomicLong latestDrag = new AtomicLong(NO_DRAG);
+    private long dragTime = 0;
+
+    // STATS
+    private long dropped = 0;   // EDT only
+    private long coalesced = 0; // EDT only
+    public final FrameStats latency = new FrameStats(); // queued -> handled, game thread only
+
+    public InputQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1; // round up to a power of two
+        this.capacity = size;
+        this.mask = size - 1;
+        types = new int[size];
+        argA = new int[size];
+        argB = new int[size];
+        times = new long[size];
+    }
+
+    // EDT SIDE
+
+    public void pushKey(int type, int keyCode) {
+        push(type, keyCode, 0, System.nanoTime());
+    }
+
+    public void pushMouse(int type, int x, int y) {
+        long now = System.nanoTime();
+        if (type == MOUSE_DRAGGED) {
+            dragTime = now;
+            if (latestDrag.getAndSet(packDrag(x, y, tail.get())) != NO_DRAG) {
+                coalesced++;
+            }
+            return;
+        }
+        push(type, x, y, now);
+    }
+
+    private void push(int type, int a, int b, long now) {
+        // A waiting drag happened before this event - keep that order
+        flushDrag();
+        write(type, a, b, now);
+    }
+
+    private void flushDrag() {
+        long drag = latestDrag.getAndSet(NO_DRAG);
+        if (drag != NO_DRAG) {
+            write(MOUSE_DRAGGED, dragX(drag), dragY(drag), dragTime);
+        }
+    }
+
+    private void write(int type, int a, int b, long time) {
+        long t = tail.get();
+        if (t - cachedHead >= capacity) {
+            cachedHead = head.get();
+            if (t - cachedHead >= capacity) {
+                dropped++;
+                return; // game thread is stalled; losing input beats blocking the EDT
+            }
+        }
+
+        int i = (int) (t & mask);
+        types[i] = type;
+        argA[i] = a;
+        argB[i] = b;
+        times[i] = time;
+        tail.lazySet(t + 1); // publishes the slot
+    }
+
+    // GAME THREAD SIDE
+
+    // Handles everything queued so far, in order. Returns the number of events.
+    public int drain(Handler handler) {
+        long now = System.nanoTime();
+        int count = drainTo(handler, tail.get(), now);
+
+        // The drag in the slot came after every ring event queued before it was
+        // stored - including any the EDT has added since the tail was read above
+        long drag = latestDrag.getAndSet(NO_DRAG);
+        if (drag != NO_DRAG) {
+            long h = head.get();
+            int ahead = ((dragTail(drag) - (int) h) << 1) >> 1; // 31-bit positions wrap
+            count += drainTo(handler, h + Math.max(0, ahead), now);
+            latency.add(now, (now - dragTime) / 1_000_000.0);
+            handler.handleInput(MOUSE_DRAGGED, dragX(drag), dragY(drag));
+            count++;
+        }
+        return count;
+    }
+
+    // Handles the ring's events up to (not including) position t
+    private int drainTo(Handler handler, long t, long now) {
+        long h = head.get();
+        int count = (int) (t - h);
+        for (; h < t; h++) {
+            int i = (int) (h & mask);
+            latency.add(now, (now - times[i]) / 1_000_000.0);
+            handler.handleInput(types[i], argA[i], argB[i]);
+            head.lazySet(h + 1); // slot is free for the EDT again
+        }
+        return count;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    public long getCoalesced() {
+        return coalesced;
+    }
+
+    // A drag in one long: the low 31 bits of the ring's tail, then x and y as shorts
+    // (a drag can leave the window, but never by 32k pixels). The top bit stays
+    // clear, so no drag can look like NO_DRAG.
+    private static long packDrag(int x, int y, long tail) {
+        return ((tail & 0x7FFFFFFFL) << 32) | ((x & 0xFFFFL) << 16) | (y & 0xFFFFL);
+    }
+
+    private static int dragTail(long drag) {
+        return (int) (drag >>> 32);
+    }
+
+    private static int dragX(long drag) {
+        return (short) (drag >> 16);
+    }
+
+    private static int dragY(long drag) {
+        return (short) drag;
+    }
+}
@@ -0,0 +1,7 @@
+package main;
+
+// Movement keys as the player sees them. KeyHandler fills this from the keyboard;
+// a headless run can drive it directly.
+public class InputState {
+    public boolean upPressed, downPressed, leftPressed, rightPressed;
+}
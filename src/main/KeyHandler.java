@@ -1,12 +1,14 @@
 package main;
 
+import tile.TileManager;
+
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 
-public class KeyHandler implements KeyListener {
+public class KeyHandler extends InputState implements KeyListener {
     GamePanel gp;
-    public boolean upPressed, downPressed, leftPressed, rightPressed;
     boolean checkDrawTime = false;
+    boolean showSprites = false;
 
     public KeyHandler(GamePanel gp) {
         this.gp = gp;
@@ -15,12 +17,24 @@ public class KeyHandler implements KeyListener {
     @Override
     public void keyTyped(KeyEvent e) {}
 
+    // The listener methods run on the EDT and only queue the key;
+    // the game thread handles it at the start of its next tick
+
     @Override
     public void keyPressed(KeyEvent e) {
-        int code = e.getKeyCode();
+        gp.input.pushKey(InputQueue.KEY_PRESSED, e.getKeyCode());
+    }
 
+    @Override
+    public void keyReleased(KeyEvent e) {
+        gp.input.pushKey(InputQueue.KEY_RELEASED, e.getKeyCode());
+    }
+
+    // GAME THREAD
+
+    public void handleKeyPressed(int code) {
         // TITLE STATE
-        if(gp.gameState == gp.titleState) {
+        if(gp.world.gameState == GameWorld.titleState) {
             if (gp.ui.inLevelSelect) {
                 // Level selection navigation
                 if(code == KeyEvent.VK_W || code == KeyEvent.VK_UP) {
@@ -55,26 +69,15 @@ public class KeyHandler implements KeyListener {
                     // Play selection sound
                     gp.sound.play(3); // Selection sound
 
-                    // Start selected level
-                    gp.currentLevel = gp.ui.selectedLevel;
-                    gp.loadRandomMap();
-                    gp.aSetter.setObject();
-                    gp.aSetter.setNPC();
-                    gp.gameState = gp.playState;
+                    // Start selected level (resets player, puzzle and timer)
+                    gp.world.loadLevel(gp.ui.selectedLevel);
                     gp.ui.inLevelSelect = false;
 
-                    // Reset player for new level
-                    gp.player.setDefaultValues();
-                    gp.player.resetTools();
-
-                    // Initialize timer for selected level
-                    gp.initializeLevelTimer();
-
                     // Stop and restart background music
                     gp.sound.stop(0);
                     gp.sound.loop(0);
 
-                    System.out.println("Starting Level " + gp.currentLevel);
+                    System.out.println("Starting Level " + gp.world.currentLevel);
                 }
                 if(code == KeyEvent.VK_ESCAPE) {
                     // Play back sound
@@ -107,7 +110,7 @@ public class KeyHandler implements KeyListener {
                 gp.sound.play(3); // Selection sound (unlock.wav)
 
                 if(gp.ui.commandNum == 0) { // START
-                    gp.gameState = gp.playState;
+                    gp.world.gameState = GameWorld.playState;
                     // Stop and restart background music from beginning
                     gp.sound.stop(0); // Stop background music
                     gp.sound.loop(0); // Restart background music from beginning
@@ -125,11 +128,11 @@ public class KeyHandler implements KeyListener {
 
         // Handle P key for pause
         if(code == KeyEvent.VK_P) {
-            if(gp.gameState == gp.playState) {
-                gp.gameState = gp.pauseState;
+            if(gp.world.gameState == GameWorld.playState) {
+                gp.world.gameState = GameWorld.pauseState;
                 gp.sound.play(1); // Pause - coin.wav
-            } else if(gp.gameState == gp.pauseState) {
-                gp.gameState = gp.playState;
+            } else if(gp.world.gameState == GameWorld.pauseState) {
+                gp.world.gameState = GameWorld.playState;
                 gp.sound.play(3); // Resume - unlock.wav
             }
             return;
@@ -137,35 +140,39 @@ public class KeyHandler implements KeyListener {
 
         // Handle ESC key for settings
         if(code == KeyEvent.VK_ESCAPE) {
-            if(gp.gameState == gp.playState || gp.gameState == gp.pauseState) {
+            if(gp.world.gameState == GameWorld.playState || gp.world.gameState == GameWorld.pauseState) {
                 // Go to settings from play or pause state
-                gp.gameState = gp.settingsState;
+                gp.world.gameState = GameWorld.settingsState;
                 gp.sound.play(1); // Menu navigation sound
-            } else if(gp.gameState == gp.settingsState) {
+            } else if(gp.world.gameState == GameWorld.settingsState) {
                 // Return to previous state
-                gp.gameState = gp.playState;
+                gp.world.gameState = GameWorld.playState;
                 gp.sound.play(3); // Selection sound
             }
             return; // Important: prevent other key processing
         }
 
         // Handle R key for restart (in game over state)
-        if(code == KeyEvent.VK_R && gp.gameState == gp.gameOverState) {
+        if(code == KeyEvent.VK_R && gp.world.gameState == GameWorld.gameOverState) {
             gp.sound.play(3); // Restart - unlock.wav
-            gp.restartGame();
+            gp.world.restartGame();
             return;
         }
 
         // Handle settings state keys
-        if(gp.gameState == gp.settingsState) {
+        if(gp.world.gameState == GameWorld.settingsState) {
             if(code == KeyEvent.VK_R) {
                 // Restart level
-                gp.restartGame();
+                gp.world.restartGame();
                 gp.sound.play(3); // Selection sound
             } else if(code == KeyEvent.VK_L) {
                 // Go back to lobby/title
-                gp.gameState = gp.titleState;
+                gp.world.gameState = GameWorld.titleState;
                 gp.sound.play(3); // Selection sound
+            } else if(code == KeyEvent.VK_F) {
+                // Cycle frame rate
+                gp.cycleFPS();
+                gp.sound.play(1); // Menu navigation sound
             } else if(code == KeyEvent.VK_Q) {
                 // Quit game
                 System.exit(0);
@@ -174,7 +181,7 @@ public class KeyHandler implements KeyListener {
         }
 
         // Movement keys - only if not in pause/puzzle/game over state
-        if(gp.gameState == gp.playState) {
+        if(gp.world.gameState == GameWorld.playState) {
             if(code == KeyEvent.VK_W || code == KeyEvent.VK_UP) {
                 upPressed = true;
             }
@@ -193,12 +200,63 @@ public class KeyHandler implements KeyListener {
         if(code == KeyEvent.VK_T) {
             checkDrawTime = !checkDrawTime;
         }
-    }
 
-    @Override
-    public void keyReleased(KeyEvent e) {
-        int code = e.getKeyCode();
+        // DEBUG key - which prepared images are accelerated (also listed on the console)
+        if(code == KeyEvent.VK_I) {
+            showSprites = !showSprites;
+            if (showSprites) {
+                gp.printSpriteReport();
+            }
+        }
+
+        // DEBUG key - switch between active (BufferStrategy) and passive (repaint) rendering
+        if(code == KeyEvent.VK_B) {
+            gp.setActiveRendering(!gp.activeRendering);
+        }
+
+        // DEBUG keys - camera zoom 1x / 1.5x / 2x, smooth follow on / off
+        if(code == KeyEvent.VK_C) {
+            float zoom = gp.world.camera.getZoom();
+            gp.world.camera.setZoom(zoom < 1.5f ? 1.5f : zoom < 2f ? 2f : 1f);
+        }
+        if(code == KeyEvent.VK_V) {
+            gp.world.camera.setSmoothing(gp.world.camera.getSmoothing() == 0 ? 0.15f : 0);
+        }
+
+        // Fullscreen on / off
+        if(code == KeyEvent.VK_F11) {
+            gp.toggleFullscreen();
+        }
+
+        // DEBUG key - world drawn at 16 px per tile and scaled up, or at 48 px
+        if(code == KeyEvent.VK_N) {
+            gp.setLowResolution(!gp.lowResolution);
+        }
+
+        // DEBUG key - tile layer from int[] tile rows instead of cached chunk images
+        if(code == KeyEvent.VK_X) {
+            TileManager.rasterTiles = !TileManager.rasterTiles;
+            System.out.println("Tile layer: " + (TileManager.rasterTiles ? "int[] rows" : "chunks"));
+        }
+
+        // DEBUG key - blackout lighting on / off
+        if(code == KeyEvent.VK_K) {
+            gp.world.lighting.enabled = !gp.world.lighting.enabled;
+        }
+
+        // DEBUG key - pin each quality tier in turn, then back to automatic
+        if(code == KeyEvent.VK_G) {
+            if (!gp.quality.isLocked()) {
+                gp.quality.lock(QualityGovernor.FULL);
+            } else if (gp.quality.getLevel() < QualityGovernor.CACHED_OVERLAYS) {
+                gp.quality.lock(gp.quality.getLevel() + 1);
+            } else {
+                gp.quality.unlock();
+            }
+        }
+    }
 
+    public void handleKeyReleased(int code) {
         if(code == KeyEvent.VK_W || code == KeyEvent.VK_UP) {
             upPressed = false;
         }
@@ -0,0 +1,81 @@
+package main;
+
+import tile.TileManager;
+
+import java.io.PrintStream;
+
+// Blackout lighting cost for worlds of 50x50 up to 1024x1024 tiles, with the
+// flashlight, the NPC lanterns and a repaired post in view:
+//   update   - LightMap.update alone, with the camera moving every frame (everything
+//              recomputed) and with nothing moving (the cached shade is kept)
+//   48 px    - update plus the shade multiplied into a 768x576 backbuffer, moving and still
+//   16 px    - the same into a 256x192 backbuffer (the low resolution world), still
+// Usage: java -cp <classes>:<project root> main.LightBenchmark [frames]
+public class LightBenchmark {
+
+    static final int[] SIZES = {50, 256, 1024};
+    static final int STEP = 4; // camera pixels per frame, diagonally
+
+    public static void main(String[] args) {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+
+        PrintStream out = BenchmarkHarness.silence(); // world setup logging
+        GameWorld world = BenchmarkHarness.createWorld();
+        world.setupGame();
+        world.postRepaired(); // light the level's post
+        world.gameState = GameWorld.playState;
+        TileManager base = world.tileM;
+        LightMap lighting = world.lighting;
+
+        int[] frame = new int[world.screenWidth * world.screenHeight];
+        int[] low = new int[frame.length / (world.scale * world.scale)];
+
+        out.println("=== Lighting cost (" + frames + " frames) ===");
+        out.println("                       update ms            48 px ms           16 px ms");
+        out.println("      World   Cells   moving    still    moving    still      still   Post rebuilds");
+
+        for (int size : SIZES) {
+            if (size != base.mapCols) {
+                TileManager tileM = new TileManager(world, "worldmap001");
+                int[] tiles = new int[size * size];
+                for (int row = 0; row < size; row++) {
+                    for (int col = 0; col < size; col++) {
+                        tiles[row * size + col] = base.getTileNum(col % base.mapCols, row % base.mapRows);
+                    }
+                }
+                tileM.setMap(size, size, tiles);
+                world.tileM = tileM;
+            }
+
+            long rebuilds = lighting.getPostRebuilds();
+            double moving = run(world, null, 1, frames, true);
+            rebuilds = lighting.getPostRebuilds() - rebuilds;
+            double still = run(world, null, 1, frames, false);
+            double frameMoving = run(world, frame, 1, frames, true);
+            double frameStill = run(world, frame, 1, frames, false);
+            double lowStill = run(world, low, world.scale, frames, false);
+            out.printf("%5d x %-5d %6d %8.3f %8.4f %9.3f %8.3f %10.3f %15d%n", size, size, lighting.getCellCount(),
+                    moving, still, frameMoving, frameStill, lowStill, rebuilds);
+        }
+
+        BenchmarkHarness.restore();
+    }
+
+    // pixels == null times the update alone; otherwise a backbuffer at 1/scale of the frame
+    static double run(GameWorld world, int[] pixels, int scale, int frames, boolean moving) {
+        int postX = world.repairedPosts[0];
+        int postY = world.repairedPosts[1];
+        return BenchmarkHarness.time(frames, frame -> {
+            // Back and forth past the repaired post so it stays in view
+            int offset = moving ? frame * STEP % (4 * world.tileSize) : 0;
+            world.player.setPosition(postX + offset, postY + world.tileSize + offset / 2);
+            world.player.savePreviousPosition();
+            world.camera.beginFrame(1);
+            if (pixels == null) {
+                world.lighting.update();
+            } else {
+                world.lighting.draw(pixels, world.screenWidth / scale, world.screenHeight / scale);
+            }
+        });
+    }
+}
@@ -0,0 +1,398 @@
+package main;
+
+import entity.Entity;
+import entity.EntityStore;
+
+import java.util.Arrays;
+
+// The blackout. Light is worked out on a coarse grid (CELLS_PER_TILE cells a
+// tile) that covers only the view plus a one-cell margin, so its cost follows
+// the view and not the world. Sources are the player's flashlight, NPC
+// lanterns and repaired posts. The grid is blurred and spread out to one shade
+// value per art pixel (world.scale screen pixels). The world is drawn into an
+// int[] backbuffer, and draw multiplies the shade into its pixels in place, so
+// there is no translucent blit and nothing is allocated. The shade is not
+// recomputed unless a light or the view moves; the posts never move, so each
+// one's light is worked out once, over the world cells it reaches, when the
+// post is repaired, and is added to the grid wherever the view happens to be.
+public class LightMap {
+
+    public static final int CELLS_PER_TILE = 2;
+    public static final int AMBIENT = 215; // darkness (alpha) where no light reaches
+
+    // LIGHTS (ranges in tiles)
+    static final float FLASHLIGHT_RANGE = 6f;
+    static final float FLASHLIGHT_COS = 0.8f;   // cos of the beam's half angle (about 37 degrees)
+    static final float FLASHLIGHT_SOFT = 0.92f; // full brightness inside this cos, fading out to FLASHLIGHT_COS
+    static final float PLAYER_GLOW = 1.75f;
+    static final float LANTERN_RANGE = 2.5f;
+    static final float POST_RANGE = 7f;
+
+    private final GameWorld world;
+    public volatile boolean enabled = true;
+
+    // GRID (light 0-255 per cell; cell x, y is world cell gridX + x, gridY + y)
+    private int cell;
+    private int gridX, gridY, gridW, gridH;
+    private int[] light = new int[0], blurred = new int[0];
+
+    // POST LIGHT (one patch of world cells per repaired post; patch i covers world
+    // cells postBounds[i * 4], [i * 4 + 1] on, postBounds[i * 4 + 2] x [i * 4 + 3] of them)
+    private int[][] postPatches = new int[0][];
+    private int[] postBounds = new int[0];
+    private int postPatchCount = 0;
+    private int postCell, postVersion = -1; // what the patches were built for
+
+    // SHADE (what's left of each art pixel's colour, 0-256, one value per art pixel)
+    private int[] shade = new int[0];
+    private int shadeScale, shadeWidth; // shade pixels per cell, per row
+    private int[] spread = new int[0];   // each grid row spread across the shade width, in 1/span units
+    private int[] columnLeft = new int[0], columnRight = new int[0], columnWeight = new int[0];
+
+    // Shade value for each light level: AMBIENT darkness where it's unlit
+    private static final int[] SHADES = new int[256];
+    static {
+        for (int lit = 0; lit < 256; lit++) {
+            SHADES[lit] = (255 - AMBIENT * (255 - lit) / 255) * 256 / 255;
+        }
+    }
+
+    // BACKBUFFER MAPPING (shade index for each backbuffer column and row, redone every draw)
+    private int[] shadeColumn = new int[0], shadeRow = new int[0];
+    private int[] rowShade = new int[0]; // the shade values along one backbuffer row
+
+    // WHAT THE SHADE WAS WORKED OUT FOR (grid, posts, player, then every NPC's position)
+    private int[] sources = new int[0], lastSources = new int[0];
+    private int lastSourceCount = -1;
+
+    // STATS
+    private long updates = 0;
+    private long postRebuilds = 0;
+    private long lastUpdateNanos = 0;
+
+    public LightMap(GameWorld world) {
+        this.world = world;
+    }
+
+    // Darkens a width x height TYPE_INT_RGB backbuffer that shows the camera's view,
+    // after the world layer is drawn into it. Each pixel is scaled by the shade of
+    // the art pixel under it, so at 48 px a shade value covers world.scale x world.scale pixels.
+    public void draw(int[] pixels, int width, int height) {
+        if (!enabled) return;
+        update();
+
+        // World pixel under each backbuffer column and row, as a shade index
+        Camera camera = world.camera;
+        if (shadeColumn.length < width) {
+            shadeColumn = new int[width];
+            rowShade = new int[width];
+        }
+        if (shadeRow.length < height) shadeRow = new int[height];
+        int artPixel = cell / shadeScale;
+        int left = camera.x - gridX * cell;
+        int top = camera.y - gridY * cell;
+        int lastColumn = shadeWidth - 1;
+        int lastRow = gridH * shadeScale - 1;
+        for (int x = 0; x < width; x++) {
+            int sx = (left + (int) ((long) x * camera.viewWidth / width)) / artPixel;
+            shadeColumn[x] = Math.max(0, Math.min(lastColumn, sx));
+        }
+        for (int y = 0; y < height; y++) {
+            int sy = (top + (int) ((long) y * camera.viewHeight / height)) / artPixel;
+            shadeRow[y] = Math.max(0, Math.min(lastRow, sy)) * shadeWidth;
+        }
+
+        // Rows under the same art pixel share their shade values
+        int[] rowShade = this.rowShade;
+        int lastShadeRow = -1;
+        for (int y = 0; y < height; y++) {
+            int row = shadeRow[y];
+            if (row != lastShadeRow) {
+                for (int x = 0; x < width; x++) {
+                    rowShade[x] = shade[row + shadeColumn[x]];
+                }
+                lastShadeRow = row;
+            }
+            int i = y * width;
+            for (int x = 0; x < width; x++, i++) {
+                int f = rowShade[x];
+                int p = pixels[i];
+                pixels[i] = (((p & 0xff00ff) * f >>> 8) & 0xff00ff) | (((p & 0xff00) * f >>> 8) & 0xff00);
+            }
+        }
+    }
+
+    // Brings the shade up to date for this frame's view; does nothing if no light or view moved
+    public void update() {
+        Camera camera = world.camera;
+        cell = world.tileSize / CELLS_PER_TILE;
+        int newGridX = Math.floorDiv(camera.x, cell) - 1;
+        int newGridY = Math.floorDiv(camera.y, cell) - 1;
+        int newGridW = (camera.viewWidth + cell - 1) / cell + 3;
+        int newGridH = (camera.viewHeight + cell - 1) / cell + 3;
+
+        if (!collectSources(newGridX, newGridY, newGridW, newGridH)) {
+            return;
+        }
+        long start = System.nanoTime();
+
+        if (newGridW != gridW || newGridH != gridH || shade.length == 0) {
+            resize(newGridW, newGridH);
+        }
+        gridX = newGridX;
+        gridY = newGridY;
+
+        updatePostLight();
+        Arrays.fill(light, 0, gridW * gridH, 0);
+        addPostLight();
+        addMovingLights();
+        blur();
+        fillShade();
+
+        updates++;
+        lastUpdateNanos = System.nanoTime() - start;
+    }
+
+    // Writes down everything the light depends on; returns false if it's all as last time
+    private boolean collectSources(int gx, int gy, int gw, int gh) {
+        float alpha = world.interpolation;
+        EntityStore<Entity> npcs = world.npcs;
+        int count = 8 + npcs.size() * 2;
+        if (sources.length < count) {
+            sources = new int[count];
+            lastSources = Arrays.copyOf(lastSources, count);
+        }
+        sources[0] = gx;
+        sources[1] = gy;
+        sources[2] = gw;
+        sources[3] = gh;
+        sources[4] = world.postVersion;
+        sources[5] = world.player.getRenderX(alpha);
+        sources[6] = world.player.getRenderY(alpha);
+        sources[7] = world.player.getDirection();
+        for (int i = 0; i < npcs.size(); i++) {
+            Entity npc = npcs.viewAt(i);
+            sources[8 + i * 2] = npc.getRenderX(alpha);
+            sources[9 + i * 2] = npc.getRenderY(alpha);
+        }
+
+        if (count == lastSourceCount && Arrays.equals(sources, 0, count, lastSources, 0, count)) {
+            return false;
+        }
+        int[] swap = lastSources;
+        lastSources = sources;
+        sources = swap;
+        lastSourceCount = count;
+        return true;
+    }
+
+    private void resize(int width, int height) {
+        gridW = width;
+        gridH = height;
+        light = new int[width * height];
+        blurred = new int[width * height];
+
+        shadeScale = Math.max(1, cell / world.scale);
+        shadeWidth = width * shadeScale;
+        shade = new int[shadeWidth * height * shadeScale];
+
+        // Cell columns either side of each shade column, and the weight of the right one
+        int span = 2 * shadeScale;
+        spread = new int[height * shadeWidth];
+        columnLeft = new int[shadeWidth];
+        columnRight = new int[shadeWidth];
+        columnWeight = new int[shadeWidth];
+        for (int sx = 0; sx < shadeWidth; sx++) {
+            int u = 2 * sx + 1 - shadeScale;
+            int col0 = Math.floorDiv(u, span);
+            columnWeight[sx] = u - col0 * span;
+            columnLeft[sx] = Math.max(0, col0);
+            columnRight[sx] = Math.min(width - 1, col0 + 1);
+        }
+    }
+
+    // POST LIGHT (rebuilt only when a post is repaired or the level changes)
+
+    private void updatePostLight() {
+        if (postVersion == world.postVersion && postCell == cell) {
+            return;
+        }
+        int count = world.repairedPostCount;
+        if (postPatches.length < count) {
+            postPatches = Arrays.copyOf(postPatches, count);
+            postBounds = Arrays.copyOf(postBounds, count * 4);
+        }
+        int half = world.tileSize / 2;
+        float radius = POST_RANGE * world.tileSize;
+        for (int i = 0; i < count; i++) {
+            int x = world.repairedPosts[i * 2] + half;
+            int y = world.repairedPosts[i * 2 + 1] + half;
+            int left = Math.floorDiv((int) (x - radius), cell);
+            int top = Math.floorDiv((int) (y - radius), cell);
+            int width = Math.floorDiv((int) (x + radius), cell) - left + 1;
+            int height = Math.floorDiv((int) (y + radius), cell) - top + 1;
+            int[] patch = new int[width * height];
+            addLight(patch, left, top, width, height, x, y, radius, 255, -1);
+            postPatches[i] = patch;
+            postBounds[i * 4] = left;
+            postBounds[i * 4 + 1] = top;
+            postBounds[i * 4 + 2] = width;
+            postBounds[i * 4 + 3] = height;
+        }
+        postPatchCount = count;
+        postVersion = world.postVersion;
+        postCell = cell;
+        postRebuilds++;
+    }
+
+    // Adds the part of each post's patch that's in view to the grid
+    private void addPostLight() {
+        for (int i = 0; i < postPatchCount; i++) {
+            int[] patch = postPatches[i];
+            int left = postBounds[i * 4];
+            int top = postBounds[i * 4 + 1];
+            int width = postBounds[i * 4 + 2];
+            int x0 = Math.max(left, gridX);
+            int y0 = Math.max(top, gridY);
+            int x1 = Math.min(left + width, gridX + gridW);
+            int y1 = Math.min(top + postBounds[i * 4 + 3], gridY + gridH);
+            for (int y = y0; y < y1; y++) {
+                int in = (y - top) * width + x0 - left;
+                int out = (y - gridY) * gridW + x0 - gridX;
+                for (int x = x0; x < x1; x++, in++, out++) {
+                    int sum = light[out] + patch[in];
+                    light[out] = sum > 255 ? 255 : sum;
+                }
+            }
+        }
+    }
+
+    // MOVING LIGHTS (player and NPCs, every update)
+
+    private void addMovingLights() {
+        float alpha = world.interpolation;
+        int half = world.tileSize / 2;
+
+        int playerX = world.player.getRenderX(alpha) + half;
+        int playerY = world.player.getRenderY(alpha) + half;
+        addLight(light, gridX, gridY, gridW, gridH, playerX, playerY, PLAYER_GLOW * world.tileSize, 200, -1);
+        addLight(light, gridX, gridY, gridW, gridH, playerX, playerY, FLASHLIGHT_RANGE * world.tileSize, 255,
+                world.player.getDirection());
+
+        EntityStore<Entity> npcs = world.npcs;
+        for (int i = 0; i < npcs.size(); i++) {
+            Entity npc = npcs.viewAt(i);
+            addLight(light, gridX, gridY, gridW, gridH, npc.getRenderX(alpha) + half, npc.getRenderY(alpha) + half,
+                    LANTERN_RANGE * world.tileSize, 170, -1);
+        }
+    }
+
+    // Adds a light centred at world (x, y) to a width x height grid whose first cell is world cell
+    // (originX, originY). direction is an EntityStore direction for a beam, -1 for all round.
+    private void addLight(int[] grid, int originX, int originY, int width, int height,
+                          int x, int y, float radius, int brightness, int direction) {
+        int firstX = Math.max(0, Math.floorDiv((int) (x - radius), cell) - originX);
+        int firstY = Math.max(0, Math.floorDiv((int) (y - radius), cell) - originY);
+        int lastX = Math.min(width - 1, Math.floorDiv((int) (x + radius), cell) - originX);
+        int lastY = Math.min(height - 1, Math.floorDiv((int) (y + radius), cell) - originY);
+        if (firstX > lastX || firstY > lastY) return; // out of view
+
+        float beamX = direction == EntityStore.LEFT ? -1 : direction == EntityStore.RIGHT ? 1 : 0;
+        float beamY = direction == EntityStore.UP ? -1 : direction == EntityStore.DOWN ? 1 : 0;
+        float r2 = radius * radius;
+
+        for (int cy = firstY; cy <= lastY; cy++) {
+            float dy = (originY + cy) * cell + cell / 2f - y;
+            int index = cy * width + firstX;
+            for (int cx = firstX; cx <= lastX; cx++, index++) {
+                float dx = (originX + cx) * cell + cell / 2f - x;
+                float d2 = dx * dx + dy * dy;
+                if (d2 >= r2) continue;
+
+                float falloff = 1 - d2 / r2;
+                float value = brightness * falloff * falloff;
+                if (direction >= 0) {
+                    // Beam: full inside the soft angle, fading to nothing at the edge
+                    float d = (float) Math.sqrt(d2);
+                    float cos = d < 1 ? 1 : (dx * beamX + dy * beamY) / d;
+                    if (cos <= FLASHLIGHT_COS) continue;
+                    if (cos < FLASHLIGHT_SOFT) {
+                        value *= (cos - FLASHLIGHT_COS) / (FLASHLIGHT_SOFT - FLASHLIGHT_COS);
+                    }
+                }
+                int sum = grid[index] + (int) value;
+                grid[index] = sum > 255 ? 255 : sum;
+            }
+        }
+    }
+
+    // 1-2-1 blur across, then down
+    private void blur() {
+        for (int y = 0; y < gridH; y++) {
+            int row = y * gridW;
+            for (int x = 0; x < gridW; x++) {
+                int left = light[row + Math.max(0, x - 1)];
+                int right = light[row + Math.min(gridW - 1, x + 1)];
+                blurred[row + x] = (left + 2 * light[row + x] + right) >> 2;
+            }
+        }
+        for (int y = 0; y < gridH; y++) {
+            int up = Math.max(0, y - 1) * gridW;
+            int row = y * gridW;
+            int down = Math.min(gridH - 1, y + 1) * gridW;
+            for (int x = 0; x < gridW; x++) {
+                light[row + x] = (blurred[up + x] + 2 * blurred[row + x] + blurred[down + x]) >> 2;
+            }
+        }
+    }
+
+    // Spreads the grid over the shade pixels (linear between cell centres) as shade values
+    private void fillShade() {
+        int scale = shadeScale;
+        int width = gridW * scale;
+        int height = gridH * scale;
+        int span = 2 * scale;
+        long reciprocal = (1L << 32) / (span * span) + 1; // x / span^2 as a multiply and a shift
+
+        // Across: every grid row
+        for (int row = 0; row < gridH; row++) {
+            int cells = row * gridW;
+            int out = row * width;
+            for (int sx = 0; sx < width; sx++) {
+                int wx = columnWeight[sx];
+                spread[out + sx] = light[cells + columnLeft[sx]] * (span - wx) + light[cells + columnRight[sx]] * wx;
+            }
+        }
+
+        // Down: between the spread rows either side of each pixel row
+        for (int sy = 0; sy < height; sy++) {
+            int v = 2 * sy + 1 - scale;
+            int row0 = Math.floorDiv(v, span);
+            int wy = v - row0 * span;
+            int top = Math.max(0, row0) * width;
+            int bottom = Math.min(gridH - 1, row0 + 1) * width;
+
+            int out = sy * width;
+            for (int sx = 0; sx < width; sx++) {
+                long sum = spread[top + sx] * (span - wy) + spread[bottom + sx] * wy;
+                shade[out + sx] = SHADES[(int) ((sum * reciprocal) >>> 32)];
+            }
+        }
+    }
+
+    public long getUpdates() {
+        return updates;
+    }
+
+    public long getPostRebuilds() {
+        return postRebuilds;
+    }
+
+    public double getLastUpdateMs() {
+        return lastUpdateNanos / 1_000_000.0;
+    }
+
+    public int getCellCount() {
+        return gridW * gridH;
+    }
+}
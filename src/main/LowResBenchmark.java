@@ -0,0 +1,46 @@
+package main;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.PrintStream;
+
+// Play-state frame cost, world at 48 px per tile against the world at its
+// native 16 px scaled up, for the default window and bigger ones:
+//   48 px    - tiles, objects and sprites drawn straight into the frame (scaled to fit the window)
+//   16 px    - the atlas's 16 px art drawn 1:1 into a 256x192 buffer, blown up with one nearest-neighbour blit
+// The HUD is drawn at full resolution either way.
+// Usage: java -cp <classes>:<project root> main.LowResBenchmark [frames]
+public class LowResBenchmark {
+
+    // Window sizes: the default, double, and a 1080p screen
+    static final int[][] WINDOWS = {{768, 576}, {1536, 1152}, {1920, 1080}};
+
+    public static void main(String[] args) {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+
+        PrintStream out = BenchmarkHarness.silence(); // game setup logging
+        GamePanel gp = BenchmarkHarness.createPanel();
+        gp.world.gameState = GameWorld.playState;
+
+        out.println("=== Play frame cost, 48 px vs 16 px world (" + frames + " frames) ===");
+        out.println("     Window      48 px ms   16 px ms   16 px scale");
+
+        for (int[] window : WINDOWS) {
+            BufferedImage screen = new BufferedImage(window[0], window[1], BufferedImage.TYPE_INT_RGB);
+            Graphics2D g2 = screen.createGraphics();
+            double full = run(gp, g2, window, frames, false);
+            double low = run(gp, g2, window, frames, true);
+            int pixelScale = Math.max(1, Math.min(window[0] / 256, window[1] / 192));
+            out.printf("  %4d x %-4d %10.3f %10.3f %10dx%n", window[0], window[1], full, low, pixelScale);
+            g2.dispose();
+        }
+
+        gp.lowResolution = false;
+        BenchmarkHarness.restore();
+    }
+
+    static double run(GamePanel gp, Graphics2D g2, int[] window, int frames, boolean lowResolution) {
+        gp.lowResolution = lowResolution;
+        return BenchmarkHarness.time(frames, frame -> gp.renderFitted(g2, window[0], window[1]));
+    }
+}
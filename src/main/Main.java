@@ -11,7 +11,7 @@ public class Main {
 
         JFrame window = new JFrame();
         window.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        window.setResizable(false);
+        window.setResizable(true); // the frame is scaled to fit
         window.setTitle("The Bukidnon Blackout");
 
         GamePanel gamePanel = new GamePanel();
@@ -0,0 +1,68 @@
+package main;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+// A full-screen menu drawn from two cached images. The layer holds everything
+// that never moves (background art, title, panels, fixed labels) and is painted
+// once per quality setting; the frame is the layer plus whatever follows the
+// selection (cursor, highlighted box) and is rebuilt only when the selection
+// changes. Every other frame is a single drawImage.
+public class MenuLayer {
+
+    private final int width, height;
+    private final HudWidget.Painter layerPainter;
+    private final HudWidget.Painter selectionPainter;
+
+    private BufferedImage layer, frame;
+    private long layerVersion, frameVersion;
+
+    // STATS
+    private static int layerBuilds = 0;
+    private static int frameBuilds = 0;
+
+    public MenuLayer(int width, int height, HudWidget.Painter layerPainter, HudWidget.Painter selectionPainter) {
+        this.width = width;
+        this.height = height;
+        this.layerPainter = layerPainter;
+        this.selectionPainter = selectionPainter;
+    }
+
+    // layerVersion changes with the quality settings; selectionVersion with the selection
+    public void draw(Graphics2D g2, long layerVersion, long selectionVersion) {
+        boolean newLayer = layer == null || layerVersion != this.layerVersion;
+        if (newLayer) {
+            if (layer == null) {
+                layer = UtilityTool.createCompatible(width, height, Transparency.OPAQUE);
+                frame = UtilityTool.createCompatible(width, height, Transparency.OPAQUE);
+            }
+            Graphics2D lg = layer.createGraphics();
+            lg.setRenderingHints(g2.getRenderingHints());
+            layerPainter.paint(lg);
+            lg.dispose();
+
+            this.layerVersion = layerVersion;
+            layerBuilds++;
+        }
+
+        if (newLayer || selectionVersion != frameVersion) {
+            Graphics2D fg = frame.createGraphics();
+            fg.drawImage(layer, 0, 0, null);
+            fg.setRenderingHints(g2.getRenderingHints());
+            selectionPainter.paint(fg);
+            fg.dispose();
+
+            frameVersion = selectionVersion;
+            frameBuilds++;
+        }
+        g2.drawImage(frame, 0, 0, null);
+    }
+
+    public static int getLayerBuilds() {
+        return layerBuilds;
+    }
+
+    public static int getFrameBuilds() {
+        return frameBuilds;
+    }
+}
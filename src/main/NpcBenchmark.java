@@ -0,0 +1,105 @@
+package main;
+
+import entity.EntityStore;
+import entity.NPC_Lady;
+import tile.TileManager;
+
+import java.io.PrintStream;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+// How NPC updates scale with cores. Runs 1k, 10k and 100k seeded NPCs on the
+// same map with 1..N worker threads and checks every run ends in the same state.
+// Usage: java -cp <classes>:<project root> main.NpcBenchmark [max threads] [ticks]
+public class NpcBenchmark {
+
+    static final int[] CROWDS = {1_000, 10_000, 100_000};
+    static final int WARMUP_TICKS = 200;
+    static final long SEED = 42;
+
+    public static void main(String[] args) {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 300;
+
+        PrintStream out = BenchmarkHarness.silence(); // NPC/world setup logging
+
+        out.println("=== NPC update scaling (" + ticks + " ticks, " + maxThreads + " threads max) ===");
+        out.println("  NPCs  Threads   ms/tick   Speedup   Checksum");
+
+        for (int crowd : CROWDS) {
+            double baseline = 0;
+            long baselineChecksum = 0;
+
+            for (int threads = 1; threads <= maxThreads; threads = nextThreadCount(threads, maxThreads)) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                GameWorld world = createWorld(crowd, pool);
+                world.npcUpdater.parallel = threads > 1;
+                world.npcUpdater.parallelThreshold = 0; // fork even small crowds, to see what it costs
+
+                for (int i = 0; i < WARMUP_TICKS; i++) {
+                    tick(world);
+                }
+                long start = System.nanoTime();
+                for (int i = 0; i < ticks; i++) {
+                    tick(world);
+                }
+                double msPerTick = (System.nanoTime() - start) / 1_000_000.0 / ticks;
+                pool.shutdown();
+
+                long checksum = checksum(world.npcs);
+                if (threads == 1) {
+                    baseline = msPerTick;
+                    baselineChecksum = checksum;
+                }
+                out.printf("%6d  %7d  %8.3f  %7.2fx   %016x%s%n", crowd, threads, msPerTick, baseline / msPerTick,
+                        checksum, checksum == baselineChecksum ? "" : "  MISMATCH");
+            }
+        }
+
+        BenchmarkHarness.restore();
+    }
+
+    // 1, 2, 4, ... and always the maximum itself
+    static int nextThreadCount(int threads, int maxThreads) {
+        if (threads == maxThreads) return maxThreads + 1;
+        return Math.min(threads * 2, maxThreads);
+    }
+
+    static GameWorld createWorld(int crowd, ForkJoinPool pool) {
+        GameWorld world = BenchmarkHarness.createWorld();
+        world.tileM = new TileManager(world, "worldmap001"); // same map for every run
+        world.npcUpdater = new NpcUpdater(pool);
+        world.gameState = GameWorld.playState;
+
+        // Spread the crowd over walkable tiles
+        Random random = new Random(SEED);
+        for (int i = 0; i < crowd; i++) {
+            NPC_Lady npc = new NPC_Lady(world, SEED + i);
+            int col, row;
+            do {
+                col = 1 + random.nextInt(world.maxWorldCol - 2);
+                row = 1 + random.nextInt(world.maxWorldRow - 2);
+            } while (world.tileM.tile[world.tileM.getTileNum(col, row)].collision);
+            npc.setPosition(col * world.tileSize, row * world.tileSize);
+            npc.savePreviousPosition();
+        }
+        return world;
+    }
+
+    // Just the NPC part of GameWorld.update()
+    static void tick(GameWorld world) {
+        world.npcs.savePreviousPositions();
+        world.npcUpdater.update(world);
+    }
+
+    static long checksum(EntityStore<?> store) {
+        long hash = 17;
+        for (int i = 0; i < store.size(); i++) {
+            int slot = store.slotAt(i);
+            hash = hash * 31 + store.x[slot];
+            hash = hash * 31 + store.y[slot];
+            hash = hash * 31 + store.direction[slot];
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,105 @@
+package main;
+
+import entity.Entity;
+import entity.EntityStore;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Updates all NPCs for one tick, split across a ForkJoinPool once the crowd is
+// big enough. The workers write straight into the shared EntityStore, so this
+// rests on one assumption: an NPC's update never collides with, reads or writes
+// another NPC (or the player) - it reads the frozen collision data and its own
+// slot and writes only that slot. Then the slots the tasks write never overlap
+// and the result is the same on any number of threads. Entity.updatesAlone()
+// is how an NPC type promises that; if any NPC in the crowd doesn't, the whole
+// tick runs on the calling thread. Whatever isn't per-NPC (the collision count)
+// is summed in the merge step.
+public class NpcUpdater {
+
+    public static final int PARALLEL_THRESHOLD = 2048; // below this, forking costs more than it saves
+    private static final int CHUNK = 512;               // NPCs per leaf task
+
+    private final ForkJoinPool pool;
+    public boolean parallel = true;
+    public int parallelThreshold = PARALLEL_THRESHOLD;
+
+    // STATS (last tick)
+    public int lastCollisions = 0;
+    public boolean lastRanParallel = false;
+
+    public NpcUpdater() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public NpcUpdater(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public void update(GameWorld world) {
+        EntityStore<Entity> npcs = world.npcs;
+        int count = npcs.size();
+        if (count == 0) {
+            lastCollisions = 0;
+            return;
+        }
+
+        // Tile flags and solid object boxes stay fixed until every NPC is done
+        world.cChecker.freeze();
+
+        lastRanParallel = parallel && count >= parallelThreshold && pool.getParallelism() > 1
+                && allUpdateAlone(npcs, count);
+        if (lastRanParallel) {
+            lastCollisions = pool.invoke(new Chunk(npcs, 0, count));
+        } else {
+            lastCollisions = updateRange(npcs, 0, count);
+        }
+    }
+
+    // Every NPC's update leaves the others alone, so they can be split across threads
+    static boolean allUpdateAlone(EntityStore<Entity> npcs, int count) {
+        for (int i = 0; i < count; i++) {
+            if (!npcs.viewAt(i).updatesAlone()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Updates npcs at live positions [from, to) and returns how many of them hit something
+    static int updateRange(EntityStore<Entity> npcs, int from, int to) {
+        int collisions = 0;
+        for (int i = from; i < to; i++) {
+            npcs.viewAt(i).update();
+            if (npcs.collisionOn[npcs.slotAt(i)]) {
+                collisions++;
+            }
+        }
+        return collisions;
+    }
+
+    private static class Chunk extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        final EntityStore<Entity> npcs;
+        final int from, to;
+
+        Chunk(EntityStore<Entity> npcs, int from, int to) {
+            this.npcs = npcs;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from <= CHUNK) {
+                return updateRange(npcs, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            Chunk left = new Chunk(npcs, from, mid);
+            left.fork();
+            int right = new Chunk(npcs, mid, to).compute();
+            return right + left.join(); // merge
+        }
+    }
+}
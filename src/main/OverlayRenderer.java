@@ -0,0 +1,133 @@
+package main;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.function.LongSupplier;
+
+// Draws the screens that sit still over a frozen world (pause, settings, game
+// over, level complete). When one comes up the whole composed frame (world,
+// HUD, dimming, text) is painted once into a snapshot. After that a frame is
+// the snapshot plus the regions that changed: a region whose version moves
+// gets the snapshot copied back over its rectangle and its painter run again,
+// and nothing else is redrawn. The area repainted each frame is recorded.
+public class OverlayRenderer {
+
+    // A part of the screen that can change while the overlay is up. The
+    // snapshot is composed without it; the painter draws it on top, inside the rectangle.
+    public static class Region {
+        public final int x, y, width, height;
+        private final LongSupplier version;
+        private final HudWidget.Painter painter;
+
+        private boolean drawn = false;
+        private long drawnVersion;
+
+        public Region(int x, int y, int width, int height, LongSupplier version, HudWidget.Painter painter) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+            this.version = version;
+            this.painter = painter;
+        }
+    }
+
+    private final int width, height;
+    private BufferedImage snapshot, frame;
+    private Graphics2D frameGraphics; // kept while the renderer lives
+
+    private int screen = -1; // -1 = no snapshot
+    private long snapshotVersion;
+    private Region[] regions;
+
+    // STATS
+    private long lastArea = 0;    // pixels repainted by the last frame
+    private long screenArea = 0;  // pixels repainted since the screen came up
+    private int screenFrames = 0;
+    private int snapshots = 0;
+
+    public OverlayRenderer(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    // screen and version together say what the snapshot shows; either changing means a new snapshot
+    public void draw(Graphics2D g2, int screen, long version, HudWidget.Painter composer, Region[] regions) {
+        long area = 0;
+        if (screen != this.screen || version != snapshotVersion) {
+            if (snapshot == null) {
+                snapshot = UtilityTool.createCompatible(width, height, Transparency.OPAQUE);
+                frame = UtilityTool.createCompatible(width, height, Transparency.OPAQUE);
+                frameGraphics = frame.createGraphics();
+            }
+            Graphics2D sg = snapshot.createGraphics();
+            sg.setRenderingHints(g2.getRenderingHints());
+            composer.paint(sg);
+            sg.dispose();
+
+            frameGraphics.setRenderingHints(g2.getRenderingHints());
+            frameGraphics.drawImage(snapshot, 0, 0, null);
+            area = (long) width * height;
+
+            if (screen != this.screen) {
+                screenArea = 0;
+                screenFrames = 0;
+            }
+            this.screen = screen;
+            this.snapshotVersion = version;
+            this.regions = regions;
+            for (Region region : regions) {
+                region.drawn = false;
+            }
+            snapshots++;
+        }
+
+        for (Region region : this.regions) {
+            long regionVersion = region.version.getAsLong();
+            if (region.drawn && regionVersion == region.drawnVersion) {
+                continue;
+            }
+            if (region.drawn) {
+                // Take the region back to the snapshot before drawing it again
+                frameGraphics.drawImage(snapshot,
+                        region.x, region.y, region.x + region.width, region.y + region.height,
+                        region.x, region.y, region.x + region.width, region.y + region.height, null);
+                area += (long) region.width * region.height;
+            }
+            frameGraphics.setClip(region.x, region.y, region.width, region.height);
+            region.painter.paint(frameGraphics);
+            frameGraphics.setClip(null);
+
+            region.drawn = true;
+            region.drawnVersion = regionVersion;
+        }
+
+        g2.drawImage(frame, 0, 0, null);
+
+        lastArea = area;
+        screenArea += area;
+        screenFrames++;
+    }
+
+    // The overlay has gone; the next one starts from a new snapshot
+    public void reset() {
+        screen = -1;
+    }
+
+    public long getLastArea() {
+        return lastArea;
+    }
+
+    // Mean pixels repainted per frame since the current screen came up
+    public double getMeanArea() {
+        return screenFrames == 0 ? 0 : (double) screenArea / screenFrames;
+    }
+
+    public int getScreenArea() {
+        return width * height;
+    }
+
+    public int getSnapshots() {
+        return snapshots;
+    }
+}
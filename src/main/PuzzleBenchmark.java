@@ -0,0 +1,53 @@
+package main;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.PrintStream;
+
+// Wire puzzle frame cost against grid size, at full quality, two ways:
+//   redrawn  - backdrop, panels, grid, terminals and buttons painted every frame (the old draw)
+//   board    - WirePuzzleMinigame.draw: the cached board plus wires, timer and pulses
+// Usage: java -cp <classes>:<project root> main.PuzzleBenchmark [frames]
+public class PuzzleBenchmark {
+
+    static final int[] GRID_SIZES = {4, 8, 16, 32};
+
+    public static void main(String[] args) {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+
+        PrintStream out = BenchmarkHarness.silence(); // game setup logging
+        GamePanel gp = BenchmarkHarness.createPanel();
+        gp.world.gameState = GameWorld.wirePuzzleState;
+        WirePuzzleMinigame puzzle = gp.wirePuzzle;
+        BufferedImage screen = new BufferedImage(gp.screenWidth, gp.screenHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = screen.createGraphics();
+        gp.quality.applyHints(g2);
+
+        out.println("=== Wire puzzle frame cost (" + frames + " frames) ===");
+        out.println("  Grid   redrawn ms   board ms   board builds");
+
+        for (int size : GRID_SIZES) {
+            puzzle.setGridSize(size);
+            puzzle.start();
+            int builds = puzzle.getBoardBuilds();
+            double redrawn = run(puzzle, g2, frames, false);
+            double board = run(puzzle, g2, frames, true);
+            out.printf("  %2dx%-2d %10.3f %10.3f %10d%n", size, size, redrawn, board, puzzle.getBoardBuilds() - builds);
+        }
+
+        g2.dispose();
+        BenchmarkHarness.restore();
+    }
+
+    static double run(WirePuzzleMinigame puzzle, Graphics2D g2, int frames, boolean cached) {
+        return BenchmarkHarness.time(frames, frame -> {
+            if (cached) {
+                puzzle.draw(g2);
+            } else {
+                puzzle.drawBoard(g2);
+                puzzle.drawButtons(g2);
+                puzzle.drawMoving(g2);
+            }
+        });
+    }
+}
@@ -0,0 +1,143 @@
+package main;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+
+// Trades visual effects for frame time. GamePanel reports how long each
+// render took; when the average goes over the frame budget the governor
+// steps down one tier, and steps back up after a while with plenty of headroom.
+// Drawing code asks the governor instead of always drawing every effect.
+public class QualityGovernor {
+
+    // QUALITY TIERS (each one includes the savings of the tiers before it)
+    public static final int FULL = 0;
+    public static final int NO_ANTIALIAS = 1;
+    public static final int FEW_PARTICLES = 2;
+    public static final int NO_GLOW = 3;
+    public static final int CACHED_OVERLAYS = 4;
+    public static final String[] TIER_NAMES = {"Full", "No AA", "Few particles", "No glow", "Cached overlays"};
+
+    private static final long WINDOW = 500_000_000L; // judge the average every half second
+    private static final double BUDGET_SHARE = 0.75; // of the frame interval; the rest is update + present
+    private static final double HEADROOM = 0.4;      // step up when renders use less than this share of the budget
+    private static final int WINDOWS_BEFORE_UP = 6;  // 3 s of headroom before trying a better tier
+
+    private volatile int level = FULL;
+    private volatile boolean locked = false; // debug: keep the current tier
+
+    // current window
+    private long windowStart = 0;
+    private long renderTotal = 0;
+    private int renderCount = 0;
+    private int goodWindows = 0;
+
+    // last completed window
+    private volatile double lastRenderMs = 0;
+    private volatile double lastBudgetMs = 0;
+
+    // Called after every render with its cost and the current frame interval
+    public void frameRendered(long now, long renderNanos, long frameInterval) {
+        if (windowStart == 0) {
+            windowStart = now;
+        }
+        renderTotal += renderNanos;
+        renderCount++;
+
+        if (now - windowStart < WINDOW) {
+            return;
+        }
+
+        double average = (double) renderTotal / renderCount;
+        double budget = frameInterval * BUDGET_SHARE;
+        lastRenderMs = average / 1_000_000.0;
+        lastBudgetMs = budget / 1_000_000.0;
+
+        windowStart = now;
+        renderTotal = 0;
+        renderCount = 0;
+
+        if (locked) {
+            return;
+        }
+
+        if (average > budget) {
+            goodWindows = 0;
+            if (level < CACHED_OVERLAYS) {
+                setLevel(level + 1);
+            }
+        } else if (average < budget * HEADROOM) {
+            goodWindows++;
+            if (goodWindows >= WINDOWS_BEFORE_UP && level > FULL) {
+                goodWindows = 0;
+                setLevel(level - 1);
+            }
+        } else {
+            goodWindows = 0;
+        }
+    }
+
+    private void setLevel(int newLevel) {
+        System.out.println(String.format("Quality: %s -> %s (render %.2f ms, budget %.2f ms)",
+                TIER_NAMES[level], TIER_NAMES[newLevel], lastRenderMs, lastBudgetMs));
+        level = newLevel;
+    }
+
+    // Debug: pin the tier (e.g. to compare costs) or hand control back to the governor
+    public void lock(int tier) {
+        level = Math.max(FULL, Math.min(CACHED_OVERLAYS, tier));
+        locked = true;
+    }
+
+    public void unlock() {
+        locked = false;
+        goodWindows = 0;
+    }
+
+    public boolean isLocked() {
+        return locked;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public String getLevelName() {
+        return TIER_NAMES[level];
+    }
+
+    public double getRenderTime() {
+        return lastRenderMs;
+    }
+
+    public double getBudget() {
+        return lastBudgetMs;
+    }
+
+    // QUERIES FOR EFFECT CODE
+
+    public boolean antialias() {
+        return level < NO_ANTIALIAS;
+    }
+
+    // How many of an effect's particles to draw
+    public int particles(int full) {
+        return level < FEW_PARTICLES ? full : Math.max(1, full / 4);
+    }
+
+    // Glows, pulses and gradient fills
+    public boolean glow() {
+        return level < NO_GLOW;
+    }
+
+    // Static overlay layers are drawn once into an image and reused
+    public boolean cacheOverlays() {
+        return level >= CACHED_OVERLAYS;
+    }
+
+    public void applyHints(Graphics2D g2) {
+        Object aa = antialias() ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF;
+        Object text = antialias() ? RenderingHints.VALUE_TEXT_ANTIALIAS_ON : RenderingHints.VALUE_TEXT_ANTIALIAS_OFF;
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, aa);
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, text);
+    }
+}
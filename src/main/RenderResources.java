@@ -0,0 +1,132 @@
+package main;
+
+import java.awt.*;
+
+// Fonts, colours, strokes and composites shared by all the draw code. They are
+// immutable, so one instance can be used every frame instead of a new
+// Font/Color/BasicStroke per draw call. Lookups take the same numbers the
+// constructors did, so draw code still reads font(Font.BOLD, 24) /
+// color(30, 30, 40, 200) in place. Each is made on first use; after that no
+// lookup allocates.
+public final class RenderResources {
+
+    public static final String FONT_NAME = "Arial";
+    public static final int MAX_FONT_SIZE = 128;
+
+    // STROKES
+    public static final BasicStroke STROKE_1 = new BasicStroke(1);
+    public static final BasicStroke STROKE_2 = new BasicStroke(2);
+    public static final BasicStroke STROKE_3 = new BasicStroke(3);
+    public static final BasicStroke ROUND_6 = new BasicStroke(6, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+    public static final BasicStroke ROUND_10 = new BasicStroke(10, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+    public static final BasicStroke DASHED_4 = new BasicStroke(4, BasicStroke.CAP_BUTT,
+            BasicStroke.JOIN_MITER, 10, new float[] {10, 5}, 0);
+
+    // COMPOSITES (source over, by extra alpha 0-255) for fading cached images
+    private static final AlphaComposite[] alphas = new AlphaComposite[256];
+
+    // FONTS (indexed by style, then point size)
+    private static final Font[][] fonts = new Font[4][MAX_FONT_SIZE + 1];
+
+    // COLOURS (open addressing on the packed ARGB value; 0 marks an empty slot,
+    // so fully transparent black is kept on its own)
+    private static int[] colorKeys = new int[256];
+    private static Color[] colorValues = new Color[256];
+    private static int colorCount = 0;
+    private static final Color CLEAR = new Color(0, 0, 0, 0);
+
+    private RenderResources() {
+    }
+
+    public static Font font(int style, int size) {
+        Font font = fonts[style][size];
+        if (font == null) {
+            font = new Font(FONT_NAME, style, size);
+            fonts[style][size] = font;
+        }
+        return font;
+    }
+
+    public static AlphaComposite alpha(int alpha) {
+        AlphaComposite composite = alphas[alpha];
+        if (composite == null) {
+            composite = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha / 255f);
+            alphas[alpha] = composite;
+        }
+        return composite;
+    }
+
+    public static Color color(int r, int g, int b) {
+        return color(r, g, b, 255);
+    }
+
+    public static synchronized Color color(int r, int g, int b, int a) {
+        int argb = ((a & 0xFF) << 24) | ((r & 0xFF) << 16) | ((g & 0xFF) << 8) | (b & 0xFF);
+        if (argb == 0) return CLEAR;
+
+        int mask = colorKeys.length - 1;
+        int slot = mix(argb) & mask;
+        while (colorKeys[slot] != 0) {
+            if (colorKeys[slot] == argb) return colorValues[slot];
+            slot = (slot + 1) & mask;
+        }
+
+        Color color = new Color(r, g, b, a);
+        colorKeys[slot] = argb;
+        colorValues[slot] = color;
+        if (++colorCount * 2 > colorKeys.length) {
+            grow();
+        }
+        return color;
+    }
+
+    // The same colour with a different alpha (pulses, glows)
+    public static Color withAlpha(Color color, int alpha) {
+        return color(color.getRed(), color.getGreen(), color.getBlue(), alpha);
+    }
+
+    // Color.brighter() / darker() without the new Color each call
+    public static Color brighter(Color color) {
+        int r = color.getRed(), g = color.getGreen(), b = color.getBlue();
+        int i = (int) (1.0 / (1.0 - 0.7));
+        if (r == 0 && g == 0 && b == 0) {
+            return color(i, i, i, color.getAlpha());
+        }
+        if (r > 0 && r < i) r = i;
+        if (g > 0 && g < i) g = i;
+        if (b > 0 && b < i) b = i;
+        return color(Math.min((int) (r / 0.7), 255), Math.min((int) (g / 0.7), 255),
+                Math.min((int) (b / 0.7), 255), color.getAlpha());
+    }
+
+    public static Color darker(Color color) {
+        return color(Math.max((int) (color.getRed() * 0.7), 0), Math.max((int) (color.getGreen() * 0.7), 0),
+                Math.max((int) (color.getBlue() * 0.7), 0), color.getAlpha());
+    }
+
+    public static synchronized int getColorCount() {
+        return colorCount;
+    }
+
+    private static void grow() {
+        int[] oldKeys = colorKeys;
+        Color[] oldValues = colorValues;
+        colorKeys = new int[oldKeys.length * 2];
+        colorValues = new Color[oldKeys.length * 2];
+        int mask = colorKeys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == 0) continue;
+            int slot = mix(oldKeys[i]) & mask;
+            while (colorKeys[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            colorKeys[slot] = oldKeys[i];
+            colorValues[slot] = oldValues[i];
+        }
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
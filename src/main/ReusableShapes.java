@@ -0,0 +1,42 @@
+package main;
+
+import java.awt.Graphics2D;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
+import java.awt.geom.RoundRectangle2D;
+
+// drawLine / fillOval / drawRoundRect and friends with one shape object reused per call.
+// With antialiasing or a wide stroke on, Java2D turns each of those calls into
+// a new Line2D / Ellipse2D / RoundRectangle2D; these draw the same shape without it.
+// Not thread safe: each drawing class keeps its own instance.
+public class ReusableShapes {
+
+    private final Ellipse2D.Float oval = new Ellipse2D.Float();
+    private final RoundRectangle2D.Float roundRect = new RoundRectangle2D.Float();
+    private final Line2D.Float line = new Line2D.Float();
+
+    public void drawLine(Graphics2D g2, int x1, int y1, int x2, int y2) {
+        line.setLine(x1, y1, x2, y2);
+        g2.draw(line);
+    }
+
+    public void fillOval(Graphics2D g2, int x, int y, int width, int height) {
+        oval.setFrame(x, y, width, height);
+        g2.fill(oval);
+    }
+
+    public void drawOval(Graphics2D g2, int x, int y, int width, int height) {
+        oval.setFrame(x, y, width, height);
+        g2.draw(oval);
+    }
+
+    public void fillRoundRect(Graphics2D g2, int x, int y, int width, int height, int arcWidth, int arcHeight) {
+        roundRect.setRoundRect(x, y, width, height, arcWidth, arcHeight);
+        g2.fill(roundRect);
+    }
+
+    public void drawRoundRect(Graphics2D g2, int x, int y, int width, int height, int arcWidth, int arcHeight) {
+        roundRect.setRoundRect(x, y, width, height, arcWidth, arcHeight);
+        g2.draw(roundRect);
+    }
+}
@@ -0,0 +1,175 @@
+package main;
+
+import java.util.Arrays;
+
+// Delayed actions that run on the simulation thread, driven by GameClock ticks.
+// A hashed timer wheel: each task sits in the bucket for (due tick % WHEEL_SIZE),
+// so advancing one tick only looks at one bucket. Tasks live in a pooled
+// struct-of-arrays with a free list, so scheduling allocates nothing once the
+// pool has grown to the peak number of pending tasks.
+public class TaskScheduler {
+
+    public static final long NO_TASK = 0;
+
+    private static final int WHEEL_SIZE = 64; // power of two
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int NONE = -1;
+    private static final int READY = -2; // detached from the wheel, about to run
+
+    private final int[] wheel = new int[WHEEL_SIZE]; // first task per bucket
+
+    // TASK POOL
+    private Runnable[] actions;
+    private long[] dueTick;
+    private int[] next, prev;
+    private int[] bucketOf;
+    private int[] generation; // bumped on release so stale handles can't cancel a reused slot
+    private int freeHead = NONE;
+    private int pending = 0;
+
+    private long currentTick;
+
+    public TaskScheduler(long startTick) {
+        currentTick = startTick;
+        Arrays.fill(wheel, NONE);
+        grow(16);
+    }
+
+    // Runs action after delayTicks ticks (at least one). Returns a handle for cancel().
+    public long schedule(Runnable action, long delayTicks) {
+        if (delayTicks < 1) delayTicks = 1;
+        if (freeHead == NONE) {
+            grow(actions.length * 2);
+        }
+
+        int i = freeHead;
+        freeHead = next[i];
+
+        actions[i] = action;
+        dueTick[i] = currentTick + delayTicks;
+        link(i, (int) (dueTick[i] & WHEEL_MASK));
+        pending++;
+
+        return ((long) generation[i] << 32) | i;
+    }
+
+    public boolean cancel(long handle) {
+        int i = indexOf(handle);
+        if (i == NONE) return false;
+
+        if (bucketOf[i] == READY) {
+            actions[i] = null; // already detached; advanceTo() will skip and release it
+        } else {
+            unlink(i);
+            release(i);
+        }
+        return true;
+    }
+
+    public boolean isPending(long handle) {
+        return indexOf(handle) != NONE;
+    }
+
+    public int getPendingCount() {
+        return pending;
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    // Runs everything that is due up to and including the given tick
+    public void advanceTo(long tick) {
+        while (currentTick < tick) {
+            currentTick++;
+            runBucket((int) (currentTick & WHEEL_MASK));
+        }
+    }
+
+    private void runBucket(int bucket) {
+        // Detach the due tasks first so actions can freely schedule and cancel
+        int ready = NONE;
+        int i = wheel[bucket];
+        while (i != NONE) {
+            int following = next[i];
+            if (dueTick[i] <= currentTick) {
+                unlink(i);
+                bucketOf[i] = READY;
+                next[i] = ready;
+                ready = i;
+            }
+            i = following;
+        }
+
+        // Buckets are newest-first and the walk above reversed that again,
+        // so tasks run in the order they were scheduled
+        while (ready != NONE) {
+            int following = next[ready];
+            Runnable action = actions[ready];
+            release(ready);
+            if (action != null) {
+                action.run();
+            }
+            ready = following;
+        }
+    }
+
+    private int indexOf(long handle) {
+        int i = (int) handle;
+        int gen = (int) (handle >>> 32);
+        if (handle == NO_TASK || i < 0 || i >= actions.length) return NONE;
+        if (generation[i] != gen || bucketOf[i] == NONE) return NONE;
+        if (bucketOf[i] == READY && actions[i] == null) return NONE; // cancelled while ready
+        return i;
+    }
+
+    private void link(int i, int bucket) {
+        // Buckets are unordered, so just push to the front
+        bucketOf[i] = bucket;
+        prev[i] = NONE;
+        next[i] = wheel[bucket];
+        if (wheel[bucket] != NONE) {
+            prev[wheel[bucket]] = i;
+        }
+        wheel[bucket] = i;
+    }
+
+    private void unlink(int i) {
+        int bucket = bucketOf[i];
+        if (prev[i] != NONE) {
+            next[prev[i]] = next[i];
+        } else {
+            wheel[bucket] = next[i];
+        }
+        if (next[i] != NONE) {
+            prev[next[i]] = prev[i];
+        }
+    }
+
+    private void release(int i) {
+        actions[i] = null;
+        bucketOf[i] = NONE;
+        generation[i]++;
+        if (generation[i] == 0) generation[i] = 1; // keep handles non-zero
+        next[i] = freeHead;
+        freeHead = i;
+        pending--;
+    }
+
+    private void grow(int capacity) {
+        int old = actions == null ? 0 : actions.length;
+        actions = actions == null ? new Runnable[capacity] : Arrays.copyOf(actions, capacity);
+        dueTick = dueTick == null ? new long[capacity] : Arrays.copyOf(dueTick, capacity);
+        next = next == null ? new int[capacity] : Arrays.copyOf(next, capacity);
+        prev = prev == null ? new int[capacity] : Arrays.copyOf(prev, capacity);
+        bucketOf = bucketOf == null ? new int[capacity] : Arrays.copyOf(bucketOf, capacity);
+        generation = generation == null ? new int[capacity] : Arrays.copyOf(generation, capacity);
+
+        for (int i = capacity - 1; i >= old; i--) {
+            bucketOf[i] = NONE;
+            generation[i] = 1;
+            next[i] = freeHead;
+            freeHead = i;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package main;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+// Centered overlay text, measured and drawn two ways:
+//   bounds   - getStringBounds + drawString (UI.getXforCenteredText before)
+//   width    - FontMetrics.stringWidth + drawString (every centered string now)
+// Each is timed measuring only and measuring plus drawing, with text
+// antialiasing off and on, and the two are checked to put every string at
+// the same x.
+// Usage: java -cp <classes> main.TextBenchmark [rounds]
+public class TextBenchmark {
+
+    static final int WIDTH = 768, HEIGHT = 576;
+
+    // The overlay screens' text: {style, size, string}
+    static final Object[][] TEXT = {
+            {Font.BOLD, 80, "PAUSED"},
+            {Font.PLAIN, 24, "Press P to RESUME"},
+            {Font.BOLD, 60, "SETTINGS"},
+            {Font.PLAIN, 30, "R - Restart Level"},
+            {Font.PLAIN, 30, "L - Back to Lobby"},
+            {Font.PLAIN, 30, "F - Frame Rate: 60"},
+            {Font.PLAIN, 30, "Q - Quit Game"},
+            {Font.PLAIN, 30, "ESC - Back to Game"},
+            {Font.BOLD, 60, "TIME'S UP!"},
+            {Font.PLAIN, 24, "Level 3 Failed"},
+            {Font.PLAIN, 20, "Press R to Retry Level"},
+            {Font.PLAIN, 20, "Press Q to Quit"},
+            {Font.BOLD, 60, "LEVEL 3 COMPLETE!"},
+            {Font.PLAIN, 24, "Advancing to Level 4..."},
+            {Font.BOLD, 14, "Drag from one terminal to its matching pair to connect wires"},
+            {Font.BOLD, 14, "Connect all 4 wire pairs to restore power!"},
+            {Font.BOLD, 14, "Press R to reset, ESC to exit"},
+    };
+
+    public static void main(String[] args) {
+        BenchmarkHarness.headless();
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+
+        BufferedImage screen = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = screen.createGraphics();
+
+        System.out.println("=== Centered text (" + TEXT.length + " strings, " + rounds + " rounds) ===");
+        System.out.println("              ns/string measured   ns/string measured+drawn");
+        System.out.println("  Text AA     bounds     width      bounds     width   Same x");
+
+        for (int aa = 0; aa <= 1; aa++) {
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+                    aa == 1 ? RenderingHints.VALUE_TEXT_ANTIALIAS_ON : RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+            double[] measured = new double[2];
+            double[] drawn = new double[2];
+            for (int method = 0; method < 2; method++) {
+                measured[method] = run(g2, rounds, method, false);
+                drawn[method] = run(g2, rounds, method, true);
+            }
+            System.out.printf("  %-7s %9.0f %9.0f   %9.0f %9.0f   %s%n", aa == 1 ? "on" : "off",
+                    measured[0], measured[1], drawn[0], drawn[1], sameX(g2) ? "yes" : "NO");
+        }
+        g2.dispose();
+    }
+
+    static int sink = 0; // keeps the measuring from being optimised away
+
+    // ns per string
+    static double run(Graphics2D g2, int rounds, int method, boolean draw) {
+        double msPerRound = BenchmarkHarness.time(rounds, round -> {
+            for (int i = 0; i < TEXT.length; i++) {
+                g2.setFont(RenderResources.font((Integer) TEXT[i][0], (Integer) TEXT[i][1]));
+                sink += drawCentered(g2, (String) TEXT[i][2], 40 + i * 30, method, draw);
+            }
+        });
+        return msPerRound * 1_000_000.0 / TEXT.length;
+    }
+
+    static int drawCentered(Graphics2D g2, String text, int y, int method, boolean draw) {
+        int x;
+        if (method == 0) {
+            x = WIDTH / 2 - (int) g2.getFontMetrics().getStringBounds(text, g2).getWidth() / 2;
+        } else {
+            x = (WIDTH - g2.getFontMetrics().stringWidth(text)) / 2;
+        }
+        if (draw) {
+            g2.drawString(text, x, y);
+        }
+        return x;
+    }
+
+    // Both ways of measuring give every string the same width, so
+    // UI.getXforCenteredText still puts it at the same x
+    static boolean sameX(Graphics2D g2) {
+        for (int i = 0; i < TEXT.length; i++) {
+            g2.setFont(RenderResources.font((Integer) TEXT[i][0], (Integer) TEXT[i][1]));
+            String text = (String) TEXT[i][2];
+            FontMetrics fm = g2.getFontMetrics();
+            if ((int) fm.getStringBounds(text, g2).getWidth() != fm.stringWidth(text)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
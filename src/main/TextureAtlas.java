@@ -0,0 +1,218 @@
+package main;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.HashMap;
+
+// Packs sprites into a few large images ("pages") so drawing blits regions of
+// one shared surface instead of switching between one surface per sprite.
+// Sprites are added as they are loaded, at the size they are drawn, and placed
+// with shelf packing: left to right along a row, then a new row, then a new page.
+// Adding a name that is already packed returns the existing sprite id, so a new
+// level's TileManager reuses the regions of the last one.
+// Each sprite is packed twice: as drawn, and at 1/lowScale (every lowScale-th
+// pixel, the 16 px source of the 48 px art) for the low resolution world. A draw
+// at the small copy's size blits it 1:1 instead of shrinking the big one.
+// The tile prefetch thread bakes from the atlas while a level may still be
+// adding to it, so the pages and the region table are never changed in place:
+// add builds new copies and publishes them through volatile fields.
+public class TextureAtlas {
+
+    public static final int PAGE_SIZE = 512;
+    public static final int NO_SPRITE = -1;
+
+    private volatile BufferedImage[] pages = new BufferedImage[0]; // copied on add, read from any thread
+    private final HashMap<String, Integer> ids = new HashMap<>();
+
+    // REGION TABLE: sprite i is page regions[i * REGION], then x, y, width and height,
+    // then the same five for its low resolution copy. Copied on add, read from any thread.
+    private static final int REGION = 10;
+    private static final int LOW = 5;
+    private volatile int[] regions = new int[0];
+    private int count = 0;
+    private final int lowScale;
+
+    // Shelf packing cursor on the last page
+    private int shelfX = 0, shelfY = 0, shelfHeight = 0;
+
+    // STATS
+    private long spriteBytes = 0; // what the sprites take as separate images
+    private int lastSprite = NO_SPRITE, lastPage = -1;
+    private int draws = 0, spriteSwitches = 0, pageSwitches = 0;
+    private int frameDraws = 0, frameSpriteSwitches = 0, framePageSwitches = 0; // last completed frame
+
+    public TextureAtlas() {
+        this(1);
+    }
+
+    // lowScale: how much smaller the low resolution world is (1 = no low copies)
+    public TextureAtlas(int lowScale) {
+        this.lowScale = lowScale;
+    }
+
+    // Packs an image scaled to width x height and returns its sprite id (NO_SPRITE for no image)
+    public synchronized int add(String name, BufferedImage image, int width, int height) {
+        Integer id = ids.get(name);
+        if (id != null) return id;
+        if (image == null) return NO_SPRITE;
+
+        if (width > PAGE_SIZE || height > PAGE_SIZE) {
+            throw new IllegalArgumentException("Sprite " + name + " is larger than an atlas page");
+        }
+
+        // The sprite as drawn (nearest neighbour, as drawImage scales by default)
+        BufferedImage sized = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = sized.createGraphics();
+        g2.setComposite(AlphaComposite.Src); // copy alpha as is
+        g2.drawImage(image, 0, 0, width, height, null);
+        g2.dispose();
+
+        // The region goes out after its pixels, so whoever sees it sees the sprite
+        int sprite = count++;
+        int[] grown = Arrays.copyOf(regions, count * REGION);
+        int i = sprite * REGION;
+        pack(sized, grown, i);
+        if (lowScale > 1 && width >= lowScale && height >= lowScale) {
+            pack(shrink(sized), grown, i + LOW);
+        } else {
+            System.arraycopy(grown, i, grown, i + LOW, LOW); // no copy: the sprite is its own
+        }
+        regions = grown;
+
+        ids.put(name, sprite);
+        return sprite;
+    }
+
+    // Every lowScale-th pixel, from the middle of each lowScale x lowScale block:
+    // the pixels a nearest-neighbour 1/lowScale blit of the sprite picks
+    private BufferedImage shrink(BufferedImage sized) {
+        int width = sized.getWidth() / lowScale;
+        int height = sized.getHeight() / lowScale;
+        int offset = lowScale / 2;
+        BufferedImage low = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                low.setRGB(x, y, sized.getRGB(x * lowScale + offset, y * lowScale + offset));
+            }
+        }
+        return low;
+    }
+
+    // Copies image 1:1 into the next free space and writes its region at region[i..i+4]
+    private void pack(BufferedImage image, int[] region, int i) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+
+        // Next shelf, or next page
+        if (pages.length == 0 || shelfX + width > PAGE_SIZE) {
+            shelfX = 0;
+            shelfY += shelfHeight;
+            shelfHeight = 0;
+        }
+        if (pages.length == 0 || shelfY + height > PAGE_SIZE) {
+            BufferedImage[] grown = Arrays.copyOf(pages, pages.length + 1);
+            grown[pages.length] = createPage();
+            pages = grown;
+            shelfX = shelfY = shelfHeight = 0;
+        }
+
+        Graphics2D g2 = pages[pages.length - 1].createGraphics();
+        g2.setComposite(AlphaComposite.Src); // copy alpha as is
+        g2.drawImage(image, shelfX, shelfY, null);
+        g2.dispose();
+
+        region[i] = pages.length - 1;
+        region[i + 1] = shelfX;
+        region[i + 2] = shelfY;
+        region[i + 3] = width;
+        region[i + 4] = height;
+
+        shelfX += width;
+        shelfHeight = Math.max(shelfHeight, height);
+        spriteBytes += (long) width * height * 4;
+    }
+
+    public synchronized int getId(String name) {
+        Integer id = ids.get(name);
+        return id != null ? id : NO_SPRITE;
+    }
+
+    private BufferedImage createPage() {
+        BufferedImage page = UtilityTool.createCompatible(PAGE_SIZE, PAGE_SIZE, Transparency.TRANSLUCENT);
+        UtilityTool.track("atlas page " + (pages.length + 1), page);
+        return page;
+    }
+
+    // Render thread: draws a sprite and counts the surface switches it saves
+    public void draw(Graphics2D g2, int sprite, int x, int y, int width, int height) {
+        draws++;
+        if (sprite != lastSprite) {
+            spriteSwitches++; // separate images: a new surface for every change of sprite
+            lastSprite = sprite;
+            int page = regions[sprite * REGION];
+            if (page != lastPage) {
+                pageSwitches++;
+                lastPage = page;
+            }
+        }
+        bake(g2, sprite, x, y, width, height);
+    }
+
+    // Draws a sprite without counting it (cached layers, other threads)
+    public void bake(Graphics2D g2, int sprite, int x, int y, int width, int height) {
+        int[] region = regions; // read before pages: a published region's page is always there
+        int i = sprite * REGION;
+        if (width == region[i + LOW + 3] && height == region[i + LOW + 4]) {
+            i += LOW; // the low resolution copy's size: blit it 1:1
+        }
+        int sx = region[i + 1];
+        int sy = region[i + 2];
+        g2.drawImage(pages[region[i]], x, y, x + width, y + height,
+                sx, sy, sx + region[i + 3], sy + region[i + 4], null);
+    }
+
+    // Call once per rendered frame to publish its counts
+    public void endFrame() {
+        frameDraws = draws;
+        frameSpriteSwitches = spriteSwitches;
+        framePageSwitches = pageSwitches;
+        draws = spriteSwitches = pageSwitches = 0;
+        lastSprite = NO_SPRITE;
+        lastPage = -1;
+    }
+
+    public int getSpriteCount() {
+        return count;
+    }
+
+    public int getPageCount() {
+        return pages.length;
+    }
+
+    public long getSpriteBytes() {
+        return spriteBytes;
+    }
+
+    public long getPageBytes() {
+        return (long) pages.length * PAGE_SIZE * PAGE_SIZE * 4;
+    }
+
+    public int getFrameDraws() {
+        return frameDraws;
+    }
+
+    public int getFrameSpriteSwitches() {
+        return frameSpriteSwitches;
+    }
+
+    public int getFramePageSwitches() {
+        return framePageSwitches;
+    }
+
+    public synchronized String report() {
+        return String.format("Atlas: %d sprites on %d page(s) - %d surfaces -> %d, %d KB of sprites in %d KB of pages (%.0f%% used)",
+                count, pages.length, count, pages.length, spriteBytes / 1024, getPageBytes() / 1024,
+                getPageBytes() == 0 ? 0 : 100.0 * spriteBytes / getPageBytes());
+    }
+}
@@ -0,0 +1,105 @@
+package main;
+
+import tile.TileManager;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.PrintStream;
+
+// Tile drawing cost against world size. The same 768x576 view is drawn from
+// worlds of 50x50 up to 4096x4096 tiles (worldmap001 repeated), three ways:
+//   scan     - every tile in the world gets a visibility test (the old draw loop)
+//   window   - only the visible column/row range is visited
+//   chunked  - TileManager.draw, visible range of cached chunks
+// Usage: java -cp <classes>:<project root> main.TileBenchmark [frames]
+public class TileBenchmark {
+
+    static final int[] SIZES = {50, 256, 1024, 4096};
+    static final int STEP = 4; // camera pixels per frame, diagonally
+
+    public static void main(String[] args) {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+
+        PrintStream out = BenchmarkHarness.silence(); // world setup logging
+        GameWorld world = BenchmarkHarness.createWorld();
+        TileManager base = world.tileM;
+        BufferedImage screen = new BufferedImage(world.screenWidth, world.screenHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = screen.createGraphics();
+
+        out.println("=== Tile draw cost vs world size (" + frames + " frames) ===");
+        out.println("      World      Tiles     scan ms   window ms  chunked ms");
+
+        for (int size : SIZES) {
+            TileManager tileM = new TileManager(world, "worldmap001");
+            int[] tiles = new int[size * size];
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    tiles[row * size + col] = base.getTileNum(col % base.mapCols, row % base.mapRows);
+                }
+            }
+            tileM.setMap(size, size, tiles);
+            world.tileM = tileM;
+
+            // The full scan gets slow on big worlds; fewer frames still give a stable average
+            int scanFrames = Math.max(5, (int) ((long) frames * 2500 / ((long) size * size)));
+            scanFrames = Math.min(frames, scanFrames);
+
+            double scan = run(world, g2, scanFrames, 0);
+            double window = run(world, g2, frames, 1);
+            double chunked = run(world, g2, frames, 2);
+            out.printf("%5d x %-5d %9d  %10.3f  %10.3f  %10.3f%n", size, size, size * size, scan, window, chunked);
+        }
+
+        g2.dispose();
+        BenchmarkHarness.restore();
+    }
+
+    // ms per frame for one draw method, with the camera moving the same way on every world
+    static double run(GameWorld world, Graphics2D g2, int frames, int method) {
+        TileManager tileM = world.tileM;
+        int maxX = tileM.mapCols * world.tileSize - world.screenWidth;
+        int maxY = tileM.mapRows * world.tileSize - world.screenHeight;
+
+        return BenchmarkHarness.time(frames, frame -> {
+            int cameraX = (frame * STEP) % maxX;
+            int cameraY = (frame * STEP) % maxY;
+
+            if (method == 0) {
+                drawScan(world, g2, cameraX, cameraY);
+            } else if (method == 1) {
+                drawWindow(world, g2, cameraX, cameraY);
+            } else {
+                world.player.setPosition(cameraX + world.player.screenX, cameraY + world.player.screenY);
+                world.player.savePreviousPosition();
+                world.camera.beginFrame(1);
+                tileM.draw(g2);
+            }
+        });
+    }
+
+    static void drawScan(GameWorld world, Graphics2D g2, int cameraX, int cameraY) {
+        TileManager tileM = world.tileM;
+        int tileSize = world.tileSize;
+        for (int col = 0; col < tileM.mapCols; col++) {
+            for (int row = 0; row < tileM.mapRows; row++) {
+                int worldX = col * tileSize;
+                int worldY = row * tileSize;
+                if (worldX + tileSize > cameraX && worldX < cameraX + world.screenWidth &&
+                        worldY + tileSize > cameraY && worldY < cameraY + world.screenHeight) {
+                    g2.drawImage(tileM.tile[tileM.getTileNum(col, row)].image, worldX - cameraX, worldY - cameraY,
+                            tileSize, tileSize, null);
+                }
+            }
+        }
+    }
+
+    static void drawWindow(GameWorld world, Graphics2D g2, int cameraX, int cameraY) {
+        TileManager tileM = world.tileM;
+        int tileSize = world.tileSize;
+        int col0 = cameraX / tileSize;
+        int row0 = cameraY / tileSize;
+        int col1 = Math.min(tileM.mapCols, (cameraX + world.screenWidth + tileSize - 1) / tileSize);
+        int row1 = Math.min(tileM.mapRows, (cameraY + world.screenHeight + tileSize - 1) / tileSize);
+        tileM.drawTiles(g2, col0, row0, col1, row1, -cameraX, -cameraY);
+    }
+}
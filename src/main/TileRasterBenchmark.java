@@ -0,0 +1,133 @@
+package main;
+
+import tile.TileManager;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.PrintStream;
+import java.util.Arrays;
+
+// Tile layer throughput, in tiles per millisecond, for worlds of 50x50 up to
+// 1024x1024 tiles at zoom 1 and zoomed out to 0.5, three ways:
+//   chunks   - TileManager.draw, cached chunk images blitted with drawImage
+//   layer    - TileRaster.draw, tile rows copied into an int[] layer, one drawImage
+//   direct   - TileRaster.draw writing straight into the frame's DataBufferInt (zoom 1 only)
+// Before timing, chunks, layer and (at zoom 1) direct are checked pixel for pixel
+// at a spread of camera positions, at each zoom.
+// Usage: java -cp <classes>:<project root> main.TileRasterBenchmark [frames]
+public class TileRasterBenchmark {
+
+    static final int[] SIZES = {50, 256, 1024};
+    static final float[] ZOOMS = {1f, 0.5f};
+    static final int STEP = 5; // camera pixels per frame, diagonally
+
+    public static void main(String[] args) {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+
+        PrintStream out = BenchmarkHarness.silence(); // world setup logging
+        GameWorld world = BenchmarkHarness.createWorld();
+        TileManager base = world.tileM;
+        BufferedImage screen = new BufferedImage(world.screenWidth, world.screenHeight, BufferedImage.TYPE_INT_RGB);
+        int[] pixels = ((DataBufferInt) screen.getRaster().getDataBuffer()).getData();
+        Graphics2D g2 = screen.createGraphics();
+
+        out.println("=== Tile layer throughput (" + frames + " frames) ===");
+        out.println("      World   Zoom   Tiles/frame   chunks t/ms   layer t/ms   direct t/ms   Pixels");
+
+        for (int size : SIZES) {
+            TileManager tileM = new TileManager(world, "worldmap001");
+            int[] tiles = new int[size * size];
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    tiles[row * size + col] = base.getTileNum(col % base.mapCols, row % base.mapRows);
+                }
+            }
+            tileM.setMap(size, size, tiles);
+            world.tileM = tileM;
+
+            for (float zoom : ZOOMS) {
+                world.camera.setZoom(zoom);
+                String same = samePixels(world) ? "same" : "DIFFER";
+                double chunks = run(world, g2, null, frames, false);
+                double layer = run(world, g2, null, frames, true);
+                double direct = zoom == 1 ? run(world, g2, pixels, frames, true) : 0;
+                int perFrame = tilesPerFrame(world);
+                out.printf("%5d x %-5d %4.1f %13d %13.0f %12.0f %13s   %s%n", size, size, zoom, perFrame,
+                        perFrame / chunks, perFrame / layer, zoom == 1 ? String.format("%.0f", perFrame / direct) : "-", same);
+            }
+            world.camera.setZoom(1);
+        }
+
+        TileManager.rasterTiles = false;
+        g2.dispose();
+        BenchmarkHarness.restore();
+    }
+
+    // direct != null draws into that array
+    static double run(GameWorld world, Graphics2D g2, int[] direct, int frames, boolean raster) {
+        TileManager.rasterTiles = raster;
+        return BenchmarkHarness.time(frames, frame -> {
+            moveCamera(world, frame);
+            if (direct != null) {
+                world.tileM.draw(g2, direct, world.screenWidth, world.screenHeight);
+            } else {
+                world.camera.pushTransform(g2);
+                world.tileM.draw(g2);
+                world.camera.popTransform(g2);
+            }
+        });
+    }
+
+    // The camera moves diagonally across the world, the same way for every method
+    static void moveCamera(GameWorld world, int frame) {
+        TileManager tileM = world.tileM;
+        int maxX = tileM.mapCols * world.tileSize - world.screenWidth;
+        int maxY = tileM.mapRows * world.tileSize - world.screenHeight;
+        world.player.setPosition((frame * STEP) % maxX + world.player.screenX, (frame * STEP) % maxY + world.player.screenY);
+        world.player.savePreviousPosition();
+        world.camera.beginFrame(1);
+    }
+
+    // Tiles touched by one view, for the view at the camera's current zoom
+    static int tilesPerFrame(GameWorld world) {
+        int tileSize = world.tileSize;
+        return (world.camera.viewWidth / tileSize + 1) * (world.camera.viewHeight / tileSize + 1);
+    }
+
+    // TileManager.draw and the int[] paths give the same frame at every camera position tried
+    static boolean samePixels(GameWorld world) {
+        int width = world.screenWidth, height = world.screenHeight;
+        BufferedImage chunks = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        BufferedImage layer = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        BufferedImage direct = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        int[] directPixels = ((DataBufferInt) direct.getRaster().getDataBuffer()).getData();
+        for (int frame = 0; frame < 400; frame += 37) {
+            moveCamera(world, frame * 7);
+            TileManager.rasterTiles = false;
+            Graphics2D g2 = chunks.createGraphics();
+            world.camera.pushTransform(g2);
+            world.tileM.draw(g2);
+            g2.dispose();
+            TileManager.rasterTiles = true;
+            g2 = layer.createGraphics();
+            world.camera.pushTransform(g2);
+            world.tileM.draw(g2);
+            g2.dispose();
+            int[] expected = chunks.getRGB(0, 0, width, height, null, 0, width);
+            if (!Arrays.equals(expected, layer.getRGB(0, 0, width, height, null, 0, width))) {
+                return false;
+            }
+            if (world.camera.viewWidth == width) {
+                g2 = direct.createGraphics();
+                world.tileM.draw(g2, directPixels, width, height);
+                g2.dispose();
+                if (!Arrays.equals(expected, direct.getRGB(0, 0, width, height, null, 0, width))) {
+                    return false;
+                }
+            }
+        }
+        TileManager.rasterTiles = false;
+        return true;
+    }
+}
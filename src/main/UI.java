@@ -1,5 +1,6 @@
 package main;
 
+import entity.Player;
 import obj.OBJ_Heart;
 import obj.SuperObject;
 
@@ -14,38 +15,96 @@ public class UI {
     GamePanel gp;
     Graphics2D g2;
     BufferedImage heart_full, heart_half, heart_blank;
+    int heartFullSprite, heartHalfSprite, heartBlankSprite; // the same images in the world's atlas
     BufferedImage tool1Image, tool2Image, tool3Image, tool4Image;
     BufferedImage postIcon;
     public int commandNum = 0;
 
+    // CACHED HUD (redrawn only when what they show changes)
+    HudWidget lifeWidget, toolsWidget, postWidget;
+
+    // HUD LAYOUT (the painters and their widgets' areas both come from these)
+    static final int ICON_SIZE = 32;    // tool and post icons
+    static final int TOOL_SPACING = 40; // from one tool icon to the next
+    static final int TOOLS_Y = 60;      // top of the tool icons
+    static final int POST_MARGIN = 20;  // post icon's gap to the top and right edges
+    static final int LABEL_ROOM = 24;   // a line of HUD text above or below an icon
+    private final FadedImage[] postGlow = new FadedImage[2]; // without / with antialiasing
+
+    // MENUS (cached; redrawn only when the selection changes)
+    BufferedImage titleBackground; // title art, scaled to the screen once
+    MenuLayer titleMenu, levelSelectMenu;
+    private static final String[] MENU_ITEMS = {"START", "LOAD GAME", "QUIT"};
+    private static final String[] LEVEL_SELECT_INSTRUCTIONS = {
+            "Use ARROW KEYS or WASD to Navigate",
+            "Press ENTER to Start level",
+            "Press ESC to go back"
+    };
+
     public boolean inLevelSelect = false;
     public int selectedLevel = 1;
     public UI(GamePanel gp) {
         this.gp = gp;
 
+        // Hearts start half a tile in; the widget leaves half a tile after them too
+        int hearts = gp.world.player.maxLife / 2;
+        lifeWidget = new HudWidget(0, 0, (hearts + 1) * gp.tileSize, 2 * gp.tileSize, this::drawPlayerLife);
+        // Tool icons centred, label above, status dots hanging into the gap after each icon
+        int gap = TOOL_SPACING - ICON_SIZE;
+        int toolsWidth = 4 * TOOL_SPACING - gap;
+        toolsWidget = new HudWidget((gp.screenWidth - toolsWidth) / 2 - gap, TOOLS_Y - LABEL_ROOM,
+                toolsWidth + 2 * gap, LABEL_ROOM + ICON_SIZE + gap, this::drawToolInventory);
+        // Post icon in the top right corner, its text centred under it
+        postWidget = new HudWidget(gp.screenWidth - ICON_SIZE - 2 * POST_MARGIN, 0,
+                ICON_SIZE + 2 * POST_MARGIN, POST_MARGIN + ICON_SIZE + LABEL_ROOM, this::drawPostIndicator);
+
+        titleMenu = new MenuLayer(gp.screenWidth, gp.screenHeight, this::drawTitleLayer, this::drawTitleCursor);
+        levelSelectMenu = new MenuLayer(gp.screenWidth, gp.screenHeight, this::drawLevelSelectLayer, this::drawLevelGrid);
+
         try {
-            tool1Image = javax.imageio.ImageIO.read(getClass().getClassLoader().getResourceAsStream("objects/tool1.png"));
-            tool2Image = javax.imageio.ImageIO.read(getClass().getClassLoader().getResourceAsStream("objects/tool2.png"));
-            tool3Image = javax.imageio.ImageIO.read(getClass().getClassLoader().getResourceAsStream("objects/tool3.png"));
-            tool4Image = javax.imageio.ImageIO.read(getClass().getClassLoader().getResourceAsStream("objects/tool4.png"));
+            tool1Image = loadIcon("objects/tool1.png");
+            tool2Image = loadIcon("objects/tool2.png");
+            tool3Image = loadIcon("objects/tool3.png");
+            tool4Image = loadIcon("objects/tool4.png");
 
-            postIcon = javax.imageio.ImageIO.read(getClass().getClassLoader().getResourceAsStream("objects/post.png"));
+            postIcon = loadIcon("objects/post.png");
         } catch (Exception e) {
             e.printStackTrace();
         }
 
+        try {
+            BufferedImage art = javax.imageio.ImageIO.read(
+                    getClass().getClassLoader().getResourceAsStream("objects/The Bukidnon Blackout.png"));
+            if (art != null) {
+                titleBackground = new UtilityTool().prepare("objects/The Bukidnon Blackout.png", art,
+                        gp.screenWidth, gp.screenHeight, true);
+            }
+        } catch (Exception e) {
+            // Title screen falls back to a black background
+            System.out.println("Title background not loaded: " + e.getMessage());
+        }
+
         // CREATE HUD OBJECTS
-        SuperObject heart = new OBJ_Heart(gp);
+        SuperObject heart = new OBJ_Heart(gp.world);
         heart_full = heart.image;
         heart_half = heart.image2;
         heart_blank = heart.image3;
+        heartFullSprite = gp.world.atlas.add("objects/heart_full", heart_full, gp.tileSize, gp.tileSize);
+        heartHalfSprite = gp.world.atlas.add("objects/heart_half", heart_half, gp.tileSize, gp.tileSize);
+        heartBlankSprite = gp.world.atlas.add("objects/heart_blank", heart_blank, gp.tileSize, gp.tileSize);
+    }
+
+    // HUD icons are drawn at 32x32
+    private BufferedImage loadIcon(String path) throws java.io.IOException {
+        BufferedImage image = javax.imageio.ImageIO.read(getClass().getClassLoader().getResourceAsStream(path));
+        return new UtilityTool().prepare(path + " (icon)", image, 32, 32, false);
     }
 
     public void draw(Graphics2D g2) {
         this.g2 = g2;
 
         // TITLE SCREEN
-        if(gp.gameState == gp.titleState) {
+        if(gp.world.gameState == GameWorld.titleState) {
             if (inLevelSelect) {
                 drawLevelSelectScreen(); // ADD THIS LINE
             } else {
@@ -54,74 +113,76 @@ public class UI {
         }
 
         // Draw HUD for all gameplay states except title
-        if(gp.gameState == gp.playState ||
-                gp.gameState == gp.pauseState ||
-                gp.gameState == gp.settingsState ||
-                gp.gameState == gp.gameOverState) {
-
-            drawPlayerLife();
-            drawToolInventory(g2);
-            drawPostIndicator(g2);
+        if(gp.world.gameState == GameWorld.playState ||
+                gp.world.gameState == GameWorld.pauseState ||
+                gp.world.gameState == GameWorld.settingsState ||
+                gp.world.gameState == GameWorld.gameOverState) {
+
+            Player player = gp.world.player;
+            long aa = gp.quality.antialias() ? 1 : 0;
+            int toolBits = 0;
+            for (int toolType = 1; toolType <= 4; toolType++) {
+                if (player.isToolCollected(toolType)) toolBits |= 1 << toolType;
+            }
+
+            lifeWidget.draw(g2, aa | player.life << 1 | (long) player.maxLife << 16);
+            toolsWidget.draw(g2, aa | player.toolsCollected << 1 | (long) toolBits << 16);
+            postWidget.draw(g2, aa | (gp.quality.glow() ? 2 : 0) | player.toolsCollected << 2);
+            drawPostGlow(g2);
         }
 
         // PAUSE STATE overlay
-        if(gp.gameState == gp.pauseState) {
+        if(gp.world.gameState == GameWorld.pauseState) {
             drawPauseScreen(g2);
         }
     }
 
-    private void drawPlayerLife() {
+    private void drawPlayerLife(Graphics2D g2) {
         int x = gp.tileSize/2;
         int y = gp.tileSize/2;
 
         // Calculate full and half hearts based on life points
-        int fullHearts = gp.player.life / 2;
-        int halfHearts = gp.player.life % 2;
-        int blankHearts = (gp.player.maxLife / 2) - fullHearts - halfHearts;
+        int fullHearts = gp.world.player.life / 2;
+        int halfHearts = gp.world.player.life % 2;
+        int blankHearts = (gp.world.player.maxLife / 2) - fullHearts - halfHearts;
 
         // Draw full hearts
         for (int i = 0; i < fullHearts; i++) {
-            g2.drawImage(heart_full, x, y, null);
+            gp.world.atlas.draw(g2, heartFullSprite, x, y, gp.tileSize, gp.tileSize);
             x += gp.tileSize;
         }
 
         // Draw half heart if needed
         if (halfHearts > 0) {
-            g2.drawImage(heart_half, x, y, null);
+            gp.world.atlas.draw(g2, heartHalfSprite, x, y, gp.tileSize, gp.tileSize);
             x += gp.tileSize;
         }
 
         // Draw blank hearts
         for (int i = 0; i < blankHearts; i++) {
-            g2.drawImage(heart_blank, x, y, null);
+            gp.world.atlas.draw(g2, heartBlankSprite, x, y, gp.tileSize, gp.tileSize);
             x += gp.tileSize;
         }
     }
 
     public void drawTitleScreen() {
+        titleMenu.draw(g2, gp.quality.antialias() ? 1 : 0, commandNum);
+    }
+
+    private void drawTitleLayer(Graphics2D g2) {
         // Draw background image if available
-        try {
-            BufferedImage backgroundImage = javax.imageio.ImageIO.read(
-                    getClass().getClassLoader().getResourceAsStream("objects/The Bukidnon Blackout.png"));
-            if (backgroundImage != null) {
-                // Scale image to fit screen
-                Image scaledImage = backgroundImage.getScaledInstance(gp.screenWidth, gp.screenHeight, Image.SCALE_SMOOTH);
-                g2.drawImage(scaledImage, 0, 0, gp.screenWidth, gp.screenHeight, null);
-            } else {
-                // Fallback to black background if image not found
-                g2.setColor(Color.BLACK);
-                g2.fillRect(0, 0, gp.screenWidth, gp.screenHeight);
-            }
-        } catch (Exception e) {
-            // Fallback to black background
+        if (titleBackground != null) {
+            g2.drawImage(titleBackground, 0, 0, null);
+        } else {
+            // Fallback to black background if image not found
             g2.setColor(Color.BLACK);
             g2.fillRect(0, 0, gp.screenWidth, gp.screenHeight);
         }
 
         // TITLE NAME - Keep but make it more visible on top of background
-        g2.setFont(new Font("Arial", Font.BOLD, 50));
+        g2.setFont(RenderResources.font(Font.BOLD, 50));
         String text = "THE BUKIDNON BLACKOUT";
-        int x = getXforCenteredText(text);
+        int x = getXforCenteredText(g2, text);
         int y = gp.tileSize * 2;
 
         // Text shadow for better visibility
@@ -135,57 +196,45 @@ public class UI {
         // PLAYER IMAGE
         x = gp.screenWidth/2 - (gp.tileSize*2)/2;
         y += gp.tileSize*1;
-        g2.drawImage(gp.player.down1, x , y, gp.tileSize * 2, gp.tileSize * 2, null);
+        g2.drawImage(gp.world.player.down1, x , y, gp.tileSize * 2, gp.tileSize * 2, null);
 
         // MENU - Add semi-transparent background for better readability
-        g2.setColor(new Color(0, 0, 0, 150));
+        g2.setColor(RenderResources.color(0, 0, 0, 150));
         g2.fillRoundRect(gp.screenWidth/2 - 180, y + gp.tileSize*2 - -15, 350, 250, 20, 15);
 
         g2.setColor(Color.WHITE);
-        g2.setFont(new Font("Arial", Font.BOLD, 40));
-
-        text = "START";
-        x = getXforCenteredText(text);
-        y += gp.tileSize*3.5;
-        g2.drawString(text, x, y);
-        if(commandNum == 0) {
-            g2.setColor(Color.YELLOW);
-            g2.drawString(">", x-gp.tileSize, y);
+        g2.setFont(RenderResources.font(Font.BOLD, 40));
+        for (int i = 0; i < MENU_ITEMS.length; i++) {
+            g2.drawString(MENU_ITEMS[i], getXforCenteredText(g2, MENU_ITEMS[i]), getMenuItemY(i));
         }
+    }
 
-        text = "LOAD GAME";
-        x = getXforCenteredText(text);
-        y += gp.tileSize;
-        g2.setColor(Color.WHITE);
-        g2.drawString(text, x, y);
-        if(commandNum == 1) {
-            g2.setColor(Color.YELLOW);
-            g2.drawString(">", x-gp.tileSize, y);
-        }
+    private void drawTitleCursor(Graphics2D g2) {
+        g2.setColor(Color.YELLOW);
+        g2.setFont(RenderResources.font(Font.BOLD, 40));
+        int x = getXforCenteredText(g2, MENU_ITEMS[commandNum]);
+        g2.drawString(">", x-gp.tileSize, getMenuItemY(commandNum));
+    }
 
-        text = "QUIT";
-        x = getXforCenteredText(text);
-        y += gp.tileSize;
-        g2.setColor(Color.WHITE);
-        g2.drawString(text, x, y);
-        if(commandNum == 2) {
-            g2.setColor(Color.YELLOW);
-            g2.drawString(">", x-gp.tileSize, y);
-        }
+    // Baseline of a title menu item: below the title and player image
+    private int getMenuItemY(int item) {
+        int y = gp.tileSize * 2 + gp.tileSize;
+        y += gp.tileSize*3.5;
+        return y + item * gp.tileSize;
     }
 
     public void drawPauseScreen(Graphics2D g2) {
-        g2.setColor(new Color(0, 0, 0, 150));
+        g2.setColor(RenderResources.color(0, 0, 0, 150));
         g2.fillRect(0, 0, gp.screenWidth, gp.screenHeight);
 
-        g2.setFont(new Font("Arial", Font.BOLD, 80));
+        g2.setFont(RenderResources.font(Font.BOLD, 80));
         g2.setColor(Color.YELLOW);
         String text = "PAUSED";
         int x = getXforCenteredText(text);
         int y = gp.screenHeight/2;
         g2.drawString(text, x, y);
 
-        g2.setFont(new Font("Arial", Font.PLAIN, 24));
+        g2.setFont(RenderResources.font(Font.PLAIN, 24));
         g2.setColor(Color.WHITE);
         String instruction = "Press P to RESUME";
         int x2 = getXforCenteredText(instruction);
@@ -193,21 +242,25 @@ public class UI {
     }
 
     public int getXforCenteredText(String text) {
-        int length = (int)g2.getFontMetrics().getStringBounds(text, g2).getWidth();
+        return getXforCenteredText(g2, text);
+    }
+
+    private int getXforCenteredText(Graphics2D g2, String text) {
+        int length = g2.getFontMetrics().stringWidth(text);
         return gp.screenWidth/2 - length/2;
     }
 
     private void drawToolInventory(Graphics2D g2) {
-        int iconSize = 32;
-        int spacing = 40;
+        int iconSize = ICON_SIZE;
+        int spacing = TOOL_SPACING;
 
         int totalWidth = (4 * spacing) - (spacing - iconSize);
         int startX = (gp.screenWidth - totalWidth) / 2;
-        int startY = 60;
+        int startY = TOOLS_Y;
 
         g2.setColor(Color.WHITE);
-        g2.setFont(new Font("Arial", Font.BOLD, 16));
-        String label = "TOOLS: " + gp.player.toolsCollected + "/4";
+        g2.setFont(RenderResources.font(Font.BOLD, 16));
+        String label = "TOOLS: " + gp.world.player.toolsCollected + "/4";
         int labelWidth = g2.getFontMetrics().stringWidth(label);
         g2.drawString(label, (gp.screenWidth - labelWidth) / 2, startY - 3);
 
@@ -217,12 +270,12 @@ public class UI {
             BufferedImage toolImage = getToolImage(toolType);
             g2.drawImage(toolImage, x, startY, iconSize, iconSize, null);
 
-            boolean hasTool = gp.player.isToolCollected(toolType);
+            boolean hasTool = gp.world.player.isToolCollected(toolType);
             g2.setColor(hasTool ? Color.GREEN : Color.RED);
             g2.fillOval(x + 25, startY + 25, 10, 10);
 
             g2.setColor(Color.BLACK);
-            g2.setFont(new Font("Arial", Font.BOLD, 10));
+            g2.setFont(RenderResources.font(Font.BOLD, 10));
             String toolTypeStr = String.valueOf(toolType);
             int typeWidth = g2.getFontMetrics().stringWidth(toolTypeStr);
             g2.drawString(toolTypeStr, x + (iconSize - typeWidth) / 2, startY + 15);
@@ -230,36 +283,33 @@ public class UI {
     }
 
     private void drawPostIndicator(Graphics2D g2) {
-        int iconSize = 32;
-        int x = gp.screenWidth - iconSize - 20;
-        int y = 20;
+        int iconSize = ICON_SIZE;
+        int x = gp.screenWidth - iconSize - POST_MARGIN;
+        int y = POST_MARGIN;
 
         if (postIcon != null) {
             // Draw the post icon
             g2.drawImage(postIcon, x, y, iconSize, iconSize, null);
 
-            // Draw green glow effect when player has all tools
-            if (gp.player.toolsCollected >= 4) {
-                // Pulsing green glow effect
-                float pulse = (float)(Math.sin(System.currentTimeMillis() * 0.005) * 0.3 + 0.7);
-                g2.setColor(new Color(0, 255, 0, (int)(100 * pulse)));
-
-                // Draw multiple circles for glow effect
-                for (int i = 0; i < 4; i++) {
-                    g2.drawOval(x - i, y - i, iconSize + (i * 2), iconSize + (i * 2));
+            // Green ring when player has all tools (the pulsing glow is drawPostGlow)
+            if (gp.world.player.toolsCollected >= 4) {
+                if (!gp.quality.glow()) {
+                    // One steady ring
+                    g2.setColor(Color.GREEN);
+                    g2.drawOval(x, y, iconSize, iconSize);
                 }
 
                 // Draw "READY!" text
                 g2.setColor(Color.GREEN);
-                g2.setFont(new Font("Arial", Font.BOLD, 12));
+                g2.setFont(RenderResources.font(Font.BOLD, 12));
                 String readyText = "READY!";
                 int textWidth = g2.getFontMetrics().stringWidth(readyText);
                 g2.drawString(readyText, x + (iconSize - textWidth) / 2, y + iconSize + 15);
             } else {
                 // Draw how many tools still needed
                 g2.setColor(Color.YELLOW);
-                g2.setFont(new Font("Arial", Font.BOLD, 12));
-                String neededText = "Need " + (4 - gp.player.toolsCollected);
+                g2.setFont(RenderResources.font(Font.BOLD, 12));
+                String neededText = "Need " + (4 - gp.world.player.toolsCollected);
                 int textWidth = g2.getFontMetrics().stringWidth(neededText);
                 g2.drawString(neededText, x + (iconSize - textWidth) / 2, y + iconSize + 15);
             }
@@ -268,6 +318,36 @@ public class UI {
         }
     }
 
+    // Animated part of the post indicator, drawn over the cached widget every frame
+    private void drawPostGlow(Graphics2D g2) {
+        if (postIcon == null || gp.world.player.toolsCollected < 4 || !gp.quality.glow()) {
+            return;
+        }
+        int iconSize = ICON_SIZE;
+        int x = gp.screenWidth - iconSize - POST_MARGIN;
+        int y = POST_MARGIN;
+
+        // The rings are drawn once in solid green; the pulse only fades the image
+        int aa = gp.quality.antialias() ? 1 : 0;
+        if (postGlow[aa] == null) {
+            BufferedImage rings = UtilityTool.createCompatible(iconSize + 8, iconSize + 8, Transparency.TRANSLUCENT);
+            Graphics2D gg = rings.createGraphics();
+            gp.quality.applyHints(gg);
+            gg.setColor(Color.GREEN);
+
+            // Draw multiple circles for glow effect
+            for (int i = 0; i < 4; i++) {
+                gg.drawOval(4 - i, 4 - i, iconSize + (i * 2), iconSize + (i * 2));
+            }
+            gg.dispose();
+            postGlow[aa] = new FadedImage(rings);
+        }
+
+        // Pulsing green glow effect
+        float pulse = (float)(Math.sin(gp.world.clock.millis(gp.world.interpolation) * 0.005) * 0.3 + 0.7);
+        postGlow[aa].draw(g2, x - 4, y - 4, (int)(100 * pulse));
+    }
+
     private BufferedImage getToolImage(int toolType) {
         switch(toolType) {
             case 1: return tool1Image;
@@ -283,16 +363,16 @@ public class UI {
 
     public void showMessage(String msg) {
         message = msg;
-        messageTime = System.currentTimeMillis();
+        messageTime = gp.world.clock.millis();
     }
 
     public void drawMessages(Graphics2D g2) {
-        if (message.isEmpty() || System.currentTimeMillis() - messageTime > 3000) {
+        if (message.isEmpty() || gp.world.clock.millis() - messageTime > 3000) {
             message = "";
             return;
         }
 
-        g2.setFont(new Font("Arial", Font.BOLD, 24));
+        g2.setFont(RenderResources.font(Font.BOLD, 24));
         g2.setColor(Color.YELLOW);
 
         g2.setColor(Color.BLACK);
@@ -306,19 +386,34 @@ public class UI {
     }
 
     public void drawLevelSelectScreen() {
-        // Draw semi-transparent background
-        g2.setColor(new Color(0, 0, 0, 200));
+        levelSelectMenu.draw(g2, gp.quality.antialias() ? 1 : 0, selectedLevel);
+    }
+
+    private void drawLevelSelectLayer(Graphics2D g2) {
+        // Background (the old translucent fill over the last frame settled to black)
+        g2.setColor(Color.BLACK);
         g2.fillRect(0, 0, gp.screenWidth, gp.screenHeight);
 
         // Title
-        g2.setFont(new Font("Arial", Font.BOLD, 48));
+        g2.setFont(RenderResources.font(Font.BOLD, 48));
         g2.setColor(Color.YELLOW);
         String title = "SELECT LEVEL";
-        int titleX = getXforCenteredText(title);
+        int titleX = getXforCenteredText(g2, title);
         g2.drawString(title, titleX, 100);
 
+        // Instructions
+        g2.setFont(RenderResources.font(Font.PLAIN, 18));
+        g2.setColor(Color.YELLOW);
+
+        for (int i = 0; i < LEVEL_SELECT_INSTRUCTIONS.length; i++) {
+            int instX = getXforCenteredText(g2, LEVEL_SELECT_INSTRUCTIONS[i]);
+            g2.drawString(LEVEL_SELECT_INSTRUCTIONS[i], instX, 450 + i * 30);
+        }
+    }
+
+    private void drawLevelGrid(Graphics2D g2) {
         // Level grid (2 rows x 5 columns)
-        g2.setFont(new Font("Arial", Font.BOLD, 32));
+        g2.setFont(RenderResources.font(Font.BOLD, 32));
 
         int levelBoxSize = 80;
         int spacing = 20;
@@ -334,15 +429,15 @@ public class UI {
 
             // Draw level box
             if (selectedLevel == level) {
-                g2.setColor(new Color(255, 215, 0)); // Gold for selected
+                g2.setColor(RenderResources.color(255, 215, 0)); // Gold for selected
             } else {
-                g2.setColor(new Color(100, 100, 120)); // Dark for unselected
+                g2.setColor(RenderResources.color(100, 100, 120)); // Dark for unselected
             }
             g2.fillRoundRect(boxX, boxY, levelBoxSize, levelBoxSize, 15, 15);
 
             // Draw border
             g2.setColor(selectedLevel == level ? Color.YELLOW : Color.GRAY);
-            g2.setStroke(new BasicStroke(3));
+            g2.setStroke(RenderResources.STROKE_3);
             g2.drawRoundRect(boxX, boxY, levelBoxSize, levelBoxSize, 15, 15);
 
             // Draw level number
@@ -354,35 +449,20 @@ public class UI {
                     boxY + levelBoxSize/2 + 10);
 
             // Draw time for level
-            g2.setFont(new Font("Arial", Font.PLAIN, 12));
+            g2.setFont(RenderResources.font(Font.PLAIN, 12));
             int levelTime = 420 - ((level - 1) * 30); // Calculate time for this level
             String timeText = String.format("%d:%02d", levelTime / 60, levelTime % 60);
             int timeWidth = g2.getFontMetrics().stringWidth(timeText);
             g2.drawString(timeText, boxX + (levelBoxSize - timeWidth) / 2,
                     boxY + levelBoxSize - 15);
-            g2.setFont(new Font("Arial", Font.BOLD, 32));
+            g2.setFont(RenderResources.font(Font.BOLD, 32));
         }
 
         // Selected level info
-        g2.setFont(new Font("Arial", Font.BOLD, 24));
+        g2.setFont(RenderResources.font(Font.BOLD, 24));
         g2.setColor(Color.WHITE);
         String selectedText = "Selected: Level " + selectedLevel;
-        int selectedX = getXforCenteredText(selectedText);
+        int selectedX = getXforCenteredText(g2, selectedText);
         g2.drawString(selectedText, selectedX, 400);
-
-        // Instructions
-        g2.setFont(new Font("Arial", Font.PLAIN, 18));
-        g2.setColor(Color.YELLOW);
-
-        String[] instructions = {
-                "Use ARROW KEYS or WASD to Navigate",
-                "Press ENTER to Start level",
-                "Press ESC to go back"
-        };
-
-        for (int i = 0; i < instructions.length; i++) {
-            int instX = getXforCenteredText(instructions[i]);
-            g2.drawString(instructions[i], instX, 450 + i * 30);
-        }
     }
 }
\ No newline at end of file
@@ -2,21 +2,120 @@ package main;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashMap;
 
 public class UtilityTool {
 
+    // PREPARED IMAGES
+    // Everything loaded goes through prepare(): scaled once to the size it is drawn
+    // at, into an image compatible with the screen so Java2D can cache it in video
+    // memory. The list is kept for the sprite diagnostics view (I key); loading a
+    // name again (a new level's tiles) replaces its entry.
+    private static final ArrayList<String> preparedNames = new ArrayList<>();
+    private static final ArrayList<BufferedImage> preparedImages = new ArrayList<>();
+    private static final HashMap<String, Integer> preparedIndex = new HashMap<>();
+
     public BufferedImage scaleImage(BufferedImage original, int width, int height) {
-        BufferedImage scaledImage = new BufferedImage(width, height, original.getType());
-        Graphics2D g2 = scaledImage.createGraphics();
+        return prepare(null, original, width, height, false);
+    }
 
-        // Apply rendering hints for better quality
-        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
-        g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+    // Scales to width x height (nearest neighbour, or smooth for the map tiles) into
+    // a compatible image whose transparency matches the original's pixels
+    public BufferedImage prepare(String name, BufferedImage original, int width, int height, boolean smooth) {
+        int transparency = transparencyOf(original);
+        if (smooth && transparency != Transparency.OPAQUE) {
+            transparency = Transparency.TRANSLUCENT; // smoothing makes soft edges
+        }
 
-        g2.drawImage(original, 0, 0, width, height, null);
+        BufferedImage prepared = createCompatible(width, height, transparency);
+        Graphics2D g2 = prepared.createGraphics();
+        g2.setComposite(AlphaComposite.Src);
+        if (smooth) {
+            Image scaled = original.getScaledInstance(width, height, Image.SCALE_SMOOTH);
+            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2.drawImage(scaled, 0, 0, null);
+        } else {
+            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+            g2.drawImage(original, 0, 0, width, height, null);
+        }
         g2.dispose();
 
-        return scaledImage;
+        track(name != null ? name : "image " + (preparedImages.size() + 1), prepared);
+        return prepared;
+    }
+
+    // OPAQUE, BITMASK (alpha only 0 or 255) or TRANSLUCENT
+    public static int transparencyOf(BufferedImage image) {
+        if (image.getColorModel().getTransparency() == Transparency.OPAQUE) {
+            return Transparency.OPAQUE;
+        }
+        int width = image.getWidth();
+        int[] pixels = image.getRGB(0, 0, width, image.getHeight(), null, 0, width);
+        int transparency = Transparency.OPAQUE;
+        for (int pixel : pixels) {
+            int alpha = pixel >>> 24;
+            if (alpha == 0) {
+                transparency = Transparency.BITMASK;
+            } else if (alpha != 255) {
+                return Transparency.TRANSLUCENT;
+            }
+        }
+        return transparency;
+    }
+
+    // An image in the screen's pixel format; a plain INT image when there is no screen
+    public static BufferedImage createCompatible(int width, int height, int transparency) {
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        if (gc == null) {
+            int type = transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+            return new BufferedImage(width, height, type);
+        }
+        return gc.createCompatibleImage(width, height, transparency);
+    }
+
+    public static GraphicsConfiguration getGraphicsConfiguration() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return null;
+        }
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+    }
+
+    // DIAGNOSTICS
+
+    public static synchronized void track(String name, BufferedImage image) {
+        Integer i = preparedIndex.get(name);
+        if (i != null) {
+            preparedImages.set(i, image);
+            return;
+        }
+        preparedIndex.put(name, preparedImages.size());
+        preparedNames.add(name);
+        preparedImages.add(image);
+    }
+
+    public static synchronized int getPreparedCount() {
+        return preparedImages.size();
+    }
+
+    public static synchronized String getPreparedName(int i) {
+        return preparedNames.get(i);
+    }
+
+    public static synchronized BufferedImage getPreparedImage(int i) {
+        return preparedImages.get(i);
+    }
+
+    // Whether Java2D currently keeps this image in accelerated memory for gc
+    public static boolean isAccelerated(BufferedImage image, GraphicsConfiguration gc) {
+        return gc != null && image.getCapabilities(gc).isAccelerated();
+    }
+
+    public static String transparencyName(int transparency) {
+        switch (transparency) {
+            case Transparency.OPAQUE: return "opaque";
+            case Transparency.BITMASK: return "bitmask";
+            default: return "translucent";
+        }
     }
 }
\ No newline at end of file
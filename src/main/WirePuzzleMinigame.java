@@ -2,6 +2,7 @@ package main;
 
 import java.awt.*;
 import java.awt.event.KeyEvent;
+import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.Stack;
 import java.util.Collections;
@@ -32,8 +33,21 @@ public class WirePuzzleMinigame {
     private int gridSize = 4;
     private int tileSize = 80;
     private int startX, startY;
+    private static final int BOARD_SIZE = 320; // grid width on screen, whatever the grid size
 
     // Colors - one pair each
+    private static final String[] INSTRUCTIONS = {
+            "CONNECT ALL COLORED TERMINALS WITHIN 15 SECONDS!",
+            "• Click and drag from a terminal to its matching pair",
+            "• Wires can cross - just connect matching colors",
+            "• Use Z/Y to undo/redo, R to reset, ESC to exit"
+    };
+
+    // Terminal labels by colour and side, e.g. "B2"
+    private static final String[][] TERMINAL_LABELS = {
+            {"A1", "A2"}, {"B1", "B2"}, {"C1", "C2"}, {"D1", "D2"}
+    };
+
     private Color[] wireColors = {
             Color.RED,      // Pair 1
             new Color(0, 150, 255),     // Pair 2 - Brighter Blue
@@ -44,13 +58,49 @@ public class WirePuzzleMinigame {
     // Button dimensions
     private Rectangle undoButton, redoButton, exitButton, resetButton;
     private boolean undoHovered = false, redoHovered = false, exitHovered = false, resetHovered = false;
+    private final Rectangle[] buttons = new Rectangle[4]; // undo, redo, reset, exit
+    private static final String[] BUTTON_LABELS = {"Undo", "Redo", "Reset", "Exit"};
+    private static final int[][] BUTTON_COLORS = {{60, 60, 180}, {60, 180, 60}, {180, 120, 60}, {180, 60, 60}};
+    private static final int BUTTON_PAD = 2; // the border stroke reaches outside the rectangle
 
     // Sparkle animation
     private float sparkleOffset = 0;
+    private long animationTime = 0; // game time of the frame being drawn
+
+    // Everything that stays put while the puzzle is open (backdrop, title, timer
+    // frame, panels, grid, terminals, buttons) in one image, plus each button's
+    // area with the button hovered. Only wires, timer digits, pulses and hovers
+    // are drawn per frame. Rebuilt when the layout changes (start, reset, grid
+    // size), with the quality settings, or for a new screen size.
+    private BufferedImage board;
+    private final BufferedImage[] hoveredButtons = new BufferedImage[4];
+    private long layoutVersion = 0;
+    private long boardVersion = -1;
+
+    // STATS
+    private int boardBuilds = 0;
+
+    // Per-frame text, reused so drawing doesn't allocate
+    private final HudText titleText = new HudText();
+    private final HudText timeText = new HudText();
+    private final ReusableShapes shapes = new ReusableShapes();
+
+    // Parts drawn once into images: node images by colour / side / glow /
+    // antialiasing, glow rings by colour / antialiasing, the completion overlay
+    private final BufferedImage[] terminalSprites = new BufferedImage[5 * 2 * 2 * 2];
+    private final FadedImage[] pulseSprites = new FadedImage[4 * 2];
+    private BufferedImage celebrationLayer;
+    private static final int WIRE_PAD = 6; // room around a wire image for the glow stroke
 
     // Life deduction tracking
     private boolean lifeDeducted = false;
 
+    // Delayed return to the game, run by the world's scheduler
+    private final Runnable exitTask = this::exitPuzzle;
+    private final Runnable repairTask = this::finishRepair;
+    private long exitHandle = TaskScheduler.NO_TASK;
+    private long repairHandle = TaskScheduler.NO_TASK;
+
     public WirePuzzleMinigame(GamePanel gp) {
         this.gp = gp;
         initializePuzzle();
@@ -63,7 +113,7 @@ public class WirePuzzleMinigame {
         undoStack = new Stack<>();
         redoStack = new Stack<>();
 
-        // Create 8 nodes at fixed grid positions
+        // Create 8 nodes at fixed positions on a 4x4 grid
         int[][] nodePositions = {
                 {0, 0}, // Top-left
                 {0, 3}, // Top-right
@@ -78,18 +128,19 @@ public class WirePuzzleMinigame {
         // Create nodes with fixed positions
         for (int i = 0; i < nodePositions.length; i++) {
             WireNode node = new WireNode();
-            node.x = nodePositions[i][0];
-            node.y = nodePositions[i][1];
+            node.baseX = nodePositions[i][0];
+            node.baseY = nodePositions[i][1];
             node.id = i;
             nodes.add(node);
         }
+        placeNodes();
 
         // Randomize wire connections
         randomizeWireConnections();
     }
 
     private void randomizeWireConnections() {
-        System.out.println("=== RANDOMIZING WIRE PUZZLE FOR LEVEL " + gp.currentLevel + " ===");
+        System.out.println("=== RANDOMIZING WIRE PUZZLE FOR LEVEL " + gp.world.currentLevel + " ===");
 
         // Clear any existing wires
         wires.clear();
@@ -101,7 +152,7 @@ public class WirePuzzleMinigame {
         }
 
         // Shuffle the nodes randomly
-        Collections.shuffle(nodeIds);
+        Collections.shuffle(nodeIds, gp.world.random);
 
         // Create 4 wires with random connections
         for (int colorIndex = 0; colorIndex < 4; colorIndex++) {
@@ -133,8 +184,8 @@ public class WirePuzzleMinigame {
         WireNode node = nodes.get(nodeId);
 
         // Determine terminal number based on position
-        // Left side (x = 0 or 1) = Terminal 1, Right side (x = 2 or 3) = Terminal 2
-        int terminalNum = (node.x < 2) ? 1 : 2;
+        // Left half of the grid = Terminal 1, right half = Terminal 2
+        int terminalNum = (node.x < gridSize / 2) ? 1 : 2;
 
         return "" + colorLetter + terminalNum;
     }
@@ -156,6 +207,29 @@ public class WirePuzzleMinigame {
         // Right side exit button (aligned with redo button vertically)
         exitButton = new Rectangle(gp.screenWidth - buttonWidth - 50,
                 redoButton.y, buttonWidth, buttonHeight);
+
+        buttons[0] = undoButton;
+        buttons[1] = redoButton;
+        buttons[2] = resetButton;
+        buttons[3] = exitButton;
+    }
+
+    // Cells per side. The board keeps its size on screen, so the cells get
+    // smaller; the terminals keep their places relative to the grid.
+    public void setGridSize(int size) {
+        gridSize = size;
+        tileSize = BOARD_SIZE / size;
+        placeNodes();
+        calculateScreenPosition();
+        layoutVersion++;
+    }
+
+    // Spreads the 4x4 node layout over the current grid
+    private void placeNodes() {
+        for (WireNode node : nodes) {
+            node.x = node.baseX * (gridSize - 1) / 3;
+            node.y = node.baseY * (gridSize - 1) / 3;
+        }
     }
 
     public void start() {
@@ -163,7 +237,7 @@ public class WirePuzzleMinigame {
         completed = false;
         failed = false;
         lifeDeducted = false; // Reset life deduction flag
-        startTime = System.currentTimeMillis();
+        startTime = gp.world.clock.millis();
         remainingTime = TIME_LIMIT;
         calculateScreenPosition();
         initializeButtons();
@@ -171,10 +245,16 @@ public class WirePuzzleMinigame {
         // Randomize the puzzle for this level
         resetPuzzle();
 
-        System.out.println("Wire puzzle started for Level " + gp.currentLevel);
+        System.out.println("Wire puzzle started for Level " + gp.world.currentLevel);
     }
 
     public void resetPuzzle() {
+        // Drop a pending exit from a failed attempt, or a repair from a solved one
+        gp.world.scheduler.cancel(exitHandle);
+        exitHandle = TaskScheduler.NO_TASK;
+        gp.world.scheduler.cancel(repairHandle);
+        repairHandle = TaskScheduler.NO_TASK;
+
         // Reset all wires to unconnected
         for (Wire wire : wires) {
             wire.connected = false;
@@ -197,11 +277,12 @@ public class WirePuzzleMinigame {
 
         // Re-randomize connections for new level
         randomizeWireConnections();
+        layoutVersion++; // terminals have new colours
 
         // Save initial state
         saveState();
 
-        System.out.println("Wire puzzle reset and randomized for Level " + gp.currentLevel);
+        System.out.println("Wire puzzle reset and randomized for Level " + gp.world.currentLevel);
     }
 
     private void calculateScreenPosition() {
@@ -213,11 +294,11 @@ public class WirePuzzleMinigame {
 
     public void update() {
         // Update sparkle animation
-        sparkleOffset = (float)(System.currentTimeMillis() % 2000) / 2000f;
+        sparkleOffset = (float)(gp.world.clock.millis() % 2000) / 2000f;
 
         // Update timer
         if (!completed && !failed) {
-            remainingTime = TIME_LIMIT - (System.currentTimeMillis() - startTime);
+            remainingTime = TIME_LIMIT - (gp.world.clock.millis() - startTime);
 
             if (remainingTime <= 0) {
                 failed = true;
@@ -230,15 +311,7 @@ public class WirePuzzleMinigame {
                 }
 
                 // Return to game after delay
-                new java.util.Timer().schedule(
-                        new java.util.TimerTask() {
-                            @Override
-                            public void run() {
-                                exitPuzzle();
-                            }
-                        },
-                        2000
-                );
+                exitHandle = gp.world.schedule(exitTask, 2000);
             }
         }
 
@@ -256,76 +329,71 @@ public class WirePuzzleMinigame {
                 gp.sound.play(1); // Play coin.wav for puzzle success
 
                 // Puzzle solved - give speed boost ONLY
-                gp.activateSpeedBoost(10); // 10-second speed boost
+                gp.world.activateSpeedBoost(10); // 10-second speed boost
 
                 // Return to game after delay
-                new java.util.Timer().schedule(
-                        new java.util.TimerTask() {
-                            @Override
-                            public void run() {
-                                active = false;
-                                gp.gameState = gp.playState;
-                                // Mark the post as repaired
-                                gp.postRepaired();
-                                // Remove the post from the game
-                                for (int i = 0; i < gp.obj.length; i++) {
-                                    if (gp.obj[i] != null && gp.obj[i].name.equals("Post")) {
-                                        gp.obj[i] = null;
-                                        break;
-                                    }
-                                }
-                            }
-                        },
-                        2000
-                );
+                repairHandle = gp.world.schedule(repairTask, 2000);
+            }
+        }
+    }
+
+    private void finishRepair() {
+        repairHandle = TaskScheduler.NO_TASK;
+        active = false;
+        gp.world.gameState = GameWorld.playState;
+        // Mark the post as repaired
+        gp.world.postRepaired();
+        // Remove the post from the game
+        for (int i = 0; i < gp.world.objects.size(); i++) {
+            if (gp.world.objects.viewAt(i).name.equals("Post")) {
+                gp.world.objects.viewAt(i).remove();
+                break;
             }
         }
     }
 
     private void deductPlayerLife() {
-        if (gp != null && gp.player != null) {
+        if (gp != null && gp.world.player != null) {
             // Deduct half a heart (1 life point)
-            gp.player.life = Math.max(0, gp.player.life - 1);
+            gp.world.player.life = Math.max(0, gp.world.player.life - 1);
 
-            System.out.println("Puzzle time out! Life deducted. Current life: " + gp.player.life);
+            System.out.println("Puzzle time out! Life deducted. Current life: " + gp.world.player.life);
 
             // Check if player is dead
-            if (gp.player.life <= 0) {
-                gp.gameState = gp.gameOverState;
+            if (gp.world.player.life <= 0) {
+                gp.world.gameState = GameWorld.gameOverState;
             }
         }
     }
 
     public void draw(Graphics2D g2) {
-        // Semi-transparent background (30% opacity) - shows main game behind
-        g2.setColor(new Color(0, 0, 0, 80));
-        g2.fillRect(0, 0, gp.screenWidth, gp.screenHeight);
+        // Animation time for the pulse / sparkle effects
+        animationTime = gp.world.clock.millis(gp.world.interpolation);
 
-        // Draw title with level info
-        g2.setColor(new Color(255, 215, 0)); // Gold color
-        g2.setFont(new Font("Arial", Font.BOLD, 25));
-        String title = "POWER RESTORATION PANEL - LEVEL " + gp.currentLevel;
-        int titleWidth = g2.getFontMetrics().stringWidth(title);
-        g2.drawString(title, (gp.screenWidth - titleWidth) / 2, startY - 40);
+        // Backdrop, title, panels, grid, terminals and buttons
+        g2.drawImage(getBoard(), 0, 0, null);
 
-        // Draw timer
-        drawTimer(g2);
+        drawMoving(g2);
+    }
 
-        // Draw instructions panel
-        drawInstructionsPanel(g2);
+    // What changes from frame to frame, over the board
+    void drawMoving(Graphics2D g2) {
+        // Hovered buttons replace their area of the board
+        for (int i = 0; i < buttons.length; i++) {
+            if (isHovered(i)) {
+                g2.drawImage(hoveredButtons[i], buttons[i].x - BUTTON_PAD, buttons[i].y - BUTTON_PAD, null);
+            }
+        }
 
-        // Draw main puzzle panel with glass effect
-        drawPuzzlePanel(g2);
+        // Draw timer
+        drawTimer(g2);
 
-        // Draw nodes (terminals)
-        drawNodes(g2);
+        // Pulsing glow on unconnected terminals
+        drawNodePulses(g2);
 
         // Draw wires on top of nodes
         drawWires(g2);
 
-        // Draw buttons
-        drawButtons(g2);
-
         // Draw completion/failure messages
         if (completed) {
             drawCompletionMessage(g2);
@@ -334,26 +402,97 @@ public class WirePuzzleMinigame {
         }
     }
 
-    private void drawTimer(Graphics2D g2) {
-        int seconds = (int)(remainingTime / 1000);
-        int milliseconds = (int)(remainingTime % 1000) / 10;
+    private BufferedImage getBoard() {
+        int quality = (gp.quality.glow() ? 2 : 0) | (gp.quality.antialias() ? 1 : 0);
+        long version = layoutVersion << 2 | quality;
+        if (board == null || version != boardVersion
+                || board.getWidth() != gp.screenWidth || board.getHeight() != gp.screenHeight) {
+            buildBoard();
+            boardVersion = version;
+        }
+        return board;
+    }
+
+    private void buildBoard() {
+        if (board == null || board.getWidth() != gp.screenWidth || board.getHeight() != gp.screenHeight) {
+            board = UtilityTool.createCompatible(gp.screenWidth, gp.screenHeight, Transparency.OPAQUE);
+        }
+        Graphics2D bg = board.createGraphics();
+        gp.quality.applyHints(bg);
+        drawBoard(bg);
+
+        // Hovered buttons first, over the board as it is without buttons
+        for (int i = 0; i < buttons.length; i++) {
+            Rectangle rect = buttons[i];
+            BufferedImage hovered = UtilityTool.createCompatible(rect.width + 2 * BUTTON_PAD,
+                    rect.height + 2 * BUTTON_PAD, Transparency.OPAQUE);
+            Graphics2D hg = hovered.createGraphics();
+            gp.quality.applyHints(hg);
+            hg.translate(BUTTON_PAD - rect.x, BUTTON_PAD - rect.y);
+            hg.drawImage(board, 0, 0, null);
+            drawButton(hg, i, true);
+            hg.dispose();
+            hoveredButtons[i] = hovered;
+        }
+        drawButtons(bg);
+        bg.dispose();
+        boardBuilds++;
+    }
+
+    // The part of the puzzle screen that doesn't move, buttons aside
+    void drawBoard(Graphics2D g2) {
+        // Nothing is drawn behind the puzzle, so its see-through backdrop is black
+        g2.setColor(Color.BLACK);
+        g2.fillRect(0, 0, gp.screenWidth, gp.screenHeight);
 
+        // Draw title with level info
+        g2.setColor(RenderResources.color(255, 215, 0)); // Gold color
+        g2.setFont(RenderResources.font(Font.BOLD, 25));
+        titleText.clear().append("POWER RESTORATION PANEL - LEVEL ").append(gp.world.currentLevel);
+        int titleWidth = titleText.width(g2.getFontMetrics());
+        titleText.draw(g2, (gp.screenWidth - titleWidth) / 2, startY - 40);
+
+        drawTimerFrame(g2);
+
+        // Draw instructions panel and main puzzle panel with glass effect
+        drawInstructionsPanel(g2);
+        drawPuzzlePanel(g2);
+
+        // Draw nodes (terminals)
+        drawNodes(g2);
+    }
+
+    private void drawTimerFrame(Graphics2D g2) {
         // NEW: Move timer to left side, above undo button
         int timerX = 40; // Same X as undo button
         int timerY = startY - 20; // Above the puzzle, near top
 
         // Timer background
-        g2.setColor(new Color(30, 30, 40, 200));
-        g2.fillRoundRect(timerX, timerY, 150, 40, 20, 20);
+        g2.setColor(RenderResources.color(30, 30, 40, 200));
+        shapes.fillRoundRect(g2, timerX, timerY, 150, 40, 20, 20);
 
         // Timer border
-        g2.setColor(new Color(255, 215, 0, 150));
-        g2.setStroke(new BasicStroke(2));
-        g2.drawRoundRect(timerX, timerY, 150, 40, 20, 20);
+        g2.setColor(RenderResources.color(255, 215, 0, 150));
+        g2.setStroke(RenderResources.STROKE_2);
+        shapes.drawRoundRect(g2, timerX, timerY, 150, 40, 20, 20);
+
+        // Draw "PUZZLE TIME" label above timer
+        g2.setColor(Color.WHITE);
+        g2.setFont(RenderResources.font(Font.BOLD, 12));
+        String label = "PUZZLE TIME";
+        int labelWidth = g2.getFontMetrics().stringWidth(label);
+        g2.drawString(label, timerX + (150 - labelWidth) / 2, timerY + 12);
+    }
+
+    private void drawTimer(Graphics2D g2) {
+        int seconds = (int)(remainingTime / 1000);
+        int milliseconds = (int)(remainingTime % 1000) / 10;
+        int timerX = 40;
+        int timerY = startY - 20;
 
         // Timer text
-        g2.setFont(new Font("Arial", Font.BOLD, 20));
-        String timeText = String.format("%02d:%02d", seconds, milliseconds);
+        g2.setFont(RenderResources.font(Font.BOLD, 20));
+        timeText.clear().append2(seconds).append(':').append2(milliseconds);
 
         // Color based on time remaining
         if (remainingTime > 10000) {
@@ -363,45 +502,31 @@ public class WirePuzzleMinigame {
         } else {
             g2.setColor(Color.RED);
             // Pulsing effect when time is low
-            float pulse = (float)(Math.sin(System.currentTimeMillis() * 0.01) * 0.3 + 0.7);
-            g2.setColor(new Color(255, (int)(100 * pulse), (int)(100 * pulse)));
+            float pulse = (float)(Math.sin(animationTime * 0.01) * 0.3 + 0.7);
+            g2.setColor(RenderResources.color(255, (int)(100 * pulse), (int)(100 * pulse)));
         }
 
-        int timeWidth = g2.getFontMetrics().stringWidth(timeText);
-        g2.drawString(timeText, timerX + (150 - timeWidth) / 2, timerY + 25);
-
-        // Draw "PUZZLE TIME" label above timer
-        g2.setColor(Color.WHITE);
-        g2.setFont(new Font("Arial", Font.BOLD, 12));
-        String label = "PUZZLE TIME";
-        int labelWidth = g2.getFontMetrics().stringWidth(label);
-        g2.drawString(label, timerX + (150 - labelWidth) / 2, timerY + 12);
+        int timeWidth = timeText.width(g2.getFontMetrics());
+        timeText.draw(g2, timerX + (150 - timeWidth) / 2, timerY + 25);
     }
 
     private void drawInstructionsPanel(Graphics2D g2) {
         // Instructions panel
-        g2.setColor(new Color(30, 30, 40, 200));
-        g2.fillRoundRect(20, startY + gridSize * tileSize + 20,
+        g2.setColor(RenderResources.color(30, 30, 40, 200));
+        shapes.fillRoundRect(g2, 20, startY + gridSize * tileSize + 20,
                 gp.screenWidth - 40, 140, 20, 20);
 
-        g2.setColor(new Color(255, 215, 0, 150));
-        g2.setStroke(new BasicStroke(2));
-        g2.drawRoundRect(20, startY + gridSize * tileSize + 20,
+        g2.setColor(RenderResources.color(255, 215, 0, 150));
+        g2.setStroke(RenderResources.STROKE_2);
+        shapes.drawRoundRect(g2, 20, startY + gridSize * tileSize + 20,
                 gp.screenWidth - 40, 140, 20, 20);
 
         // Instructions text
         g2.setColor(Color.WHITE);
-        g2.setFont(new Font("Arial", Font.BOLD, 14));
-
-        String[] instructions = {
-                "CONNECT ALL COLORED TERMINALS WITHIN 15 SECONDS!",
-                "• Click and drag from a terminal to its matching pair",
-                "• Wires can cross - just connect matching colors",
-                "• Use Z/Y to undo/redo, R to reset, ESC to exit"
-        };
+        g2.setFont(RenderResources.font(Font.BOLD, 14));
 
         int textY = startY + gridSize * tileSize + 45;
-        for (String line : instructions) {
+        for (String line : INSTRUCTIONS) {
             int lineWidth = g2.getFontMetrics().stringWidth(line);
             g2.drawString(line, (gp.screenWidth - lineWidth) / 2, textY);
             textY += 25;
@@ -410,14 +535,14 @@ public class WirePuzzleMinigame {
 
     private void drawPuzzlePanel(Graphics2D g2) {
         // Main panel with glass effect
-        g2.setColor(new Color(30, 30, 40, 220));
-        g2.fillRoundRect(startX - 20, startY - 20,
+        g2.setColor(RenderResources.color(30, 30, 40, 220));
+        shapes.fillRoundRect(g2, startX - 20, startY - 20,
                 gridSize * tileSize + 40, gridSize * tileSize + 40, 30, 30);
 
         // Panel border with glow
-        g2.setStroke(new BasicStroke(3));
-        g2.setColor(new Color(255, 215, 0, 100));
-        g2.drawRoundRect(startX - 20, startY - 20,
+        g2.setStroke(RenderResources.STROKE_3);
+        g2.setColor(RenderResources.color(255, 215, 0, 100));
+        shapes.drawRoundRect(g2, startX - 20, startY - 20,
                 gridSize * tileSize + 40, gridSize * tileSize + 40, 30, 30);
 
         // Grid background
@@ -427,17 +552,17 @@ public class WirePuzzleMinigame {
                 int cellY = startY + y * tileSize;
 
                 // Subtle grid pattern
-                g2.setColor(new Color(40, 40, 50, 150));
+                g2.setColor(RenderResources.color(40, 40, 50, 150));
                 g2.fillRect(cellX, cellY, tileSize, tileSize);
 
                 // Grid lines
-                g2.setColor(new Color(60, 60, 70, 100));
+                g2.setColor(RenderResources.color(60, 60, 70, 100));
                 g2.drawRect(cellX, cellY, tileSize, tileSize);
 
                 // Subtle center dot for each cell
                 if ((x + y) % 2 == 0) {
-                    g2.setColor(new Color(255, 255, 255, 20));
-                    g2.fillOval(cellX + tileSize/2 - 2, cellY + tileSize/2 - 2, 4, 4);
+                    g2.setColor(RenderResources.color(255, 255, 255, 20));
+                    shapes.fillOval(g2, cellX + tileSize/2 - 2, cellY + tileSize/2 - 2, 4, 4);
                 }
             }
         }
@@ -448,55 +573,95 @@ public class WirePuzzleMinigame {
             int screenX = startX + node.x * tileSize + tileSize/2;
             int screenY = startY + node.y * tileSize + tileSize/2;
 
-            // Terminal outer ring (metallic)
-            GradientPaint gradient = new GradientPaint(
-                    screenX - 25, screenY - 25, new Color(220, 220, 240),
-                    screenX + 25, screenY + 25, new Color(180, 180, 200)
-            );
-            g2.setPaint(gradient);
-            g2.fillOval(screenX - 25, screenY - 25, 50, 50);
-
-            // Terminal inner ring (color coded)
-            if (node.colorIndex >= 0 && node.colorIndex < wireColors.length) {
-                g2.setColor(wireColors[node.colorIndex]);
-                g2.fillOval(screenX - 20, screenY - 20, 40, 40);
-            }
-
-            // Terminal highlight (shine effect)
-            g2.setColor(new Color(255, 255, 255, 150));
-            g2.fillOval(screenX - 12, screenY - 12, 15, 15);
-
-            // Terminal label - use actual color assignment
-            if (node.colorIndex >= 0) {
-                char colorLetter = (char)('A' + node.colorIndex);
-
-                // Determine if it's terminal 1 or 2 based on position
-                String terminalNum = (node.x < 2) ? "1" : "2";
-                String label = "" + colorLetter + terminalNum;
+            // Ring, colour, shine and label never change for a node: drawn once
+            g2.drawImage(getTerminalSprite(node), screenX - 30, screenY - 30, null);
+        }
+    }
 
-                g2.setColor(Color.BLACK);
-                g2.setFont(new Font("Arial", Font.BOLD, 14));
-                FontMetrics fm = g2.getFontMetrics();
-                int labelWidth = fm.stringWidth(label);
-                g2.drawString(label, screenX - labelWidth/2, screenY + 6);
-            }
+    private void drawNodePulses(Graphics2D g2) {
+        for (WireNode node : nodes) {
+            int screenX = startX + node.x * tileSize + tileSize/2;
+            int screenY = startY + node.y * tileSize + tileSize/2;
 
             // Pulsing glow effect for unconnected terminals
-            if (node.colorIndex >= 0) {
+            if (node.colorIndex >= 0 && gp.quality.glow()) {
                 Wire wire = wires.get(node.colorIndex);
                 if (!wire.connected) {
-                    float pulse = (float)(Math.sin(System.currentTimeMillis() * 0.002 + node.id) * 0.3 + 0.7);
-                    g2.setColor(new Color(wireColors[node.colorIndex].getRed(),
-                            wireColors[node.colorIndex].getGreen(),
-                            wireColors[node.colorIndex].getBlue(),
-                            (int)(100 * pulse)));
-                    g2.setStroke(new BasicStroke(3));
-                    g2.drawOval(screenX - 28, screenY - 28, 56, 56);
+                    float pulse = (float)(Math.sin(animationTime * 0.002 + node.id) * 0.3 + 0.7);
+                    getPulseSprite(node.colorIndex).draw(g2, screenX - 30, screenY - 30, (int)(100 * pulse));
                 }
             }
         }
     }
 
+    // One image per colour, side and quality setting, centred at (30, 30)
+    private BufferedImage getTerminalSprite(WireNode node) {
+        int side = (node.x < gridSize / 2) ? 0 : 1;
+        int index = (((node.colorIndex + 1) * 2 + side) * 2 + (gp.quality.glow() ? 1 : 0)) * 2
+                + (gp.quality.antialias() ? 1 : 0);
+        if (terminalSprites[index] == null) {
+            BufferedImage sprite = UtilityTool.createCompatible(60, 60, Transparency.TRANSLUCENT);
+            Graphics2D sg = sprite.createGraphics();
+            gp.quality.applyHints(sg);
+            drawTerminal(sg, node.colorIndex, side, 30, 30);
+            sg.dispose();
+            terminalSprites[index] = sprite;
+        }
+        return terminalSprites[index];
+    }
+
+    // Glow ring in the solid wire colour, faded by the pulse when drawn
+    private FadedImage getPulseSprite(int colorIndex) {
+        int index = colorIndex * 2 + (gp.quality.antialias() ? 1 : 0);
+        if (pulseSprites[index] == null) {
+            BufferedImage sprite = UtilityTool.createCompatible(60, 60, Transparency.TRANSLUCENT);
+            Graphics2D sg = sprite.createGraphics();
+            gp.quality.applyHints(sg);
+            sg.setColor(wireColors[colorIndex]);
+            sg.setStroke(RenderResources.STROKE_3);
+            sg.drawOval(2, 2, 56, 56);
+            sg.dispose();
+            pulseSprites[index] = new FadedImage(sprite);
+        }
+        return pulseSprites[index];
+    }
+
+    private void drawTerminal(Graphics2D g2, int colorIndex, int side, int screenX, int screenY) {
+        // Terminal outer ring (metallic)
+        if (gp.quality.glow()) {
+            GradientPaint gradient = new GradientPaint(
+                    screenX - 25, screenY - 25, RenderResources.color(220, 220, 240),
+                    screenX + 25, screenY + 25, RenderResources.color(180, 180, 200)
+            );
+            g2.setPaint(gradient);
+        } else {
+            g2.setColor(RenderResources.color(200, 200, 220));
+        }
+        shapes.fillOval(g2, screenX - 25, screenY - 25, 50, 50);
+
+        // Terminal inner ring (color coded)
+        if (colorIndex >= 0 && colorIndex < wireColors.length) {
+            g2.setColor(wireColors[colorIndex]);
+            shapes.fillOval(g2, screenX - 20, screenY - 20, 40, 40);
+        }
+
+        // Terminal highlight (shine effect)
+        g2.setColor(RenderResources.color(255, 255, 255, 150));
+        shapes.fillOval(g2, screenX - 12, screenY - 12, 15, 15);
+
+        // Terminal label - use actual color assignment
+        if (colorIndex >= 0) {
+            // Terminal 1 or 2 based on position
+            String label = TERMINAL_LABELS[colorIndex][side];
+
+            g2.setColor(Color.BLACK);
+            g2.setFont(RenderResources.font(Font.BOLD, 14));
+            FontMetrics fm = g2.getFontMetrics();
+            int labelWidth = fm.stringWidth(label);
+            g2.drawString(label, screenX - labelWidth/2, screenY + 6);
+        }
+    }
+
     private void drawWires(Graphics2D g2) {
         for (Wire wire : wires) {
             if (wire.connected) {
@@ -516,20 +681,28 @@ public class WirePuzzleMinigame {
         int x2 = startX + endNode.x * tileSize + tileSize/2;
         int y2 = startY + endNode.y * tileSize + tileSize/2;
 
-        // Wire glow effect
-        g2.setStroke(new BasicStroke(10, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-        g2.setColor(new Color(wire.color.getRed(), wire.color.getGreen(),
-                wire.color.getBlue(), 80));
-        g2.drawLine(x1, y1, x2, y2);
-
-        // Main wire with gradient
-        GradientPaint wireGradient = new GradientPaint(
-                x1, y1, wire.color.brighter(),
-                x2, y2, wire.color.darker()
-        );
-        g2.setPaint(wireGradient);
-        g2.setStroke(new BasicStroke(6, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-        g2.drawLine(x1, y1, x2, y2);
+        // The wire only changes when it is (re)connected or the quality changes
+        int quality = (gp.quality.glow() ? 2 : 0) | (gp.quality.antialias() ? 1 : 0);
+        if (wire.sprite == null || wire.spriteQuality != quality || wire.spriteX1 != x1 || wire.spriteY1 != y1
+                || wire.spriteX2 != x2 || wire.spriteY2 != y2) {
+            int left = Math.min(x1, x2) - WIRE_PAD;
+            int top = Math.min(y1, y2) - WIRE_PAD;
+            wire.sprite = UtilityTool.createCompatible(Math.abs(x2 - x1) + 2 * WIRE_PAD,
+                    Math.abs(y2 - y1) + 2 * WIRE_PAD, Transparency.TRANSLUCENT);
+            Graphics2D sg = wire.sprite.createGraphics();
+            gp.quality.applyHints(sg);
+            sg.translate(-left, -top);
+            drawWireLine(sg, wire.color, x1, y1, x2, y2);
+            sg.dispose();
+            wire.spriteLeft = left;
+            wire.spriteTop = top;
+            wire.spriteX1 = x1;
+            wire.spriteY1 = y1;
+            wire.spriteX2 = x2;
+            wire.spriteY2 = y2;
+            wire.spriteQuality = quality;
+        }
+        g2.drawImage(wire.sprite, wire.spriteLeft, wire.spriteTop, null);
 
         // Sparkle animation along the wire
         if (completed) {
@@ -537,72 +710,99 @@ public class WirePuzzleMinigame {
         }
     }
 
+    private void drawWireLine(Graphics2D g2, Color color, int x1, int y1, int x2, int y2) {
+        if (gp.quality.glow()) {
+            // Wire glow effect
+            g2.setStroke(RenderResources.ROUND_10);
+            g2.setColor(RenderResources.withAlpha(color, 80));
+            g2.drawLine(x1, y1, x2, y2);
+
+            // Main wire with gradient
+            GradientPaint wireGradient = new GradientPaint(
+                    x1, y1, RenderResources.brighter(color),
+                    x2, y2, RenderResources.darker(color)
+            );
+            g2.setPaint(wireGradient);
+        } else {
+            g2.setColor(color);
+        }
+        g2.setStroke(RenderResources.ROUND_6);
+        g2.drawLine(x1, y1, x2, y2);
+    }
+
     private void drawDraggingWire(Graphics2D g2, Wire wire) {
         WireNode startNode = nodes.get(wire.startNodeId);
         int x1 = startX + startNode.x * tileSize + tileSize/2;
         int y1 = startY + startNode.y * tileSize + tileSize/2;
 
         // Dashed line effect for dragging wire
-        float[] dashPattern = {10, 5};
-        BasicStroke dashedStroke = new BasicStroke(4, BasicStroke.CAP_BUTT,
-                BasicStroke.JOIN_MITER, 10, dashPattern, 0);
-        g2.setStroke(dashedStroke);
+        g2.setStroke(RenderResources.DASHED_4);
         g2.setColor(wire.color);
-        g2.drawLine(x1, y1, dragPoint.x, dragPoint.y);
+        shapes.drawLine(g2, x1, y1, dragPoint.x, dragPoint.y);
 
         // Dragging endpoint circle
-        g2.setStroke(new BasicStroke(2));
-        g2.setColor(new Color(255, 255, 255, 150));
-        g2.drawOval(dragPoint.x - 15, dragPoint.y - 15, 30, 30);
+        g2.setStroke(RenderResources.STROKE_2);
+        g2.setColor(RenderResources.color(255, 255, 255, 150));
+        shapes.drawOval(g2, dragPoint.x - 15, dragPoint.y - 15, 30, 30);
 
         // Pulsing effect at drag point
-        float pulse = (float)(Math.sin(System.currentTimeMillis() * 0.01) * 0.3 + 0.7);
-        g2.setColor(new Color(wire.color.getRed(), wire.color.getGreen(),
-                wire.color.getBlue(), (int)(200 * pulse)));
-        g2.fillOval(dragPoint.x - 10, dragPoint.y - 10, 20, 20);
+        float pulse = gp.quality.glow() ? (float)(Math.sin(animationTime * 0.01) * 0.3 + 0.7) : 1f;
+        g2.setColor(RenderResources.withAlpha(wire.color, (int)(200 * pulse)));
+        shapes.fillOval(g2, dragPoint.x - 10, dragPoint.y - 10, 20, 20);
     }
 
     private void drawSparkles(Graphics2D g2, int x1, int y1, int x2, int y2) {
-        g2.setStroke(new BasicStroke(2));
+        g2.setStroke(RenderResources.STROKE_2);
         g2.setColor(Color.WHITE);
 
         // Multiple sparkles moving along the wire
-        for (int i = 0; i < 4; i++) {
-            float t = (sparkleOffset + i * 0.25f) % 1.0f;
+        int count = gp.quality.particles(4);
+        for (int i = 0; i < count; i++) {
+            float t = (sparkleOffset + (float) i / count) % 1.0f;
             int sparkX = (int)(x1 + (x2 - x1) * t);
             int sparkY = (int)(y1 + (y2 - y1) * t);
 
             // Sparkle size varies
-            float size = (float)(Math.sin(System.currentTimeMillis() * 0.002 + i) * 2 + 4);
-            g2.fillOval((int)(sparkX - size/2), (int)(sparkY - size/2), (int)size, (int)size);
+            float size = (float)(Math.sin(animationTime * 0.002 + i) * 2 + 4);
+            shapes.fillOval(g2, (int)(sparkX - size/2), (int)(sparkY - size/2), (int)size, (int)size);
         }
     }
 
-    private void drawButtons(Graphics2D g2) {
-        // Draw left side buttons (vertical stack)
-        drawButton(g2, undoButton, "Undo", undoHovered, new Color(60, 60, 180));
-        drawButton(g2, redoButton, "Redo", redoHovered, new Color(60, 180, 60));
-        drawButton(g2, resetButton, "Reset", resetHovered, new Color(180, 120, 60));
+    // Every button as it looks without the mouse over it
+    void drawButtons(Graphics2D g2) {
+        for (int i = 0; i < buttons.length; i++) {
+            drawButton(g2, i, false);
+        }
+    }
 
-        // Draw right side exit button
-        drawButton(g2, exitButton, "Exit", exitHovered, new Color(180, 60, 60));
+    private void drawButton(Graphics2D g2, int button, boolean hovered) {
+        int[] rgb = BUTTON_COLORS[button];
+        drawButton(g2, buttons[button], BUTTON_LABELS[button], hovered, RenderResources.color(rgb[0], rgb[1], rgb[2]));
+    }
+
+    private boolean isHovered(int button) {
+        switch (button) {
+            case 0: return undoHovered;
+            case 1: return redoHovered;
+            case 2: return resetHovered;
+            default: return exitHovered;
+        }
     }
 
     private void drawButton(Graphics2D g2, Rectangle rect, String text, boolean hovered, Color baseColor) {
         // Button background with hover effect
-        Color buttonColor = hovered ? baseColor.brighter() : baseColor;
-        g2.setColor(new Color(buttonColor.getRed(), buttonColor.getGreen(),
-                buttonColor.getBlue(), 200));
-        g2.fillRoundRect(rect.x, rect.y, rect.width, rect.height, 15, 15);
+        Color buttonColor = hovered ? RenderResources.brighter(baseColor) : baseColor;
+        g2.setColor(RenderResources.withAlpha(buttonColor, 200));
+        shapes.fillRoundRect(g2, rect.x, rect.y, rect.width, rect.height, 15, 15);
 
         // Button border
-        g2.setColor(hovered ? Color.WHITE : new Color(255, 255, 255, 150));
-        g2.setStroke(new BasicStroke(2));
-        g2.drawRoundRect(rect.x, rect.y, rect.width, rect.height, 15, 15);
+        g2.setColor(hovered ? Color.WHITE : RenderResources.color(255, 255, 255, 150));
+        g2.setStroke(RenderResources.STROKE_2);
+        shapes.drawRoundRect(g2, rect.x, rect.y, rect.width, rect.height, 15, 15);
 
         // Button text
         g2.setColor(Color.WHITE);
-        g2.setFont(new Font("Arial", Font.BOLD, 14));
+        g2.setFont(RenderResources.font(Font.BOLD, 14));
         FontMetrics fm = g2.getFontMetrics();
         int textWidth = fm.stringWidth(text);
         g2.drawString(text, rect.x + (rect.width - textWidth)/2,
@@ -610,29 +810,39 @@ public class WirePuzzleMinigame {
 
         // Button icon/key hint
         if (hovered) {
-            g2.setColor(new Color(255, 255, 255, 50));
-            g2.fillOval(rect.x + rect.width - 25, rect.y + 10, 15, 15);
+            g2.setColor(RenderResources.color(255, 255, 255, 50));
+            shapes.fillOval(g2, rect.x + rect.width - 25, rect.y + 10, 15, 15);
         }
     }
 
     private void drawCompletionMessage(Graphics2D g2) {
-        // Celebration overlay with gradient
-        GradientPaint celebrationGradient = new GradientPaint(
-                0, 0, new Color(0, 255, 0, 100),
-                gp.screenWidth, gp.screenHeight, new Color(0, 200, 255, 100)
-        );
-        g2.setPaint(celebrationGradient);
-        g2.fillRect(0, 0, gp.screenWidth, gp.screenHeight);
+        // Celebration overlay with gradient, drawn once
+        if (celebrationLayer == null) {
+            celebrationLayer = UtilityTool.createCompatible(gp.screenWidth, gp.screenHeight, Transparency.TRANSLUCENT);
+            Graphics2D cg = celebrationLayer.createGraphics();
+            cg.setPaint(new GradientPaint(
+                    0, 0, RenderResources.color(0, 255, 0, 100),
+                    gp.screenWidth, gp.screenHeight, RenderResources.color(0, 200, 255, 100)
+            ));
+            cg.fillRect(0, 0, gp.screenWidth, gp.screenHeight);
+            cg.dispose();
+        }
+        if (gp.quality.glow()) {
+            g2.drawImage(celebrationLayer, 0, 0, null);
+        } else {
+            g2.setColor(RenderResources.color(0, 230, 130, 100));
+            g2.fillRect(0, 0, gp.screenWidth, gp.screenHeight);
+        }
 
         // Success message
         g2.setColor(Color.WHITE);
-        g2.setFont(new Font("Arial", Font.BOLD, 48));
+        g2.setFont(RenderResources.font(Font.BOLD, 48));
         String successMsg = "POWER RESTORED!";
         int msgWidth = g2.getFontMetrics().stringWidth(successMsg);
         g2.drawString(successMsg, (gp.screenWidth - msgWidth) / 2, gp.screenHeight / 2 - 30);
 
         // Rewards message (ONLY speed boost)
-        g2.setFont(new Font("Arial", Font.PLAIN, 24));
+        g2.setFont(RenderResources.font(Font.PLAIN, 24));
         String rewardMsg = "+10s Speed Boost";
         int rewardWidth = g2.getFontMetrics().stringWidth(rewardMsg);
         g2.drawString(rewardMsg, (gp.screenWidth - rewardWidth) / 2, gp.screenHeight / 2 + 30);
@@ -643,24 +853,24 @@ public class WirePuzzleMinigame {
 
     private void drawFailureMessage(Graphics2D g2) {
         // Failure overlay
-        g2.setColor(new Color(255, 0, 0, 100));
+        g2.setColor(RenderResources.color(255, 0, 0, 100));
         g2.fillRect(0, 0, gp.screenWidth, gp.screenHeight);
 
         // Failure message
         g2.setColor(Color.WHITE);
-        g2.setFont(new Font("Arial", Font.BOLD, 48));
+        g2.setFont(RenderResources.font(Font.BOLD, 48));
         String failMsg = "TIME'S UP!";
         int msgWidth = g2.getFontMetrics().stringWidth(failMsg);
         g2.drawString(failMsg, (gp.screenWidth - msgWidth) / 2, gp.screenHeight / 2 - 30);
 
         // Life deduction message
-        g2.setFont(new Font("Arial", Font.PLAIN, 24));
+        g2.setFont(RenderResources.font(Font.PLAIN, 24));
         String lifeMsg = "-1 Life";
         int lifeWidth = g2.getFontMetrics().stringWidth(lifeMsg);
         g2.drawString(lifeMsg, (gp.screenWidth - lifeWidth) / 2, gp.screenHeight / 2 + 10);
 
         // Try again message
-        g2.setFont(new Font("Arial", Font.PLAIN, 20));
+        g2.setFont(RenderResources.font(Font.PLAIN, 20));
         String tryAgainMsg = "Returning to game...";
         int tryAgainWidth = g2.getFontMetrics().stringWidth(tryAgainMsg);
         g2.drawString(tryAgainMsg, (gp.screenWidth - tryAgainWidth) / 2, gp.screenHeight / 2 + 50);
@@ -668,15 +878,17 @@ public class WirePuzzleMinigame {
 
     private void drawCelebrationParticles(Graphics2D g2) {
         // Simple particle effect
-        long currentTime = System.currentTimeMillis();
-        for (int i = 0; i < 20; i++) {
-            float angle = (float)(currentTime * 0.001 + i * 0.3);
+        long currentTime = animationTime;
+        int count = gp.quality.particles(20);
+        float spread = 6f / count; // keep the ring evenly filled with fewer particles
+        for (int i = 0; i < count; i++) {
+            float angle = (float)(currentTime * 0.001 + i * spread);
             float radius = 100 + (float)Math.sin(currentTime * 0.001 + i) * 50;
             int x = gp.screenWidth / 2 + (int)(Math.cos(angle) * radius);
             int y = gp.screenHeight / 2 + (int)(Math.sin(angle) * radius);
 
             float size = (float)(Math.sin(currentTime * 0.002 + i) * 3 + 6);
-            Color particleColor = new Color(
+            Color particleColor = RenderResources.color(
                     (int)(Math.sin(angle) * 127 + 128),
                     (int)(Math.cos(angle) * 127 + 128),
                     255,
@@ -684,7 +896,7 @@ public class WirePuzzleMinigame {
             );
 
             g2.setColor(particleColor);
-            g2.fillOval((int)(x - size/2), (int)(y - size/2), (int)size, (int)size);
+            shapes.fillOval(g2, (int)(x - size/2), (int)(y - size/2), (int)size, (int)size);
         }
     }
 
@@ -839,17 +1051,22 @@ public class WirePuzzleMinigame {
     }
 
     private void exitPuzzle() {
+        gp.world.scheduler.cancel(exitHandle);
+        exitHandle = TaskScheduler.NO_TASK;
         active = false;
-        gp.gameState = gp.playState;
+        gp.world.gameState = GameWorld.playState;
     }
 
     //encap
 
     public boolean isActive() { return active; }
 
+    public int getBoardBuilds() { return boardBuilds; }
+
     // Inner classes
     class WireNode {
-        int x, y;           // Grid position (0-3)
+        int x, y;           // Grid position (0 to gridSize - 1)
+        int baseX, baseY;   // Position on the original 4x4 grid
         int id;             // Unique ID
         int colorIndex = -1; // Which color wire is assigned (-1 = not assigned)
     }
@@ -859,6 +1076,9 @@ public class WirePuzzleMinigame {
         int startNodeId;    // Start node ID
         int endNodeId;      // End node ID
         boolean connected;  // Whether wire is properly connected
+        BufferedImage sprite;   // connected wire, drawn for the end points and quality below
+        int spriteLeft, spriteTop;
+        int spriteX1, spriteY1, spriteX2, spriteY2, spriteQuality;
     }
 
     class PuzzleState {
@@ -1,26 +1,26 @@
 package obj;
 
-import main.GamePanel;
+import main.GameWorld;
 
 import javax.imageio.ImageIO;
 import java.io.IOException;
 
 public class OBJ_Heart extends SuperObject{
 
-    GamePanel gp;
+    GameWorld world;
 
-    public OBJ_Heart(GamePanel gp) {
+    public OBJ_Heart(GameWorld world) {
 
-        this.gp = gp;
+        this.world = world;
 
         name = "Heart";
         try {
             image = ImageIO.read(getClass().getResourceAsStream("/objects/heart_full.png"));
             image2 = ImageIO.read(getClass().getResourceAsStream("/objects/heart_half.png"));
             image3 = ImageIO.read(getClass().getResourceAsStream("/objects/heart_blank.png"));
-            image = uTool.scaleImage(image, gp.tileSize, gp.tileSize);
-            image2 = uTool.scaleImage(image, gp.tileSize, gp.tileSize);
-            image3 = uTool.scaleImage(image, gp.tileSize, gp.tileSize);
+            image = uTool.prepare("/objects/heart_full.png", image, world.tileSize, world.tileSize, false);
+            image2 = uTool.prepare("/objects/heart_half.png", image2, world.tileSize, world.tileSize, false);
+            image3 = uTool.prepare("/objects/heart_blank.png", image3, world.tileSize, world.tileSize, false);
         }
         catch (IOException e) {
             e.printStackTrace();
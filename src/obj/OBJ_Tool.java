@@ -5,7 +5,7 @@ import java.util.Random;
 
 public class OBJ_Tool extends SuperObject {
 
-    public OBJ_Tool() {
+    public OBJ_Tool(Random random) {
         name = "Tool";
 
         // Default values
@@ -13,7 +13,6 @@ public class OBJ_Tool extends SuperObject {
         postNumber = 1;
 
         // Random tool type
-        Random random = new Random();
         toolPostGroup = random.nextInt(4) + 1;
 
         try {
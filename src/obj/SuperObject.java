@@ -1,59 +1,72 @@
 package obj;
 
-import main.GamePanel;
+import entity.EntityStore;
+import main.Camera;
+import main.GameWorld;
+import main.TextureAtlas;
 import main.UtilityTool;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
 
+// Once placed, an object is a view over a slot of GameWorld.objects;
+// position, collision box and the collision flag live in the store
 public class SuperObject {
 
     public BufferedImage image, image2, image3;
     public String name;
-    public boolean collision = false;
-    public int worldX, worldY;
-    public Rectangle solidArea = new Rectangle(0, 0, 48, 48);
-    public int solidAreaDefaultX = 0;
-    public int solidAreaDefaultY = 0;
+    public boolean collision = false; // copied into the store when the object is placed
+    public int sprite = TextureAtlas.NO_SPRITE; // image packed into the world's atlas at tile size
     UtilityTool uTool = new UtilityTool();
     public int postNumber;
     public int toolPostGroup;
 
-    public void draw(Graphics2D g2, GamePanel gp) {
+    // STORE SLOT (unset until placed)
+    public EntityStore<SuperObject> store;
+    public long handle = EntityStore.NO_ENTITY;
+    public int slot = -1;
 
-        int screenX = worldX - gp.player.worldX + gp.player.screenX;
-        int screenY = worldY - gp.player.worldY + gp.player.screenY;
+    public void place(EntityStore<SuperObject> store, int worldX, int worldY) {
+        this.store = store;
+        handle = store.add(this);
+        slot = store.slotOf(handle);
+        store.x[slot] = worldX;
+        store.y[slot] = worldY;
+        store.solidW[slot] = 48;
+        store.solidH[slot] = 48;
+        store.solid[slot] = collision;
+    }
 
-        // STOP MOVING CAMERA
-        if(gp.player.worldX < gp.player.screenX) {
-            screenX = worldX;
-        }
-        if(gp.player.worldY < gp.player.screenY) {
-            screenY = worldY;
-        }
-        int rightOffset = gp.screenWidth - gp.player.screenX;
-        if(rightOffset > gp.worldWidth - gp.player.worldX) {
-            screenX = gp.screenWidth - (gp.worldWidth - worldX);
-        }
-        int bottomOffset = gp.screenHeight - gp.player.screenY;
-        if(bottomOffset > gp.worldHeight - gp.player.worldY) {
-            screenY = gp.screenHeight - (gp.worldHeight - worldY);
+    public int getWorldX() {
+        return store.x[slot];
+    }
+
+    public int getWorldY() {
+        return store.y[slot];
+    }
+
+    public void remove() {
+        if (store != null) {
+            store.remove(handle);
         }
-        ///////////////////
+    }
 
-        if(worldX + gp.tileSize > gp.player.worldX - gp.player.screenX &&
-                worldX - gp.tileSize < gp.player.worldX + gp.player.screenX &&
-                worldY + gp.tileSize > gp.player.worldY - gp.player.screenY &&
-                worldY - gp.tileSize < gp.player.worldY + gp.player.screenY) {
+    public void draw(Graphics2D g2, GameWorld world) {
+        int worldX = store.x[slot];
+        int worldY = store.y[slot];
 
-            g2.drawImage(image, screenX, screenY, gp.tileSize, gp.tileSize, null);
+        Camera camera = world.camera;
+        if (camera.isVisible(worldX, worldY, world.tileSize, world.tileSize)) {
+            drawImage(g2, world, camera.toScreenX(worldX), camera.toScreenY(worldY));
         }
-        // If player is around the edge, draw everything
-        else if(gp.player.worldX < gp.player.screenX ||
-                gp.player.worldY < gp.player.screenY ||
-                rightOffset > gp.worldWidth - gp.player.worldX ||
-                bottomOffset > gp.worldHeight - gp.player.worldY) {
-            g2.drawImage(image, screenX, screenY, gp.tileSize, gp.tileSize, null);
+    }
+
+    private void drawImage(Graphics2D g2, GameWorld world, int screenX, int screenY) {
+        int size = world.camera.toScreenSize(world.tileSize);
+        if (sprite != TextureAtlas.NO_SPRITE) {
+            world.atlas.draw(g2, sprite, screenX, screenY, size, size);
+        } else {
+            g2.drawImage(image, screenX, screenY, size, size, null);
         }
     }
 }
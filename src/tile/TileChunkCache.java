@@ -0,0 +1,197 @@
+package tile;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// The tile map cut into CHUNK_TILES x CHUNK_TILES pieces, each drawn into its own
+// image the first time it is needed. Images are kept least-recently-used first and
+// dropped once the cache goes over its memory budget, so map size no longer
+// decides memory use. Chunks can also be prepared ahead of time on a background thread.
+public class TileChunkCache {
+
+    public static final int CHUNK_TILES = 16;
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    // One low-priority thread shared by every map
+    private static final ExecutorService PREFETCHER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "Tile prefetch");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        return t;
+    });
+
+    private final TileManager tileM;
+    private final int tileSize;
+    private final int cols, rows;     // map size in tiles
+    private final int chunkCols, chunkRows;
+    private final long maxBytes;
+    private volatile GraphicsConfiguration gc; // from the last frame; null when headless
+
+    // Access-ordered: iteration starts at the least recently used chunk
+    private final LinkedHashMap<Long, BufferedImage> chunks = new LinkedHashMap<>(64, 0.75f, true);
+    private final Set<Long> pending = new HashSet<>();
+    private final Long[] keys; // boxed once per chunk, so lookups don't allocate
+    private long bytes = 0;
+
+    // STATS
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+    private long prefetched = 0;
+
+    public TileChunkCache(TileManager tileM, int tileSize, int cols, int rows, long maxBytes) {
+        this.tileM = tileM;
+        this.tileSize = tileSize;
+        this.cols = cols;
+        this.rows = rows;
+        this.chunkCols = (cols + CHUNK_TILES - 1) / CHUNK_TILES;
+        this.chunkRows = (rows + CHUNK_TILES - 1) / CHUNK_TILES;
+        this.maxBytes = maxBytes;
+        this.keys = new Long[chunkCols * chunkRows];
+    }
+
+    public int getChunkPixels() {
+        return CHUNK_TILES * tileSize;
+    }
+
+    public int getChunkCols() {
+        return chunkCols;
+    }
+
+    public int getChunkRows() {
+        return chunkRows;
+    }
+
+    public void setGraphicsConfiguration(GraphicsConfiguration gc) {
+        this.gc = GraphicsEnvironment.isHeadless() ? null : gc;
+    }
+
+    // The image for a chunk, drawing it now if it isn't cached (render thread)
+    public BufferedImage get(int chunkX, int chunkY) {
+        Long key = key(chunkX, chunkY);
+        synchronized (this) {
+            BufferedImage image = chunks.get(key);
+            if (image != null) {
+                hits++;
+                return image;
+            }
+            misses++;
+        }
+
+        BufferedImage image = render(chunkX, chunkY);
+        store(key, image);
+        return image;
+    }
+
+    // Queues a chunk to be drawn in the background, if it isn't cached or queued already
+    public void prefetch(int chunkX, int chunkY) {
+        if (chunkX < 0 || chunkY < 0 || chunkX >= chunkCols || chunkY >= chunkRows) return;
+
+        Long key = key(chunkX, chunkY);
+        synchronized (this) {
+            if (chunks.containsKey(key) || !pending.add(key)) return;
+        }
+
+        PREFETCHER.execute(() -> {
+            BufferedImage image = render(chunkX, chunkY);
+            synchronized (this) {
+                pending.remove(key);
+                if (chunks.containsKey(key)) return; // the render thread needed it first
+                prefetched++;
+            }
+            store(key, image);
+        });
+    }
+
+    private synchronized void store(Long key, BufferedImage image) {
+        BufferedImage old = chunks.put(key, image);
+        if (old != null) {
+            bytes -= sizeOf(old);
+        }
+        bytes += sizeOf(image);
+
+        // Evict least recently used, but always keep the chunk just added
+        Iterator<Map.Entry<Long, BufferedImage>> it = chunks.entrySet().iterator();
+        while (bytes > maxBytes && it.hasNext()) {
+            Map.Entry<Long, BufferedImage> eldest = it.next();
+            if (eldest.getKey().equals(key)) break;
+            bytes -= sizeOf(eldest.getValue());
+            it.remove();
+            evictions++;
+        }
+    }
+
+    private BufferedImage render(int chunkX, int chunkY) {
+        int col0 = chunkX * CHUNK_TILES;
+        int row0 = chunkY * CHUNK_TILES;
+        int width = Math.min(CHUNK_TILES, cols - col0) * tileSize;
+        int height = Math.min(CHUNK_TILES, rows - row0) * tileSize;
+
+        GraphicsConfiguration config = gc;
+        BufferedImage image = config != null
+                ? config.createCompatibleImage(width, height, Transparency.OPAQUE)
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+
+        Graphics2D g2 = image.createGraphics();
+        g2.setColor(Color.black);
+        g2.fillRect(0, 0, width, height);
+        tileM.drawTiles(g2, col0, row0, Math.min(cols, col0 + CHUNK_TILES), Math.min(rows, row0 + CHUNK_TILES),
+                -col0 * tileSize, -row0 * tileSize);
+        g2.dispose();
+        return image;
+    }
+
+    public synchronized void clear() {
+        chunks.clear();
+        bytes = 0;
+    }
+
+    private synchronized Long key(int chunkX, int chunkY) {
+        int index = chunkY * chunkCols + chunkX;
+        Long key = keys[index];
+        if (key == null) {
+            key = ((long) chunkX << 32) | (chunkY & 0xFFFFFFFFL);
+            keys[index] = key;
+        }
+        return key;
+    }
+
+    private static long sizeOf(BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight() * 4; // 32-bit pixels
+    }
+
+    public synchronized int getChunkCount() {
+        return chunks.size();
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized long getPrefetched() {
+        return prefetched;
+    }
+}
@@ -1,6 +1,8 @@
 package tile;
 
-import main.GamePanel;
+import main.Camera;
+import main.GameWorld;
+import main.UtilityTool;
 
 import javax.imageio.ImageIO;
 import java.awt.*;
@@ -12,22 +14,53 @@ import java.io.InputStreamReader;
 
 public class TileManager {
 
-    GamePanel gp;
+    GameWorld world;
+    UtilityTool uTool = new UtilityTool();
     public tile[] tile;
-    public int mapTileNum[][];
-
-    public TileManager(GamePanel gp) {
-        this(gp, "worldmap001"); // Default constructor for backward compatibility
+    public int mapCols, mapRows;
+    public int[] mapTiles; // row-major: mapTiles[row * mapCols + col]
+
+    // STATIC LAYER
+    // The map never changes during a level, so it is drawn into offscreen chunks
+    // and every frame blits the few chunks in view. A new level means a new
+    // TileManager with its own (empty) cache.
+    public TileChunkCache chunkCache;
+    private int lastCameraX = -1, lastCameraY = -1;
+
+    // SOFTWARE PATH (debug): tile rows copied into an int[] layer instead of chunk blits
+    public static volatile boolean rasterTiles = false;
+    private TileRaster raster;
+    private TileRaster lowRaster; // the low resolution world's small tiles
+
+    public TileManager(GameWorld world) {
+        this(world, "worldmap001"); // Default constructor for backward compatibility
     }
 
-    public TileManager(GamePanel gp, String mapName) {
-        this.gp = gp;
+    public TileManager(GameWorld world, String mapName) {
+        this.world = world;
 
         tile = new tile[60];
-        mapTileNum = new int[gp.maxWorldCol][gp.maxWorldRow];
+        mapCols = world.maxWorldCol;
+        mapRows = world.maxWorldRow;
+        mapTiles = new int[mapCols * mapRows];
 
         getTileImage();
         loadMap("/maps/" + mapName + ".txt");
+
+        chunkCache = new TileChunkCache(this, world.tileSize, mapCols, mapRows, TileChunkCache.DEFAULT_MAX_BYTES);
+    }
+
+    // Replaces the map with one of any size (e.g. generated or for benchmarks)
+    public void setMap(int cols, int rows, int[] tiles) {
+        mapCols = cols;
+        mapRows = rows;
+        mapTiles = tiles;
+        chunkCache = new TileChunkCache(this, world.tileSize, cols, rows, TileChunkCache.DEFAULT_MAX_BYTES);
+        lastCameraX = lastCameraY = -1;
+    }
+
+    public int getTileNum(int col, int row) {
+        return mapTiles[row * mapCols + col];
     }
 
     public void getTileImage() {
@@ -97,24 +130,8 @@ public class TileManager {
 
             // Check if image was loaded successfully
             if (originalImage != null) {
-                // Scale the image to tileSize (48x48)
-                Image scaledImage = originalImage.getScaledInstance(gp.tileSize, gp.tileSize, Image.SCALE_SMOOTH);
-
-                // Convert scaled Image back to BufferedImage
-                BufferedImage bufferedScaledImage = new BufferedImage(gp.tileSize, gp.tileSize, BufferedImage.TYPE_INT_ARGB);
-                Graphics2D g2d = bufferedScaledImage.createGraphics();
-
-                // Apply rendering hints for better quality
-                g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-                g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-                // Draw the scaled image
-                g2d.drawImage(scaledImage, 0, 0, null);
-                g2d.dispose();
-
-                // Store the scaled image
-                tile[index].image = bufferedScaledImage;
+                // Smooth-scale to tileSize (48x48) into a compatible image
+                tile[index].image = uTool.prepare(filePath, originalImage, world.tileSize, world.tileSize, true);
             } else {
                 System.err.println("Failed to load image: " + filePath);
                 // Create a placeholder image if loading fails
@@ -130,16 +147,18 @@ public class TileManager {
             tile[index].image = createPlaceholderTile();
             tile[index].collision = collision;
         }
+
+        tile[index].sprite = world.atlas.add(filePath, tile[index].image, world.tileSize, world.tileSize);
     }
 
     // Helper method to create a placeholder tile if image fails to load
     private BufferedImage createPlaceholderTile() {
-        BufferedImage placeholder = new BufferedImage(gp.tileSize, gp.tileSize, BufferedImage.TYPE_INT_ARGB);
+        BufferedImage placeholder = new BufferedImage(world.tileSize, world.tileSize, BufferedImage.TYPE_INT_ARGB);
         Graphics2D g2d = placeholder.createGraphics();
 
         // Draw checkerboard pattern
-        for (int y = 0; y < gp.tileSize; y += 8) {
-            for (int x = 0; x < gp.tileSize; x += 8) {
+        for (int y = 0; y < world.tileSize; y += 8) {
+            for (int x = 0; x < world.tileSize; x += 8) {
                 if ((x / 8 + y / 8) % 2 == 0) {
                     g2d.setColor(Color.MAGENTA);
                 } else {
@@ -152,8 +171,8 @@ public class TileManager {
         // Draw cross for visibility
         g2d.setColor(Color.RED);
         g2d.setStroke(new BasicStroke(2));
-        g2d.drawLine(0, 0, gp.tileSize, gp.tileSize);
-        g2d.drawLine(gp.tileSize, 0, 0, gp.tileSize);
+        g2d.drawLine(0, 0, world.tileSize, world.tileSize);
+        g2d.drawLine(world.tileSize, 0, 0, world.tileSize);
 
         g2d.dispose();
         return placeholder;
@@ -174,22 +193,21 @@ public class TileManager {
             int col = 0;
             int row = 0;
 
-            while (col < gp.maxWorldCol && row < gp.maxWorldRow) {
+            while (col < mapCols && row < mapRows) {
                 String line = br.readLine();
                 if (line == null) {
                     break;
                 }
 
-                while (col < gp.maxWorldCol) {
-                    String numbers[] = line.split(" ");  //split the String at a space
-
+                String numbers[] = line.split(" ");  //split the String at a space
+                while (col < mapCols) {
                     int num = Integer.parseInt(numbers[col]); //col as an index number[] array
 
-                    //store the extracted number in the mapTileNum[]
-                    mapTileNum[col][row] = num;
+                    //store the extracted number in the mapTiles[]
+                    mapTiles[row * mapCols + col] = num;
                     col++;
                 }
-                if (col == gp.maxWorldCol) {
+                if (col == mapCols) {
                     col = 0;
                     row++;
                 }
@@ -204,68 +222,105 @@ public class TileManager {
 
     private void createDefaultMap() {
         // Create a simple default map if loading fails
-        for (int row = 0; row < gp.maxWorldRow; row++) {
-            for (int col = 0; col < gp.maxWorldCol; col++) {
+        for (int row = 0; row < mapRows; row++) {
+            for (int col = 0; col < mapCols; col++) {
                 // Create a checkerboard pattern
                 if ((col + row) % 2 == 0) {
-                    mapTileNum[col][row] = 0; // Grass
+                    mapTiles[row * mapCols + col] = 0; // Grass
                 } else {
-                    mapTileNum[col][row] = 1; // Wall
+                    mapTiles[row * mapCols + col] = 1; // Wall
                 }
             }
         }
     }
 
 
-    // abstract
     public void draw(Graphics2D g2) {
-        int worldCol = 0;
-        int worldRow = 0;
-
-        while (worldCol < gp.maxWorldCol && worldRow < gp.maxWorldRow) {
-            int tileNum = mapTileNum[worldCol][worldRow]; //extract a tile number which is store in mapTileNum[0][0]
+        draw(g2, null, 0, 0);
+    }
 
-            int worldX = worldCol * gp.tileSize;
-            int worldY = worldRow * gp.tileSize;
-            int screenX = worldX - gp.player.worldX + gp.player.screenX;
-            int screenY = worldY - gp.player.worldY + gp.player.screenY;
+    // pixels is g2's backbuffer (width x height), if it has one the int[] path can write into
+    public void draw(Graphics2D g2, int[] pixels, int width, int height) {
+        // Top-left of the view in world pixels, already stopped at the map edge
+        Camera camera = world.camera;
+        int cameraX = camera.x;
+        int cameraY = camera.y;
+
+        if (camera.getPixelScale() > 1) {
+            // Low resolution world: its small tiles, always copied as int[] rows
+            getLowRaster(camera.getPixelScale()).draw(g2, pixels, width, height);
+            return;
+        }
+        if (rasterTiles) {
+            getRaster().draw(g2, pixels, width, height);
+            return;
+        }
 
-            // Stop moving the camera at the edge
-            if (gp.player.screenX > gp.player.worldX) {
-                screenX = worldX;
-            }
-            if (gp.player.screenY > gp.player.worldY) {
-                screenY = worldY;
+        chunkCache.setGraphicsConfiguration(g2.getDeviceConfiguration());
+        // Only chunks on the map: a view wider or taller than the map (zoomed out
+        // on a small map) starts left of or above it and ends past its far edge
+        int chunkSize = chunkCache.getChunkPixels();
+        int firstChunkX = Math.max(0, cameraX / chunkSize);
+        int firstChunkY = Math.max(0, cameraY / chunkSize);
+        int lastChunkX = Math.min(chunkCache.getChunkCols() - 1, (cameraX + camera.viewWidth - 1) / chunkSize);
+        int lastChunkY = Math.min(chunkCache.getChunkRows() - 1, (cameraY + camera.viewHeight - 1) / chunkSize);
+
+        for (int chunkY = firstChunkY; chunkY <= lastChunkY; chunkY++) {
+            for (int chunkX = firstChunkX; chunkX <= lastChunkX; chunkX++) {
+                g2.drawImage(chunkCache.get(chunkX, chunkY),
+                        chunkX * chunkSize - cameraX, chunkY * chunkSize - cameraY, null);
             }
+        }
 
-            int rightOffset = gp.screenWidth - gp.player.screenX;
-            if (rightOffset > gp.worldWidth - gp.player.worldX) {
-                screenX = gp.screenWidth - (gp.worldWidth - worldX);
+        // Get the next row/column of chunks ready in the direction the camera is moving
+        if (lastCameraX != -1) {
+            int dx = cameraX - lastCameraX;
+            int dy = cameraY - lastCameraY;
+            if (dx != 0) {
+                int chunkX = dx > 0 ? lastChunkX + 1 : firstChunkX - 1;
+                for (int chunkY = firstChunkY; chunkY <= lastChunkY; chunkY++) {
+                    chunkCache.prefetch(chunkX, chunkY);
+                }
             }
-            int bottomOffset = gp.screenHeight - gp.player.screenY;
-            if (bottomOffset > gp.worldHeight - gp.player.worldY) {
-                screenY = gp.screenHeight - (gp.worldHeight - worldY);
+            if (dy != 0) {
+                int chunkY = dy > 0 ? lastChunkY + 1 : firstChunkY - 1;
+                for (int chunkX = firstChunkX; chunkX <= lastChunkX; chunkX++) {
+                    chunkCache.prefetch(chunkX, chunkY);
+                }
             }
+        }
+        lastCameraX = cameraX;
+        lastCameraY = cameraY;
+    }
 
-            if (worldX + gp.tileSize > gp.player.worldX - gp.player.screenX &&
-                    worldX - gp.tileSize < gp.player.worldX + gp.player.screenX &&
-                    worldY + gp.tileSize > gp.player.worldY - gp.player.screenY &&
-                    worldY - gp.tileSize < gp.player.worldY + gp.player.screenY) {
-
-                g2.drawImage(tile[tileNum].image, screenX, screenY, gp.tileSize, gp.tileSize, null);
-
-            } else if (gp.player.screenX > gp.player.worldX ||
-                    gp.player.screenY > gp.player.worldY ||
-                    rightOffset > gp.worldWidth - gp.player.worldX ||
-                    bottomOffset > gp.worldHeight - gp.player.worldY) {
-                g2.drawImage(tile[tileNum].image, screenX, screenY, gp.tileSize, gp.tileSize, null);
-            }
+    // Built the first time the software path is used
+    public TileRaster getRaster() {
+        if (raster == null) {
+            raster = new TileRaster(this, world.tileSize);
+        }
+        return raster;
+    }
 
-            worldCol++;
+    // Tiles at 1/pixelScale, packed from the atlas's low resolution copies; built the first time they're drawn
+    public TileRaster getLowRaster(int pixelScale) {
+        if (lowRaster == null) {
+            lowRaster = new TileRaster(this, world.tileSize / pixelScale);
+        }
+        return lowRaster;
+    }
 
-            if (worldCol == gp.maxWorldCol) {
-                worldCol = 0;
-                worldRow++;
+    // Draws tiles [col0, col1) x [row0, row1) with tile (col0, row0) at (offsetX + col0 * tileSize, ...).
+    // Only the given window is visited, one map row at a time, so the cost follows
+    // the window size and not the map size. Called from the prefetch thread too;
+    // it reads the map and bakes from the atlas, which publishes its pages and
+    // regions whole, so a level still adding sprites can't hand it a torn region.
+    public void drawTiles(Graphics2D g2, int col0, int row0, int col1, int row1, int offsetX, int offsetY) {
+        int tileSize = world.tileSize;
+        for (int row = row0; row < row1; row++) {
+            int index = row * mapCols + col0;
+            int y = offsetY + row * tileSize;
+            for (int col = col0; col < col1; col++) {
+                world.atlas.bake(g2, tile[mapTiles[index++]].sprite, offsetX + col * tileSize, y, tileSize, tileSize);
             }
         }
     }
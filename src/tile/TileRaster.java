@@ -0,0 +1,128 @@
+package tile;
+
+import main.Camera;
+import main.GameWorld;
+import main.TextureAtlas;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+// Software path for the tile layer. Every tile is packed into one int[] as
+// tileSize rows of pixels, and a frame is built by copying tile rows straight
+// into an int[] backbuffer with System.arraycopy - no drawImage per tile or chunk.
+// When the world is drawn 1:1 into the frame's own int[] the rows go straight
+// there; otherwise they go into a layer that is drawn with one drawImage.
+// Tiles always sit on the chunks' black background, so a tile with transparent
+// pixels is flattened onto black once, when it is packed, by the same drawImage
+// the chunks use. That keeps the output identical to TileManager.draw and means
+// no tile needs blending per frame.
+public class TileRaster {
+
+    private final TileManager tileM;
+    private final int tileSize;
+
+    // PACKED TILES: tile i starts at i * tileSize * tileSize, one row after another
+    private int[] packed;
+    private int black;             // a black pixel as the backbuffer stores it
+
+    // The fallback layer, as big as the camera's view, for when there's no
+    // backbuffer to write into or it isn't 1:1 with the view
+    private BufferedImage layer;
+    private int[] layerPixels;
+
+    public TileRaster(TileManager tileM, int tileSize) {
+        this.tileM = tileM;
+        this.tileSize = tileSize;
+        pack();
+    }
+
+    private void pack() {
+        GameWorld world = tileM.world;
+        int area = tileSize * tileSize;
+        packed = new int[tileM.tile.length * area];
+
+        // Each tile is drawn over black the way a chunk draws it, then its pixels are taken
+        BufferedImage scratch = new BufferedImage(tileSize, tileSize, BufferedImage.TYPE_INT_RGB);
+        int[] scratchPixels = ((DataBufferInt) scratch.getRaster().getDataBuffer()).getData();
+        Graphics2D g2 = scratch.createGraphics();
+        g2.setColor(Color.black);
+        g2.fillRect(0, 0, tileSize, tileSize);
+        black = scratchPixels[0];
+
+        for (int i = 0; i < tileM.tile.length; i++) {
+            tile t = tileM.tile[i];
+            if (t == null || t.sprite == TextureAtlas.NO_SPRITE) continue;
+            g2.fillRect(0, 0, tileSize, tileSize);
+            world.atlas.bake(g2, t.sprite, 0, 0, tileSize, tileSize);
+            System.arraycopy(scratchPixels, 0, packed, i * area, area);
+        }
+        g2.dispose();
+    }
+
+    // Draws the tiles in the camera's view, the same as TileManager.draw.
+    // pixels is the int[] g2 draws into (width x height, TYPE_INT_RGB), or null.
+    // It's written directly when it holds exactly the camera's view, one tile
+    // pixel per pixel; otherwise the layer is filled and drawn through g2.
+    // A raster of smaller tiles (the low resolution world) sees the view at its size.
+    public void draw(Graphics2D g2, int[] pixels, int width, int height) {
+        Camera camera = tileM.world.camera;
+        int scale = tileM.world.tileSize / tileSize;
+        int viewWidth = camera.viewWidth / scale;
+        int viewHeight = camera.viewHeight / scale;
+        int cameraX = Math.floorDiv(camera.x, scale);
+        int cameraY = Math.floorDiv(camera.y, scale);
+        boolean direct = pixels != null && width == viewWidth && height == viewHeight;
+        if (!direct) {
+            if (layer == null || layer.getWidth() != viewWidth || layer.getHeight() != viewHeight) {
+                layer = new BufferedImage(viewWidth, viewHeight, BufferedImage.TYPE_INT_RGB);
+                layerPixels = ((DataBufferInt) layer.getRaster().getDataBuffer()).getData();
+            }
+            pixels = layerPixels;
+        }
+        if (cameraX < 0 || cameraY < 0 || cameraX + viewWidth > tileM.mapCols * tileSize
+                || cameraY + viewHeight > tileM.mapRows * tileSize) {
+            Arrays.fill(pixels, black); // the map doesn't cover the view
+        }
+        render(pixels, viewWidth, viewHeight, cameraX, cameraY);
+        if (!direct) {
+            g2.drawImage(layer, 0, 0, null);
+        }
+    }
+
+    // Fills a width x height int[] backbuffer (row-major, TYPE_INT_RGB) with the
+    // world as seen from (cameraX, cameraY). Pixels off the map are left alone.
+    public void render(int[] pixels, int width, int height, int cameraX, int cameraY) {
+        int mapCols = tileM.mapCols;
+        int[] mapTiles = tileM.mapTiles;
+        int area = tileSize * tileSize;
+
+        // The part of the backbuffer the map covers
+        int x0 = Math.max(0, -cameraX);
+        int y0 = Math.max(0, -cameraY);
+        int x1 = Math.min(width, mapCols * tileSize - cameraX);
+        int y1 = Math.min(height, tileM.mapRows * tileSize - cameraY);
+        if (x0 >= x1 || y0 >= y1) return;
+
+        for (int y = y0; y < y1; y++) {
+            int worldY = cameraY + y;
+            int mapRow = (worldY / tileSize) * mapCols;
+            int rowInTile = (worldY % tileSize) * tileSize;
+            int out = y * width + x0;
+
+            int worldX = cameraX + x0;
+            int col = worldX / tileSize;
+            int inTile = worldX % tileSize; // only the first tile starts part way in
+            int remaining = x1 - x0;
+            while (remaining > 0) {
+                int length = Math.min(tileSize - inTile, remaining);
+                System.arraycopy(packed, mapTiles[mapRow + col] * area + rowInTile + inTile, pixels, out, length);
+                out += length;
+                remaining -= length;
+                inTile = 0;
+                col++;
+            }
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package tile;
 
+import main.TextureAtlas;
+
 import java.awt.image.BufferedImage;
 
 public class tile {
 
     public BufferedImage image;
     public boolean collision = false;
+    public int sprite = TextureAtlas.NO_SPRITE;
 }